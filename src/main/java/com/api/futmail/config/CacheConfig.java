@@ -0,0 +1,38 @@
+package com.api.futmail.config;
+
+import com.api.futmail.service.cache.MatchCacheExpiry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String FOOTBALL_MATCHES_CACHE = "football-matches";
+    
+    // Caffeine limita por tamanho com W-TinyLFU; as estatísticas alimentam as métricas cache.* do actuator
+    @Bean
+    public CacheManager cacheManager(@Value("${football.cache.max-entries:500}") long maxEntries,
+                                     @Value("${football.cache.live-ttl-seconds:30}") long liveTtlSeconds,
+                                     @Value("${football.cache.scheduled-ttl-minutes:120}") long scheduledTtlMinutes,
+                                     @Value("${football.store.retention-hours:48}") long storeRetentionHours) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(FOOTBALL_MATCHES_CACHE, Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new MatchCacheExpiry(Duration.ofSeconds(liveTtlSeconds),
+                        Duration.ofMinutes(scheduledTtlMinutes), Duration.ofHours(storeRetentionHours),
+                        Clock.systemUTC()))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,12 @@
+package com.api.futmail.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Habilita os métodos @Scheduled no TaskScheduler do Spring Boot. Trabalho que
+// bloqueia (buscas de jogos) ou que não pode atrasar (renovação das reservas de
+// envio) roda em executores próprios
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -5,11 +5,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.api.futmail.dto.BackfillJobResponse;
 import com.api.futmail.model.CollectionResult;
+import com.api.futmail.model.TeamStanding;
 import com.api.futmail.service.NewsService;
+import com.api.futmail.service.SeasonBackfillJob;
+import com.api.futmail.service.SeasonBackfillService;
+import com.api.futmail.service.standings.StandingsEngine;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -20,6 +26,8 @@ import java.util.Map;
 public class DataCollectionController {
     
     private final NewsService newsService;
+    private final SeasonBackfillService seasonBackfillService;
+    private final StandingsEngine standingsEngine;
     
     @PostMapping("/collect-news")
     public ResponseEntity<Map<String, Object>> collectNews() {
@@ -41,6 +49,38 @@ public class DataCollectionController {
         }
     }
     
+    // Ex.: POST /backfill?competitions=PL,PD&fromSeason=2015&toSeason=2023
+    @PostMapping("/backfill")
+    public ResponseEntity<BackfillJobResponse> startBackfill(
+            @RequestParam(defaultValue = "BSA,PL,PD,CL,SA,BL1") List<String> competitions,
+            @RequestParam int fromSeason,
+            @RequestParam int toSeason) {
+        try {
+            log.info("🗄️ Solicitação de backfill: {} de {} a {}", competitions, fromSeason, toSeason);
+            SeasonBackfillJob job = seasonBackfillService.start(competitions, fromSeason, toSeason);
+            return ResponseEntity.accepted().body(BackfillJobResponse.fromJob(job));
+        } catch (IllegalArgumentException e) {
+            log.warn("❌ Backfill inválido: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/backfill/{jobId}")
+    public ResponseEntity<BackfillJobResponse> getBackfillJob(@PathVariable String jobId) {
+        return seasonBackfillService.findJob(jobId)
+                .map(BackfillJobResponse::fromJob)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    // Classificação calculada localmente a partir dos resultados coletados
+    @GetMapping("/standings/{competitionCode}")
+    public ResponseEntity<List<TeamStanding>> getStandings(@PathVariable String competitionCode) {
+        return standingsEngine.standings(competitionCode.toUpperCase())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getCollectionStatus() {
         try {
@@ -80,6 +120,9 @@ public class DataCollectionController {
         response.put("duplicates", result.getDuplicates());
         response.put("total_processed", result.getTotal());
         response.put("creation_rate", result.getFormattedCreationRate());
+        response.put("new_matches", result.getNewMatches());
+        response.put("changed_matches", result.getChangedMatches());
+        response.put("unchanged_matches", result.getUnchangedMatches());
         response.put("summary", result.getSummary());
         response.put("timestamp", LocalDateTime.now());
         response.put("success", true);
@@ -95,6 +138,9 @@ public class DataCollectionController {
         errorResponse.put("created", 0);
         errorResponse.put("duplicates", 0);
         errorResponse.put("total_processed", 0);
+        errorResponse.put("new_matches", 0);
+        errorResponse.put("changed_matches", 0);
+        errorResponse.put("unchanged_matches", 0);
         
         return errorResponse;
     }
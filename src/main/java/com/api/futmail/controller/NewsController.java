@@ -2,10 +2,10 @@ package com.api.futmail.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.api.futmail.dto.CursorPage;
 import com.api.futmail.dto.NewsRequest;
 import com.api.futmail.dto.NewsResponse;
 import com.api.futmail.model.NewsCategory;
@@ -41,17 +41,22 @@ public class NewsController {
         }
     }
     
+    // Paginação por cursor: "nextCursor" da resposta é passado como "cursor" na próxima chamada
     @GetMapping
-    public ResponseEntity<Page<NewsResponse>> getAllNews(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<CursorPage<NewsResponse>> getAllNews(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
         
-        if (page < 0 || size <= 0) {
+        if (!isValidSize(size)) {
             return ResponseEntity.badRequest().build();
         }
         
-        Page<NewsResponse> news = newsService.getAllNews(page, size);
-        return ResponseEntity.ok(news);
+        try {
+            return ResponseEntity.ok(newsService.getNewsPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            log.warn("❌ {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/today")
@@ -62,11 +67,22 @@ public class NewsController {
     }
     
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<NewsResponse>> getNewsByCategory(@PathVariable NewsCategory category) {
+    public ResponseEntity<CursorPage<NewsResponse>> getNewsByCategory(
+            @PathVariable NewsCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        if (!isValidSize(size)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
         try {
-            List<NewsResponse> news = newsService.getNewsByCategory(category);
-            log.info("📂 Retornando {} notícias da categoria: {}", news.size(), category.getDisplayName());
+            CursorPage<NewsResponse> news = newsService.getNewsByCategoryPage(category, cursor, size);
+            log.info("📂 Retornando {} notícias da categoria: {}", news.getItems().size(), category.getDisplayName());
             return ResponseEntity.ok(news);
+        } catch (IllegalArgumentException e) {
+            log.warn("❌ {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("❌ Erro ao buscar notícias por categoria: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
@@ -74,16 +90,23 @@ public class NewsController {
     }
     
     @GetMapping("/recent")
-    public ResponseEntity<List<NewsResponse>> getRecentNews(
-            @RequestParam(defaultValue = "1") int days) {
+    public ResponseEntity<CursorPage<NewsResponse>> getRecentNews(
+            @RequestParam(defaultValue = "1") int days,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
         
-        if (days <= 0 || days > 30) {
+        if (days <= 0 || days > 30 || !isValidSize(size)) {
             return ResponseEntity.badRequest().build();
         }
         
-        List<NewsResponse> news = newsService.getRecentNews(days);
-        log.info("📅 Retornando {} notícias dos últimos {} dias", news.size(), days);
-        return ResponseEntity.ok(news);
+        try {
+            CursorPage<NewsResponse> news = newsService.getRecentNewsPage(days, cursor, size);
+            log.info("📅 Retornando {} notícias dos últimos {} dias", news.getItems().size(), days);
+            return ResponseEntity.ok(news);
+        } catch (IllegalArgumentException e) {
+            log.warn("❌ {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/stats")
@@ -96,4 +119,8 @@ public class NewsController {
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+    
+    private static boolean isValidSize(int size) {
+        return size > 0 && size <= CursorPage.MAX_SIZE;
+    }
+}
@@ -2,11 +2,14 @@ package com.api.futmail.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.api.futmail.dto.CursorPage;
 import com.api.futmail.dto.NewsletterResponse;
+import com.api.futmail.dto.SendJobResponse;
+import com.api.futmail.service.NewsletterSendJob;
+import com.api.futmail.service.NewsletterSendJobRunner;
 import com.api.futmail.service.NewsletterService;
 
 @Slf4j
@@ -19,6 +22,7 @@ public class NewsletterController {
     private static final int DEFAULT_PAGE_SIZE = 10;
     
     private final NewsletterService newsletterService;
+    private final NewsletterSendJobRunner sendJobRunner;
     
     @PostMapping("/create-daily")
     public ResponseEntity<NewsletterResponse> createDailyNewsletter() {
@@ -33,11 +37,11 @@ public class NewsletterController {
     }
     
     @PostMapping("/{id}/send")
-    public ResponseEntity<NewsletterResponse> sendNewsletter(@PathVariable Long id) {
+    public ResponseEntity<SendJobResponse> sendNewsletter(@PathVariable Long id) {
         try {
             log.info("📤 Solicitação para enviar newsletter ID: {}", id);
-            NewsletterResponse response = newsletterService.sendNewsletter(id);
-            return ResponseEntity.ok(response);
+            NewsletterSendJob job = sendJobRunner.enqueue(id);
+            return ResponseEntity.accepted().body(SendJobResponse.fromJob(job));
         } catch (IllegalArgumentException e) {
             log.warn("❌ Erro ao enviar newsletter: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
@@ -47,20 +51,32 @@ public class NewsletterController {
         }
     }
     
+    @GetMapping("/send-jobs/{jobId}")
+    public ResponseEntity<SendJobResponse> getSendJob(@PathVariable String jobId) {
+        return sendJobRunner.findJob(jobId)
+                .map(SendJobResponse::fromJob)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    // Paginação por cursor: "nextCursor" da resposta é passado como "cursor" na próxima chamada
     @GetMapping
-    public ResponseEntity<Page<NewsletterResponse>> getAllNewsletters(
-            @RequestParam(defaultValue = "0") int page,
+    public ResponseEntity<CursorPage<NewsletterResponse>> getAllNewsletters(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
         
-        if (page < 0 || size <= 0) {
-            log.warn("❌ Parâmetros inválidos: page={}, size={}", page, size);
+        if (size <= 0 || size > CursorPage.MAX_SIZE) {
+            log.warn("❌ Parâmetro inválido: size={}", size);
             return ResponseEntity.badRequest().build();
         }
         
         try {
-            Page<NewsletterResponse> newsletters = newsletterService.getAllNewsletters(page, size);
-            log.info("📋 Retornando {} newsletters (página {})", newsletters.getContent().size(), page);
+            CursorPage<NewsletterResponse> newsletters = newsletterService.getNewslettersPage(cursor, size);
+            log.info("📋 Retornando {} newsletters", newsletters.getItems().size());
             return ResponseEntity.ok(newsletters);
+        } catch (IllegalArgumentException e) {
+            log.warn("❌ {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("❌ Erro ao buscar newsletters: {}", e.getMessage());
             return ResponseEntity.internalServerError().build();
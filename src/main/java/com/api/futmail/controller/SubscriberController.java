@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.*;
 import com.api.futmail.dto.SubscriberRequest;
 import com.api.futmail.dto.SubscriberResponse;
 import com.api.futmail.service.SubscriberService;
+import com.api.futmail.service.email.UnsubscribeTokens;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -20,6 +21,7 @@ import java.util.List;
 public class SubscriberController {
     
     private final SubscriberService subscriberService;
+    private final UnsubscribeTokens unsubscribeTokens;
     
     @PostMapping
     public ResponseEntity<SubscriberResponse> subscribe(@Valid @RequestBody SubscriberRequest request) {
@@ -75,6 +77,33 @@ public class SubscriberController {
         }
     }
     
+    // Destino do link no corpo da newsletter: só confirma o token, sem alterar o cadastro
+    @GetMapping(value = "/unsubscribe", params = "token")
+    public ResponseEntity<SubscriberResponse> confirmUnsubscribe(@RequestParam String token) {
+        try {
+            long subscriberId = unsubscribeTokens.verify(token);
+            return ResponseEntity.ok(subscriberService.findById(subscriberId));
+        } catch (IllegalArgumentException e) {
+            log.warn("❌ Link de descadastro inválido: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Descadastro em um clique (RFC 8058): o provedor envia POST com List-Unsubscribe=One-Click
+    @PostMapping(value = "/unsubscribe", params = "token")
+    public ResponseEntity<SubscriberResponse> unsubscribeByToken(@RequestParam String token) {
+        try {
+            long subscriberId = unsubscribeTokens.verify(token);
+            return ResponseEntity.ok(subscriberService.unsubscribeById(subscriberId));
+        } catch (IllegalArgumentException e) {
+            log.warn("❌ Erro ao descadastrar pelo link: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("❌ Erro interno ao descadastrar pelo link: {}", e.getMessage());
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
     @PostMapping("/reactivate")
     public ResponseEntity<SubscriberResponse> reactivate(@RequestBody EmailRequest request) {
         try {
@@ -0,0 +1,49 @@
+package com.api.futmail.dto;
+
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.List;
+import com.api.futmail.service.SeasonBackfillJob;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillJobResponse {
+    
+    private String jobId;
+    private List<String> competitions;
+    private Integer fromSeason;
+    private Integer toSeason;
+    private String status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Integer seasonsImported;
+    private Integer seasonsSkipped;
+    private Integer seasonsFailed;
+    private Integer matchesImported;
+    private String error;
+    
+    public static BackfillJobResponse fromJob(SeasonBackfillJob job) {
+        if (job == null) {
+            return null;
+        }
+        
+        return BackfillJobResponse.builder()
+                .jobId(job.getId())
+                .competitions(job.getCompetitions())
+                .fromSeason(job.getFromSeason())
+                .toSeason(job.getToSeason())
+                .status(job.getStatus().getDisplayName())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .seasonsImported(job.getSeasonsImportedCount())
+                .seasonsSkipped(job.getSeasonsSkippedCount())
+                .seasonsFailed(job.getSeasonsFailedCount())
+                .matchesImported(job.getMatchesImportedCount())
+                .error(job.getError())
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.api.futmail.dto;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem por cursor. {@code nextCursor} é {@code null} na
+ * última página; não há total, que exigiria um COUNT a cada requisição.
+ */
+@Value
+public class CursorPage<T> {
+    
+    public static final int MAX_SIZE = 100;
+    
+    List<T> items;
+    String nextCursor;
+    
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+    
+    /**
+     * Monta a página a partir de uma busca de {@code size + 1} linhas: a
+     * linha extra só indica que há próxima página.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, PageCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,44 @@
+package com.api.futmail.dto;
+
+import lombok.*;
+import java.time.LocalDateTime;
+import com.api.futmail.service.NewsletterSendJob;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SendJobResponse {
+    
+    private String jobId;
+    private Long newsletterId;
+    private String status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Integer emailsSent;
+    private Integer emailsFailed;
+    private String error;
+    
+    public static SendJobResponse fromJob(NewsletterSendJob job) {
+        if (job == null) {
+            return null;
+        }
+        
+        return SendJobResponse.builder()
+                .jobId(job.getId())
+                .newsletterId(job.getNewsletterId())
+                .status(job.getStatus().getDisplayName())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .emailsSent(job.getSentCount())
+                .emailsFailed(job.getFailedCount())
+                .error(job.getError())
+                .build();
+    }
+    
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.api.futmail.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDateTime;
+
+/**
+ * Jogo de uma temporada passada, importado pelo backfill histórico para
+ * arquivo e estatísticas.
+ */
+@Entity
+@Table(name = "archived_matches",
+       indexes = @Index(name = "idx_archived_matches_competition_season", columnList = "competition_code, season"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "matchId")
+public class ArchivedMatch implements Persistable<Long> {
+    
+    // Id da partida na football-data.org (atribuído, não gerado)
+    @Id
+    @Column(name = "match_id")
+    private Long matchId;
+    
+    @Column(name = "competition_code", nullable = false, length = 10)
+    private String competitionCode;
+    
+    @Column(nullable = false)
+    private Integer season;
+    
+    @Column(name = "match_date", nullable = false)
+    private LocalDateTime matchDate;
+    
+    @Column(nullable = false, length = 20)
+    private String status;
+    
+    @Column(name = "home_team", nullable = false)
+    private String homeTeam;
+    
+    @Column(name = "away_team", nullable = false)
+    private String awayTeam;
+    
+    @Column(name = "home_score")
+    private Integer homeScore;
+    
+    @Column(name = "away_score")
+    private Integer awayScore;
+    
+    // Linhas são só inseridas: sem isso o save() faria um SELECT por jogo
+    @Transient
+    @Builder.Default
+    private boolean fresh = true;
+    
+    public static ArchivedMatch of(MatchResult match, String competitionCode, int season) {
+        return ArchivedMatch.builder()
+                .matchId(match.getId())
+                .competitionCode(competitionCode)
+                .season(season)
+                .matchDate(match.getMatchDate())
+                .status(match.getStatus())
+                .homeTeam(match.getHomeTeam())
+                .awayTeam(match.getAwayTeam())
+                .homeScore(match.getHomeScore())
+                .awayScore(match.getAwayScore())
+                .build();
+    }
+    
+    @Override
+    public Long getId() {
+        return matchId;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+    
+    @PostLoad
+    @PostPersist
+    protected void markPersisted() {
+        fresh = false;
+    }
+}
@@ -0,0 +1,76 @@
+package com.api.futmail.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progresso do backfill por competição/temporada. Uma temporada só fica
+ * COMPLETED na mesma transação que grava os seus jogos, então qualquer
+ * outro estado significa que ela ainda precisa ser importada.
+ */
+@Entity
+@Table(name = "backfill_checkpoints",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"competition_code", "season"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class BackfillCheckpoint {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "backfill_checkpoints_seq")
+    @SequenceGenerator(name = "backfill_checkpoints_seq", sequenceName = "backfill_checkpoints_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "competition_code", nullable = false, length = 10)
+    private String competitionCode;
+    
+    @Column(nullable = false)
+    private Integer season;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BackfillState state;
+    
+    @Builder.Default
+    @Column(name = "matches_imported", nullable = false)
+    private Integer matchesImported = 0;
+    
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public static BackfillCheckpoint pending(String competitionCode, int season) {
+        return BackfillCheckpoint.builder()
+                .competitionCode(competitionCode)
+                .season(season)
+                .state(BackfillState.PENDING)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+    
+    public void markRunning() {
+        this.state = BackfillState.RUNNING;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public void markCompleted(int matchesImported) {
+        this.state = BackfillState.COMPLETED;
+        this.matchesImported = matchesImported;
+        this.lastError = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public void markFailed(String error) {
+        this.state = BackfillState.FAILED;
+        this.lastError = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,20 @@
+package com.api.futmail.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum BackfillState {
+    PENDING("Pendente"),
+    RUNNING("Importando"),
+    COMPLETED("Importada"),
+    FAILED("Falhou");
+    
+    private final String displayName;
+    
+    // Temporadas que uma nova execução (ou o restart) deve importar
+    public boolean needsImport() {
+        return this != COMPLETED;
+    }
+}
@@ -11,7 +11,13 @@ public class CollectionResult {
     int total;
     double creationRate;
     
-    public static CollectionResult of(int created, int duplicates) {
+    // Jogos da coleta comparados com o último estado conhecido
+    int newMatches;
+    int changedMatches;
+    int unchangedMatches;
+    
+    public static CollectionResult of(int created, int duplicates,
+                                      int newMatches, int changedMatches, int unchangedMatches) {
         int total = created + duplicates;
         double creationRate = total == 0 ? 0.0 : (double) created / total * 100;
         
@@ -20,6 +26,9 @@ public class CollectionResult {
                 .duplicates(duplicates)
                 .total(total)
                 .creationRate(creationRate)
+                .newMatches(newMatches)
+                .changedMatches(changedMatches)
+                .unchangedMatches(unchangedMatches)
                 .build();
     }
     
@@ -39,9 +48,16 @@ public class CollectionResult {
         return String.format("%.1f%%", creationRate);
     }
     
+    public String getMatchSummary() {
+        return String.format("jogos: %d novos, %d alterados, %d sem mudança",
+                newMatches, changedMatches, unchangedMatches);
+    }
+    
     public String getSummary() {
         if (hasNoContent()) {
-            return "Nenhum conteúdo processado";
+            return unchangedMatches > 0
+                    ? "Nenhum conteúdo processado (" + getMatchSummary() + ")"
+                    : "Nenhum conteúdo processado";
         }
         
         if (hasOnlyDuplicates()) {
@@ -49,8 +65,8 @@ public class CollectionResult {
         }
         
         if (hasNewContent()) {
-            return String.format("%d novos itens criados, %d duplicados (%s novos)", 
-                    created, duplicates, getFormattedCreationRate());
+            return String.format("%d novos itens criados, %d duplicados (%s novos; %s)", 
+                    created, duplicates, getFormattedCreationRate(), getMatchSummary());
         }
         
         return String.format("%d itens processados", total);
@@ -0,0 +1,44 @@
+package com.api.futmail.model;
+
+import java.util.List;
+
+/**
+ * Classificação de qualquer competição calculada localmente a partir dos
+ * resultados, com título e resumo usando o nome da competição.
+ */
+public class CompetitionStandings extends BrasileraoStandings {
+    
+    private final String competitionName;
+    
+    public CompetitionStandings(String competitionName, List<TeamStanding> standings) {
+        super(standings);
+        this.competitionName = competitionName;
+    }
+    
+    public String getCompetitionName() {
+        return competitionName;
+    }
+    
+    @Override
+    public String toNewsTitle() {
+        return "📊 Classificação Atualizada - " + competitionName;
+    }
+    
+    @Override
+    public String toNewsSummary() {
+        if (getStandings().isEmpty()) return "Classificação não disponível.";
+        
+        TeamStanding leader = getStandings().get(0);
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%s lidera %s com %d pontos. ",
+                leader.getTeamName(), competitionName, leader.getPoints()));
+        
+        summary.append("Top 4: ");
+        for (int i = 0; i < Math.min(4, getStandings().size()); i++) {
+            if (i > 0) summary.append(", ");
+            summary.append(getStandings().get(i).getTeamName());
+        }
+        
+        return summary.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.api.futmail.model;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Impressão digital do conteúdo de uma notícia: os 128 primeiros bits do
+ * SHA-256 de título e conteúdo. Os textos são codificados em UTF-8 direto
+ * para o digest num buffer reaproveitado, sem concatenar as strings.
+ */
+public final class ContentFingerprint {
+    
+    public static final int HEX_LENGTH = 32;
+    
+    private static final int BUFFER_SIZE = 1024;
+    private static final ThreadLocal<Hasher> HASHER = ThreadLocal.withInitial(Hasher::new);
+    
+    private ContentFingerprint() {
+    }
+    
+    public static String of(String title, String content) {
+        return HASHER.get().fingerprint(title, content);
+    }
+    
+    private static final class Hasher {
+        
+        private final MessageDigest digest;
+        // Surrogate isolado vira '?', como em String.getBytes: sem REPLACE o
+        // encoder para no erro e o resto do campo ficaria fora do digest
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        
+        private Hasher() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 não disponível", e);
+            }
+        }
+        
+        private String fingerprint(String title, String content) {
+            digest.reset();
+            update(title);
+            update(content);
+            return HexFormat.of().formatHex(digest.digest(), 0, HEX_LENGTH / 2);
+        }
+        
+        // O tamanho antes de cada campo separa ("ab", "c") de ("a", "bc"); -1 marca null
+        private void update(String value) {
+            int length = value == null ? -1 : value.length();
+            digest.update((byte) (length >>> 24));
+            digest.update((byte) (length >>> 16));
+            digest.update((byte) (length >>> 8));
+            digest.update((byte) length);
+            if (value == null) {
+                return;
+            }
+            
+            CharBuffer chars = CharBuffer.wrap(value);
+            encoder.reset();
+            CoderResult result;
+            do {
+                result = encoder.encode(chars, buffer, true);
+                drain();
+            } while (result.isOverflow());
+            while (encoder.flush(buffer).isOverflow()) {
+                drain();
+            }
+            drain();
+        }
+        
+        private void drain() {
+            buffer.flip();
+            digest.update(buffer);
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.api.futmail.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum DeliveryState {
+    SENT("Enviado"),
+    FAILED("Falhou");
+    
+    private final String displayName;
+    
+    public boolean isDelivered() {
+        return this == SENT;
+    }
+}
@@ -0,0 +1,62 @@
+package com.api.futmail.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Envio que não será mais tentado automaticamente: falha permanente ou
+ * tentativas esgotadas. Fica guardado para análise e reenvio manual.
+ */
+@Entity
+@Table(name = "email_dead_letters")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class EmailDeadLetter {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_dead_letters_seq")
+    @SequenceGenerator(name = "email_dead_letters_seq", sequenceName = "email_dead_letters_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "newsletter_id")
+    private Long newsletterId;
+    
+    @Column(name = "subscriber_id")
+    private Long subscriberId;
+    
+    @NotBlank
+    @Column(nullable = false)
+    private String email;
+    
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+    
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    public static EmailDeadLetter of(Long newsletterId, EmailRecipient recipient, String error, int attempts) {
+        return EmailDeadLetter.builder()
+                .newsletterId(newsletterId)
+                .subscriberId(recipient.getSubscriberId())
+                .email(recipient.getEmail())
+                .lastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error)
+                .attempts(attempts)
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.api.futmail.model;
+
+import lombok.*;
+
+@Value
+public class EmailRecipient {
+    
+    Long subscriberId;
+    String email;
+    
+    public static EmailRecipient of(String email) {
+        return new EmailRecipient(null, email);
+    }
+}
@@ -2,6 +2,8 @@ package com.api.futmail.model;
 
 import lombok.*;
 
+import java.time.Duration;
+
 @Value
 @Builder
 public class EmailSendResult {
@@ -10,6 +12,30 @@ public class EmailSendResult {
     int failed;
     int total;
     double successRate;
+    long elapsedMillis;
+    double emailsPerSecond;
+    // Por destinatário: do primeiro envio ao resultado final, com reenvios
+    double p50LatencyMs;
+    double p99LatencyMs;
+    
+    public static EmailSendResult of(int sent, int failed, Duration elapsed,
+                                     double p50LatencyMs, double p99LatencyMs) {
+        int total = sent + failed;
+        double successRate = total == 0 ? 0.0 : (double) sent / total * 100;
+        long elapsedMillis = elapsed.toMillis();
+        double emailsPerSecond = elapsedMillis == 0 ? total : total * 1000.0 / elapsedMillis;
+        
+        return EmailSendResult.builder()
+                .sent(sent)
+                .failed(failed)
+                .total(total)
+                .successRate(successRate)
+                .elapsedMillis(elapsedMillis)
+                .emailsPerSecond(emailsPerSecond)
+                .p50LatencyMs(p50LatencyMs)
+                .p99LatencyMs(p99LatencyMs)
+                .build();
+    }
     
     public static EmailSendResult of(int sent, int failed) {
         int total = sent + failed;
@@ -39,6 +65,11 @@ public class EmailSendResult {
         return String.format("%.1f%%", successRate);
     }
     
+    public String getThroughputSummary() {
+        return String.format("%.1f emails/s em %dms (p50 %.0fms, p99 %.0fms)",
+                emailsPerSecond, elapsedMillis, p50LatencyMs, p99LatencyMs);
+    }
+    
     public String getSummary() {
         if (hasNoEmails()) {
             return "Nenhum email processado";
@@ -13,6 +13,8 @@ public class MatchResult {
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM HH:mm");
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM 'às' HH:mm");
     
+    // Id da partida na football-data.org
+    private Long id;
     private String homeTeam;
     private String awayTeam;
     private Integer homeScore;
@@ -20,6 +22,7 @@ public class MatchResult {
     private String status;
     private LocalDateTime matchDate;
     private String competition;
+    private String competitionCode;
     
     public String toNewsTitle() {
         if (isFinished()) {
@@ -45,12 +48,16 @@ public class MatchResult {
         return createScheduledMatchSummary();
     }
     
-    private boolean isFinished() {
+    public boolean isFinished() {
         return "Finalizado".equals(status);
     }
     
-    private boolean isLive() {
-        return "Ao Vivo".equals(status) || "Em Andamento".equals(status);
+    public boolean isScheduled() {
+        return "Agendado".equals(status);
+    }
+    
+    public boolean isLive() {
+        return "Ao Vivo".equals(status) || "Em Andamento".equals(status) || "Pausado".equals(status);
     }
     
     private boolean hasScore() {
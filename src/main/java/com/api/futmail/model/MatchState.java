@@ -0,0 +1,72 @@
+package com.api.futmail.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDateTime;
+
+/**
+ * Último status e placar conhecidos de uma partida, para que a coleta
+ * depois de um restart continue emitindo apenas o que mudou.
+ */
+@Entity
+@Table(name = "match_states")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "matchId")
+public class MatchState implements Persistable<Long> {
+    
+    // Id da partida na football-data.org (atribuído, não gerado)
+    @Id
+    @Column(name = "match_id")
+    private Long matchId;
+    
+    @Column(nullable = false, length = 20)
+    private String status;
+    
+    @Column(name = "home_score")
+    private Integer homeScore;
+    
+    @Column(name = "away_score")
+    private Integer awayScore;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Com id atribuído, sem isso o save() faria um SELECT antes de cada insert
+    @Transient
+    @Builder.Default
+    private boolean fresh = true;
+    
+    public static MatchState of(MatchResult match) {
+        MatchState state = MatchState.builder().matchId(match.getId()).build();
+        state.update(match);
+        return state;
+    }
+    
+    public void update(MatchResult match) {
+        this.status = match.getStatus();
+        this.homeScore = match.getHomeScore();
+        this.awayScore = match.getAwayScore();
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    @Override
+    public Long getId() {
+        return matchId;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+    
+    @PostLoad
+    @PostPersist
+    protected void markPersisted() {
+        fresh = false;
+    }
+}
@@ -17,8 +17,12 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(of = "id")
 public class News {
     
+    // Blocos de ids reservados por chamada à sequence; a gravação em lote usa o mesmo tamanho
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "news_seq")
+    @SequenceGenerator(name = "news_seq", sequenceName = "news_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank
@@ -55,14 +59,14 @@ public class News {
     @Column(nullable = false)
     private Boolean active = true;
     
-    @Column(unique = true)
+    @Column(unique = true, length = ContentFingerprint.HEX_LENGTH)
     private String contentHash;
     
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         if (contentHash == null && hasContent()) {
-            contentHash = generateContentHash();
+            contentHash = ContentFingerprint.of(title, content);
         }
     }
     
@@ -70,10 +74,6 @@ public class News {
         return title != null && content != null;
     }
     
-    private String generateContentHash() {
-        return Integer.toHexString((title + content).hashCode());
-    }
-    
     public boolean isPublishedToday() {
         return publishedAt != null && 
                publishedAt.toLocalDate().equals(LocalDateTime.now().toLocalDate());
@@ -55,6 +55,22 @@ public class Newsletter {
     @Column(name = "emails_failed")
     private Integer emailsFailed = 0;
     
+    // Maior id de assinante cujo bloco foi totalmente registrado no ledger.
+    // Atualizado apenas via NewsletterRepository.advanceCheckpoint
+    @Builder.Default
+    @Column(name = "checkpoint_subscriber_id", updatable = false)
+    private Long checkpointSubscriberId = 0L;
+    
+    // Prazo do envio em andamento, renovado enquanto ele roda; um envio
+    // interrompido só pode ser retomado depois que o prazo vence.
+    // Atualizado apenas via NewsletterRepository.claimSending/renewSendLease
+    @Column(name = "send_lease_until", insertable = false, updatable = false)
+    private LocalDateTime sendLeaseUntil;
+    
+    // Dono da reserva de envio; ver NewsletterRepository.claimSending
+    @Column(name = "send_claim_token", insertable = false, updatable = false)
+    private String sendClaimToken;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -65,17 +81,31 @@ public class Newsletter {
         this.emailsSent = emailsSent;
         this.emailsFailed = emailsFailed;
         this.sentAt = LocalDateTime.now();
-        this.status = emailsFailed == 0 ? NewsletterStatus.SENT : NewsletterStatus.FAILED;
+        this.status = finalStatus(emailsSent, emailsFailed);
     }
     
-    public void markAsStartedSending() {
-        this.status = NewsletterStatus.SENDING;
+    // Falhas individuais ficam no ledger e no dead-letter; a newsletter só
+    // falha quando nenhum email foi entregue
+    public static NewsletterStatus finalStatus(int emailsSent, int emailsFailed) {
+        return emailsSent == 0 && emailsFailed > 0 ? NewsletterStatus.FAILED : NewsletterStatus.SENT;
     }
     
     public boolean canBeSent() {
         return status == NewsletterStatus.DRAFT;
     }
     
+    public boolean isInterruptedSend() {
+        return status == NewsletterStatus.SENDING;
+    }
+    
+    public boolean canBeSentOrResumed() {
+        return canBeSent() || isInterruptedSend();
+    }
+    
+    public long getResumeAfterSubscriberId() {
+        return checkpointSubscriberId == null ? 0L : checkpointSubscriberId;
+    }
+    
     public boolean isAlreadySent() {
         return status == NewsletterStatus.SENT;
     }
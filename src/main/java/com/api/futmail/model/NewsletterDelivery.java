@@ -0,0 +1,66 @@
+package com.api.futmail.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "newsletter_deliveries",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"newsletter_id", "subscriber_id"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class NewsletterDelivery {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    // Sequência com alocação em bloco: IDENTITY desabilitaria o batch de inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "newsletter_deliveries_seq")
+    @SequenceGenerator(name = "newsletter_deliveries_seq", sequenceName = "newsletter_deliveries_seq", allocationSize = 50)
+    private Long id;
+    
+    @NotNull
+    @Column(name = "newsletter_id", nullable = false)
+    private Long newsletterId;
+    
+    @NotNull
+    @Column(name = "subscriber_id", nullable = false)
+    private Long subscriberId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeliveryState state;
+    
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public void recordAttempt(boolean delivered, String error) {
+        this.attempts = attempts == null ? 1 : attempts + 1;
+        this.state = delivered ? DeliveryState.SENT : DeliveryState.FAILED;
+        this.lastError = delivered ? null : truncateError(error);
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean isDelivered() {
+        return state != null && state.isDelivered();
+    }
+    
+    private String truncateError(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
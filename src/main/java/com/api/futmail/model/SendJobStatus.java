@@ -0,0 +1,19 @@
+package com.api.futmail.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum SendJobStatus {
+    QUEUED("Na fila"),
+    RUNNING("Em execução"),
+    COMPLETED("Concluído"),
+    FAILED("Falhou");
+    
+    private final String displayName;
+    
+    public boolean isActive() {
+        return this == QUEUED || this == RUNNING;
+    }
+}
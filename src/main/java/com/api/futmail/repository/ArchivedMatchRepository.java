@@ -0,0 +1,27 @@
+package com.api.futmail.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.api.futmail.model.ArchivedMatch;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedMatchRepository extends JpaRepository<ArchivedMatch, Long> {
+    
+    long countByCompetitionCodeAndSeason(String competitionCode, Integer season);
+    
+    @Query("SELECT MAX(m.season) FROM ArchivedMatch m WHERE m.competitionCode = :competitionCode")
+    Optional<Integer> findLatestSeason(@Param("competitionCode") String competitionCode);
+    
+    List<ArchivedMatch> findByCompetitionCodeAndSeasonAndStatusOrderByMatchDate(String competitionCode, Integer season, String status);
+    
+    @Modifying
+    @Query("DELETE FROM ArchivedMatch m WHERE m.competitionCode = :competitionCode AND m.season = :season")
+    int deleteSeason(@Param("competitionCode") String competitionCode, @Param("season") Integer season);
+}
@@ -0,0 +1,19 @@
+package com.api.futmail.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.api.futmail.model.BackfillCheckpoint;
+import com.api.futmail.model.BackfillState;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BackfillCheckpointRepository extends JpaRepository<BackfillCheckpoint, Long> {
+    
+    Optional<BackfillCheckpoint> findByCompetitionCodeAndSeason(String competitionCode, Integer season);
+    
+    List<BackfillCheckpoint> findByStateIn(Collection<BackfillState> states);
+}
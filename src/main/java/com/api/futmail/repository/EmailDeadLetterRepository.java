@@ -0,0 +1,12 @@
+package com.api.futmail.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.api.futmail.model.EmailDeadLetter;
+
+@Repository
+public interface EmailDeadLetterRepository extends JpaRepository<EmailDeadLetter, Long> {
+    
+    long countByNewsletterId(Long newsletterId);
+}
@@ -0,0 +1,23 @@
+package com.api.futmail.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.api.futmail.model.MatchState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MatchStateRepository extends JpaRepository<MatchState, Long> {
+    
+    @Query("SELECT s.matchId FROM MatchState s WHERE s.updatedAt < :before")
+    List<Long> findIdsUpdatedBefore(@Param("before") LocalDateTime before);
+    
+    @Modifying
+    @Query("DELETE FROM MatchState s WHERE s.updatedAt < :before")
+    int deleteUpdatedBefore(@Param("before") LocalDateTime before);
+}
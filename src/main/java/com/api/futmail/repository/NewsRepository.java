@@ -3,7 +3,7 @@ package com.api.futmail.repository;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,7 +13,7 @@ import com.api.futmail.model.News;
 import com.api.futmail.model.NewsCategory;
 
 @Repository
-public interface NewsRepository extends JpaRepository<News, Long> {
+public interface NewsRepository extends JpaRepository<News, Long>, NewsRepositoryCustom {
     
     @Query("SELECT n FROM News n WHERE n.active = true AND n.publishedAt >= :date ORDER BY n.publishedAt DESC")
     List<News> findActiveNewsAfterDate(@Param("date") LocalDateTime date);
@@ -23,8 +23,29 @@ public interface NewsRepository extends JpaRepository<News, Long> {
     
     boolean existsByContentHash(String contentHash);
     
-    @Query("SELECT n FROM News n WHERE n.active = true ORDER BY n.publishedAt DESC")
-    Page<News> findActiveNews(org.springframework.data.domain.Pageable pageable);
+    @Query("SELECT n.contentHash FROM News n WHERE n.contentHash IS NOT NULL")
+    List<String> findAllContentHashes();
+    
+    // Paginação por chave (publishedAt, id): a página continua depois do último item entregue
+    @Query("SELECT n FROM News n WHERE n.active = true " +
+           "AND (n.publishedAt < :publishedAt OR (n.publishedAt = :publishedAt AND n.id < :id)) " +
+           "ORDER BY n.publishedAt DESC, n.id DESC")
+    List<News> findActiveNewsBefore(@Param("publishedAt") LocalDateTime publishedAt, @Param("id") Long id,
+                                    Pageable pageable);
+    
+    @Query("SELECT n FROM News n WHERE n.active = true AND n.category = :category " +
+           "AND (n.publishedAt < :publishedAt OR (n.publishedAt = :publishedAt AND n.id < :id)) " +
+           "ORDER BY n.publishedAt DESC, n.id DESC")
+    List<News> findActiveNewsByCategoryBefore(@Param("category") NewsCategory category,
+                                              @Param("publishedAt") LocalDateTime publishedAt, @Param("id") Long id,
+                                              Pageable pageable);
+    
+    @Query("SELECT n FROM News n WHERE n.active = true AND n.publishedAt >= :since " +
+           "AND (n.publishedAt < :publishedAt OR (n.publishedAt = :publishedAt AND n.id < :id)) " +
+           "ORDER BY n.publishedAt DESC, n.id DESC")
+    List<News> findActiveNewsSinceBefore(@Param("since") LocalDateTime since,
+                                         @Param("publishedAt") LocalDateTime publishedAt, @Param("id") Long id,
+                                         Pageable pageable);
     
     // CORREÇÃO: Mudança na query para funcionar com H2 e PostgreSQL
     @Query("SELECT n FROM News n WHERE n.active = true AND n.publishedAt >= :startOfDay AND n.publishedAt <= :endOfDay ORDER BY n.publishedAt DESC")
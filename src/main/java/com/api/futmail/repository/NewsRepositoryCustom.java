@@ -0,0 +1,14 @@
+package com.api.futmail.repository;
+
+import java.util.List;
+
+import com.api.futmail.model.News;
+
+public interface NewsRepositoryCustom {
+    
+    /**
+     * Insere as notícias em lote, ignorando as que já existem com o mesmo
+     * {@code contentHash}. Retorna quantas foram de fato inseridas.
+     */
+    int insertIgnoringDuplicates(List<News> news);
+}
@@ -0,0 +1,126 @@
+package com.api.futmail.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.futmail.model.ContentFingerprint;
+import com.api.futmail.model.News;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Gravação em lote das notícias coletadas: ids reservados em blocos da
+ * sequence (os mesmos blocos do gerador do Hibernate) e um único batch
+ * JDBC com insert que ignora conflito no {@code content_hash}, sem o
+ * SELECT de duplicidade por notícia.
+ */
+public class NewsRepositoryImpl implements NewsRepositoryCustom {
+    
+    private static final String COLUMNS = "id, title, content, summary, category, source_url, source_name, "
+            + "published_at, created_at, active, content_hash";
+    private static final String VALUES = "?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?";
+    
+    private static final String POSTGRES_INSERT = "INSERT INTO news (" + COLUMNS + ") VALUES (" + VALUES + ") "
+            + "ON CONFLICT (content_hash) DO NOTHING";
+    // MERGE do SQL padrão, suportado pelo H2: só insere quando o hash não existe
+    private static final String MERGE_INSERT = "MERGE INTO news n "
+            + "USING (SELECT CAST(? AS VARCHAR(" + ContentFingerprint.HEX_LENGTH + ")) AS content_hash) s ON n.content_hash = s.content_hash "
+            + "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (" + VALUES + ")";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+    private final String nextSequenceValue;
+    // Próximo id livre e último id do bloco reservado
+    private long nextId = 1;
+    private long highId = 0;
+    
+    public NewsRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = dialect instanceof PostgreSQLDialect;
+        this.nextSequenceValue = dialect.getSequenceSupport().getSequenceNextValString("news_seq");
+    }
+    
+    @Override
+    public int insertIgnoringDuplicates(List<News> news) {
+        if (news.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (News item : news) {
+            item.setId(nextId());
+            if (item.getCreatedAt() == null) {
+                item.setCreatedAt(now);
+            }
+            if (item.getContentHash() == null) {
+                item.setContentHash(ContentFingerprint.of(item.getTitle(), item.getContent()));
+            }
+        }
+        
+        int[] counts = jdbcTemplate.batchUpdate(postgres ? POSTGRES_INSERT : MERGE_INSERT,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        bind(statement, news.get(i));
+                    }
+                    
+                    @Override
+                    public int getBatchSize() {
+                        return news.size();
+                    }
+                });
+        
+        int inserted = 0;
+        for (int count : counts) {
+            if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+    
+    private void bind(PreparedStatement statement, News news) throws SQLException {
+        int index = 1;
+        if (!postgres) {
+            statement.setString(index++, news.getContentHash());
+        }
+        statement.setLong(index++, news.getId());
+        statement.setString(index++, news.getTitle());
+        setNullableString(statement, index++, news.getContent());
+        setNullableString(statement, index++, news.getSummary());
+        statement.setString(index++, news.getCategory().name());
+        setNullableString(statement, index++, news.getSourceUrl());
+        setNullableString(statement, index++, news.getSourceName());
+        statement.setTimestamp(index++, Timestamp.valueOf(news.getPublishedAt()));
+        statement.setTimestamp(index++, Timestamp.valueOf(news.getCreatedAt()));
+        statement.setBoolean(index++, news.isActive());
+        statement.setString(index, news.getContentHash());
+    }
+    
+    // Cada valor da sequence reserva os ids (valor - 50, valor], como no otimizador pooled
+    private synchronized long nextId() {
+        if (nextId > highId) {
+            highId = jdbcTemplate.queryForObject(nextSequenceValue, Long.class);
+            nextId = Math.max(1, highId - News.ID_ALLOCATION_SIZE + 1);
+        }
+        return nextId++;
+    }
+    
+    private static void setNullableString(PreparedStatement statement, int index, String value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, value);
+        }
+    }
+}
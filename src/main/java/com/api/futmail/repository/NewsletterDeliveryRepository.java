@@ -0,0 +1,23 @@
+package com.api.futmail.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.api.futmail.model.DeliveryState;
+import com.api.futmail.model.NewsletterDelivery;
+
+@Repository
+public interface NewsletterDeliveryRepository extends JpaRepository<NewsletterDelivery, Long> {
+    
+    List<NewsletterDelivery> findByNewsletterIdAndSubscriberIdIn(Long newsletterId, Collection<Long> subscriberIds);
+    
+    long countByNewsletterIdAndState(Long newsletterId, DeliveryState state);
+    
+    @Query("SELECT MAX(d.subscriberId) FROM NewsletterDelivery d WHERE d.newsletterId = :newsletterId")
+    Long findMaxSubscriberIdByNewsletterId(@Param("newsletterId") Long newsletterId);
+}
@@ -1,10 +1,11 @@
 package com.api.futmail.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,12 +16,53 @@ import com.api.futmail.model.NewsletterStatus;
 @Repository
 public interface NewsletterRepository extends JpaRepository<Newsletter, Long> {
     
-    @Query("SELECT n FROM Newsletter n ORDER BY n.createdAt DESC")
-    Page<Newsletter> findAllOrderByCreatedAtDesc(Pageable pageable);
+    // Paginação por chave (createdAt, id), servida pelo índice idx_newsletters_created_at
+    @Query("SELECT n FROM Newsletter n " +
+           "WHERE n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Newsletter> findCreatedBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                       Pageable pageable);
     
     @Query("SELECT n FROM Newsletter n WHERE n.status = :status ORDER BY n.createdAt DESC")
     List<Newsletter> findByStatus(@Param("status") NewsletterStatus status);
     
+    // Reserva atômica do envio: só quem altera a linha pode enviar, e o token
+    // identifica o dono da reserva. Rascunhos e envios interrompidos com prazo
+    // vencido podem ser reservados
+    @Modifying
+    @Query("UPDATE Newsletter n SET n.status = com.api.futmail.model.NewsletterStatus.SENDING, " +
+           "n.sendClaimToken = :token, n.sendLeaseUntil = :leaseUntil, n.totalSubscribers = :totalSubscribers " +
+           "WHERE n.id = :id AND (n.status = com.api.futmail.model.NewsletterStatus.DRAFT " +
+           "OR (n.status = com.api.futmail.model.NewsletterStatus.SENDING " +
+           "AND (n.sendLeaseUntil IS NULL OR n.sendLeaseUntil < :now)))")
+    int claimSending(@Param("id") Long id, @Param("token") String token, @Param("now") LocalDateTime now,
+                     @Param("leaseUntil") LocalDateTime leaseUntil, @Param("totalSubscribers") int totalSubscribers);
+    
+    // Devolve 0 se a reserva passou para outro dono
+    @Modifying
+    @Query("UPDATE Newsletter n SET n.sendLeaseUntil = :leaseUntil " +
+           "WHERE n.id = :id AND n.sendClaimToken = :token " +
+           "AND n.status = com.api.futmail.model.NewsletterStatus.SENDING")
+    int renewSendLease(@Param("id") Long id, @Param("token") String token, @Param("leaseUntil") LocalDateTime leaseUntil);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Newsletter n SET n.status = :status, n.sentAt = :sentAt, n.totalSubscribers = :total, " +
+           "n.emailsSent = :sent, n.emailsFailed = :failed, n.sendLeaseUntil = NULL " +
+           "WHERE n.id = :id AND n.sendClaimToken = :token " +
+           "AND n.status = com.api.futmail.model.NewsletterStatus.SENDING")
+    int completeSending(@Param("id") Long id, @Param("token") String token, @Param("status") NewsletterStatus status,
+                        @Param("sentAt") LocalDateTime sentAt, @Param("total") int total,
+                        @Param("sent") int sent, @Param("failed") int failed);
+    
+    @Query("SELECT n.id FROM Newsletter n WHERE n.status = com.api.futmail.model.NewsletterStatus.SENDING " +
+           "AND (n.sendLeaseUntil IS NULL OR n.sendLeaseUntil < :now)")
+    List<Long> findAbandonedSendIds(@Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Newsletter n SET n.checkpointSubscriberId = :subscriberId " +
+           "WHERE n.id = :id AND n.checkpointSubscriberId < :subscriberId")
+    int advanceCheckpoint(@Param("id") Long id, @Param("subscriberId") Long subscriberId);
+    
     //@Query("SELECT n FROM Newsletter n WHERE DATE(n.sentAt) = CURRENT_DATE")
     //List<Newsletter> findTodaysSentNewsletters();
 }
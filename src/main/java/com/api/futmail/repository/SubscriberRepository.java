@@ -3,11 +3,13 @@ package com.api.futmail.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.api.futmail.model.EmailRecipient;
 import com.api.futmail.model.Subscriber;
 import com.api.futmail.model.SubscriptionStatus;
 
@@ -21,4 +23,16 @@ public interface SubscriberRepository extends JpaRepository<Subscriber, Long> {
     List<Subscriber> findByStatus(@Param("status") SubscriptionStatus status);
     
     boolean existsByEmail(String email);
+    
+    long countByStatus(SubscriptionStatus status);
+    
+    @Query("SELECT new com.api.futmail.model.EmailRecipient(s.id, s.email) FROM Subscriber s " +
+           "WHERE s.status = :status AND s.id > :afterId AND NOT EXISTS (" +
+           "SELECT d.id FROM NewsletterDelivery d WHERE d.newsletterId = :newsletterId " +
+           "AND d.subscriberId = s.id AND d.state = com.api.futmail.model.DeliveryState.SENT) " +
+           "ORDER BY s.id")
+    List<EmailRecipient> findPendingRecipientsAfter(@Param("status") SubscriptionStatus status,
+                                                    @Param("newsletterId") Long newsletterId,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
 }
@@ -0,0 +1,155 @@
+package com.api.futmail.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.api.futmail.model.CollectionResult;
+import com.api.futmail.model.MatchResult;
+import com.api.futmail.service.FootballDataService;
+import com.api.futmail.service.NewsService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Polling adaptativo por competição. De hora em hora o plano é montado a
+ * partir de todos os jogos do horizonte de planejamento; cada competição então tem a sua
+ * própria próxima busca, decidida pela {@link LivePollingPolicy} com base
+ * no que a busca anterior trouxe.
+ * <p>
+ * As buscas bloqueiam até a API responder e por isso rodam num pool
+ * próprio, sem ocupar o agendador compartilhado do Spring.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "football.polling.enabled", havingValue = "true", matchIfMissing = true)
+public class LiveMatchPoller {
+    
+    private final FootballDataService footballDataService;
+    private final NewsService newsService;
+    private final ScheduledExecutorService pollers;
+    private final LivePollingPolicy policy;
+    private final Clock clock;
+    private final Map<String, PlannedPoll> planned = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public LiveMatchPoller(FootballDataService footballDataService, NewsService newsService,
+                           MeterRegistry meterRegistry,
+                           @Value("${football.polling.threads:2}") int pollerThreads,
+                           @Value("${football.polling.live-interval:PT30S}") Duration liveInterval,
+                           @Value("${football.polling.quiet-live-interval:PT60S}") Duration quietLiveInterval,
+                           @Value("${football.polling.idle-interval:PT1H}") Duration idleInterval) {
+        this(footballDataService, newsService, Executors.newScheduledThreadPool(pollerThreads, pollerThreadFactory()),
+                new LivePollingPolicy(liveInterval, quietLiveInterval, idleInterval), Clock.systemUTC());
+        meterRegistry.gauge("football.polling.competitions", planned, Map::size);
+    }
+    
+    LiveMatchPoller(FootballDataService footballDataService, NewsService newsService,
+                    ScheduledExecutorService pollers, LivePollingPolicy policy, Clock clock) {
+        this.footballDataService = footballDataService;
+        this.newsService = newsService;
+        this.pollers = pollers;
+        this.policy = policy;
+        this.clock = clock;
+    }
+    
+    @Scheduled(initialDelayString = "${football.polling.initial-delay:PT30S}",
+               fixedDelayString = "${football.polling.plan-interval:PT1H}")
+    public void refreshPlan() {
+        pollers.execute(this::planPolls);
+    }
+    
+    // Agenda as competições com jogo por vir ou em andamento; as que já estão
+    // sendo acompanhadas seguem o próprio ritmo, a não ser que o plano peça antes
+    void planPolls() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Map<String, List<MatchResult>> byCompetition = footballDataService.getPlanningHorizonMatches().stream()
+                .filter(match -> match.getCompetitionCode() != null)
+                .collect(Collectors.groupingBy(MatchResult::getCompetitionCode));
+        
+        byCompetition.forEach((competitionCode, matches) -> policy.nextPoll(matches, false, now)
+                .ifPresent(at -> schedule(competitionCode, at)));
+        log.info("🗓️ Polling planejado para {} competições", planned.size());
+    }
+    
+    @PreDestroy
+    public synchronized void cancelPlannedPolls() {
+        planned.values().forEach(poll -> poll.future.cancel(false));
+        planned.clear();
+        pollers.shutdownNow();
+    }
+    
+    private void poll(String competitionCode, PlannedPoll current) {
+        planned.remove(competitionCode, current);
+        // Sem resposta da API, os jogos vêm do último estado conhecido e o ritmo se mantém
+        List<MatchResult> matches = footballDataService.getLiveCompetitionMatches(competitionCode);
+        boolean changed = false;
+        try {
+            CollectionResult result = newsService.collectMatchUpdates(matches);
+            changed = result.getNewMatches() + result.getChangedMatches() > 0;
+        } catch (Exception e) {
+            log.warn("⚠️ Falha ao gravar atualizações da competição {}: {}", competitionCode, e.getMessage());
+        }
+        
+        LocalDateTime next = policy.nextPoll(matches, changed, LocalDateTime.now(clock)).orElse(null);
+        if (next == null) {
+            log.debug("⏸️ Sem jogos por vir na competição {}, polling suspenso até o próximo plano", competitionCode);
+            return;
+        }
+        schedule(competitionCode, next);
+    }
+    
+    // No máximo uma busca agendada por competição; um horário mais cedo substitui o atual.
+    // Se um jogo for remarcado para depois, a busca antiga só reagenda pelo horário novo
+    private synchronized void schedule(String competitionCode, LocalDateTime at) {
+        PlannedPoll current = planned.get(competitionCode);
+        if (current != null) {
+            if (!at.isBefore(current.at)) {
+                return;
+            }
+            current.future.cancel(false);
+        }
+        PlannedPoll poll = new PlannedPoll(at);
+        planned.put(competitionCode, poll);
+        long delayMillis = Duration.between(clock.instant(), at.toInstant(ZoneOffset.UTC)).toMillis();
+        poll.future = pollers.schedule(() -> poll(competitionCode, poll), Math.max(delayMillis, 0), TimeUnit.MILLISECONDS);
+        log.debug("⏱️ Próxima busca da competição {} em {}", competitionCode, at);
+    }
+    
+    private static ThreadFactory pollerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger(0);
+        return runnable -> {
+            Thread thread = new Thread(runnable, "live-poller-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static final class PlannedPoll {
+        
+        private final LocalDateTime at;
+        private ScheduledFuture<?> future;
+        
+        private PlannedPoll(LocalDateTime at) {
+            this.at = at;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.api.futmail.scheduler;
+
+import com.api.futmail.model.MatchResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decide quando a próxima busca de uma competição deve acontecer: a cada
+ * 30–60s enquanto houver jogo em andamento (ou que já deveria ter começado),
+ * no horário do próximo início de jogo ou, no máximo, de hora em hora.
+ */
+class LivePollingPolicy {
+    
+    // Jogo ainda "Agendado" depois desse tempo do início provavelmente foi adiado
+    private static final Duration KICKOFF_GRACE = Duration.ofHours(3);
+    
+    private final Duration liveInterval;
+    private final Duration quietLiveInterval;
+    private final Duration idleInterval;
+    
+    LivePollingPolicy(Duration liveInterval, Duration quietLiveInterval, Duration idleInterval) {
+        if (liveInterval.compareTo(quietLiveInterval) > 0 || quietLiveInterval.compareTo(idleInterval) > 0) {
+            throw new IllegalArgumentException("Intervalos de polling devem ser crescentes: ao vivo <= ao vivo sem mudança <= ocioso");
+        }
+        this.liveInterval = liveInterval;
+        this.quietLiveInterval = quietLiveInterval;
+        this.idleInterval = idleInterval;
+    }
+    
+    /**
+     * Próxima busca para os jogos conhecidos da competição (horários em UTC).
+     * {@code changed} indica que a última busca trouxe status ou placar novo,
+     * o que encurta o intervalo ao vivo. Vazio quando não há jogo por vir.
+     */
+    Optional<LocalDateTime> nextPoll(List<MatchResult> matches, boolean changed, LocalDateTime now) {
+        LocalDateTime nextKickoff = null;
+        boolean awaitingKickoff = false;
+        
+        for (MatchResult match : matches) {
+            if (match.isLive()) {
+                return Optional.of(now.plus(changed ? liveInterval : quietLiveInterval));
+            }
+            if (!match.isScheduled() || match.getMatchDate() == null) {
+                continue;
+            }
+            LocalDateTime kickoff = match.getMatchDate();
+            if (!kickoff.isAfter(now)) {
+                awaitingKickoff |= kickoff.isAfter(now.minus(KICKOFF_GRACE));
+            } else if (nextKickoff == null || kickoff.isBefore(nextKickoff)) {
+                nextKickoff = kickoff;
+            }
+        }
+        
+        if (awaitingKickoff) {
+            return Optional.of(now.plus(quietLiveInterval));
+        }
+        if (nextKickoff == null) {
+            return Optional.empty();
+        }
+        LocalDateTime idle = now.plus(idleInterval);
+        return Optional.of(nextKickoff.isBefore(idle) ? nextKickoff : idle);
+    }
+}
@@ -1,33 +1,45 @@
 package com.api.futmail.service;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import com.api.futmail.model.EmailRecipient;
 import com.api.futmail.model.EmailSendResult;
+import com.api.futmail.service.email.BulkSendEngine;
+import com.api.futmail.service.email.DeliveryResult;
+import com.api.futmail.service.email.EmailMessage;
+import com.api.futmail.service.email.EmailTransport;
+import com.api.futmail.service.email.SendProgressListener;
+import com.api.futmail.service.email.UnsubscribeTokens;
 
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class EmailService {
     
-    private static final double SUCCESS_RATE_THRESHOLD = 0.95;
-    private static final int EMAIL_SEND_DELAY_MS = 100;
-    private static final int MAX_CONTENT_PREVIEW_LENGTH = 100;
-    
     @Value("${app.email.from:newsletter@futmail.com}")
     private String fromEmail;
     
     @Value("${app.email.from-name:Futmail Newsletter}")
     private String fromName;
     
+    @Value("${app.public-url:http://localhost:8080}")
+    private String publicUrl;
+    
+    private final BulkSendEngine bulkSendEngine;
+    private final EmailTransport emailTransport;
+    private final UnsubscribeTokens unsubscribeTokens;
+    
     public boolean sendEmail(String to, String subject, String htmlContent) {
         try {
-            logEmailSending(to, subject, htmlContent);
-            simulateDelay();
-            return simulateSuccess();
+            List<DeliveryResult> results = emailTransport.send(
+                    buildMessage(subject, htmlContent), List.of(EmailRecipient.of(to)));
+            return results.stream().allMatch(DeliveryResult::isDelivered);
             
         } catch (Exception e) {
             log.error("❌ Erro ao enviar email para {}: {}", to, e.getMessage());
@@ -43,62 +55,44 @@ public class EmailService {
             return EmailSendResult.of(0, 0);
         }
         
-        AtomicInteger sent = new AtomicInteger(0);
-        AtomicInteger failed = new AtomicInteger(0);
-        
-        List<CompletableFuture<Boolean>> futures = createEmailFutures(emails, subject, htmlContent);
-        processEmailFutures(futures, sent, failed);
-        
-        EmailSendResult result = EmailSendResult.of(sent.get(), failed.get());
-        logBulkEmailResult(result);
+        List<EmailRecipient> recipients = emails.stream()
+                .map(EmailRecipient::of)
+                .toList();
         
-        return result;
+        return sendToAudience(List.of(recipients).iterator(), subject, htmlContent);
     }
     
-    private void logEmailSending(String to, String subject, String htmlContent) {
-        log.info("📧 Simulando envio de email para: {}", to);
-        log.debug("Assunto: {}", subject);
-        log.debug("Conteúdo: {}", truncateContent(htmlContent, MAX_CONTENT_PREVIEW_LENGTH));
+    public EmailSendResult sendToAudience(Iterator<List<EmailRecipient>> audience, String subject, String htmlContent) {
+        return sendToAudience(audience, subject, htmlContent, SendProgressListener.NONE);
     }
     
-    private void simulateDelay() throws InterruptedException {
-        Thread.sleep(EMAIL_SEND_DELAY_MS);
+    public EmailSendResult sendToAudience(Iterator<List<EmailRecipient>> audience, String subject, String htmlContent,
+                                          SendProgressListener progressListener) {
+        return sendToAudience(audience, subject, htmlContent, progressListener, () -> false);
     }
     
-    private boolean simulateSuccess() {
-        return Math.random() > (1 - SUCCESS_RATE_THRESHOLD);
-    }
-    
-    private List<CompletableFuture<Boolean>> createEmailFutures(List<String> emails, String subject, String htmlContent) {
-        return emails.stream()
-                .map(email -> CompletableFuture.supplyAsync(() -> 
-                    sendEmail(email, subject, htmlContent)))
-                .toList();
+    public EmailSendResult sendToAudience(Iterator<List<EmailRecipient>> audience, String subject, String htmlContent,
+                                          SendProgressListener progressListener, BooleanSupplier stopRequested) {
+        EmailSendResult result = bulkSendEngine.send(audience, emailTransport,
+                buildMessage(subject, htmlContent), progressListener, stopRequested);
+        logBulkEmailResult(result);
+        
+        return result;
     }
     
-    private void processEmailFutures(List<CompletableFuture<Boolean>> futures, AtomicInteger sent, AtomicInteger failed) {
-        futures.forEach(future -> {
-            try {
-                if (future.get()) {
-                    sent.incrementAndGet();
-                } else {
-                    failed.incrementAndGet();
-                }
-            } catch (Exception e) {
-                failed.incrementAndGet();
-                log.error("❌ Erro no envio assíncrono: {}", e.getMessage());
-            }
-        });
+    private EmailMessage buildMessage(String subject, String htmlContent) {
+        return EmailMessage.builder()
+                .fromEmail(fromEmail)
+                .fromName(fromName)
+                .subject(subject)
+                .htmlContent(htmlContent)
+                .unsubscribeBaseUrl(publicUrl + "/api/subscribers/unsubscribe?token=")
+                .unsubscribeTokens(unsubscribeTokens)
+                .build();
     }
     
     private void logBulkEmailResult(EmailSendResult result) {
         log.info("✅ Envio concluído: {}", result.getSummary());
-    }
-    
-    private String truncateContent(String content, int maxLength) {
-        if (content == null || content.length() <= maxLength) {
-            return content;
-        }
-        return content.substring(0, maxLength) + "...";
+        log.info("📈 Vazão: {}", result.getThroughputSummary());
     }
 }
@@ -0,0 +1,375 @@
+package com.api.futmail.service;
+
+// Imports Logging
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Imports OkHttp
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+// Imports Lombok
+import lombok.Value;
+
+// Imports Micrometer
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Imports Java Standard
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fila única das chamadas à football-data.org. O orçamento de requisições
+ * por minuto é acompanhado pelos headers {@code X-Requests-Available-Minute}
+ * e {@code X-RequestCounter-Reset}; quando ele acaba, as chamadas esperam o
+ * reset na fila (as mais prioritárias primeiro) em vez de gastar um 429.
+ */
+class FootballApiScheduler implements AutoCloseable {
+
+    enum Priority { LIVE, MATCHES, STANDINGS, BACKFILL }
+
+    /**
+     * Converte o corpo de uma resposta bem-sucedida direto do stream.
+     * {@code notModified} indica que o cache HTTP revalidou a resposta
+     * anterior (304) e o corpo vem do disco.
+     */
+    @FunctionalInterface
+    interface BodyReader<T> {
+        T read(InputStream body, boolean notModified) throws IOException;
+    }
+
+    @Value
+    static class ApiResponse<T> {
+        T value;
+        boolean notModified;
+    }
+
+    static final String AVAILABLE_HEADER = "X-Requests-Available-Minute";
+    static final String RESET_HEADER = "X-RequestCounter-Reset";
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int MAX_RATE_LIMIT_RETRIES = 2;
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(FootballApiScheduler.class);
+    private final OkHttpClient httpClient;
+    private final int requestsPerMinute;
+    private final long maxQueueWaitNanos;
+    private final MeterRegistry meterRegistry;
+    private final Map<Priority, Timer> queueWaitTimers = new EnumMap<>(Priority.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<ScheduledCall<?>> queue = new PriorityQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    // Orçamento da janela atual, protegido por lock. "remaining" já desconta
+    // as chamadas em andamento que o servidor ainda não contabilizou
+    private boolean budgetKnown;
+    private int remaining;
+    private long resetAt;
+    private int inFlight;
+
+    FootballApiScheduler(OkHttpClient httpClient, int requestsPerMinute, Duration maxQueueWait,
+                         MeterRegistry meterRegistry) {
+        if (requestsPerMinute <= 0) {
+            throw new IllegalArgumentException("Limite de requisições por minuto deve ser positivo");
+        }
+        this.httpClient = httpClient;
+        this.requestsPerMinute = requestsPerMinute;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+        this.meterRegistry = meterRegistry;
+        this.remaining = requestsPerMinute;
+        this.resetAt = System.nanoTime() + WINDOW_NANOS;
+
+        for (Priority priority : Priority.values()) {
+            queueWaitTimers.put(priority, Timer.builder("football.api.queue.wait")
+                    .description("Tempo de espera na fila até o despacho da chamada")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        meterRegistry.gauge("football.api.budget.remaining", this, scheduler -> scheduler.remaining);
+        meterRegistry.gauge("football.api.budget.in-flight", this, scheduler -> scheduler.inFlight);
+        meterRegistry.gauge("football.api.queue.size", this, scheduler -> scheduler.queueSize());
+
+        this.dispatcher = new Thread(this::dispatchLoop, "football-api-scheduler");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Enfileira a chamada. O futuro termina com a resposta convertida pelo
+     * leitor, ou {@code null} se a API respondeu com erro ou a chamada falhou.
+     */
+    <T> CompletableFuture<ApiResponse<T>> submit(Request request, Priority priority, BodyReader<T> reader) {
+        ScheduledCall<T> call = new ScheduledCall<>(request, priority, reader,
+                sequence.incrementAndGet(), System.nanoTime());
+        lock.lock();
+        try {
+            if (!running) {
+                call.result.completeExceptionally(new IllegalStateException("Agendador da API encerrado"));
+                return call.result;
+            }
+            queue.add(call);
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        return call.result;
+    }
+
+    int queueSize() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            running = false;
+            queue.forEach(call -> call.result.completeExceptionally(
+                    new IllegalStateException("Agendador da API encerrado")));
+            queue.clear();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatchLoop() {
+        lock.lock();
+        try {
+            while (running) {
+                ScheduledCall<?> next = queue.peek();
+                if (next == null) {
+                    changed.await();
+                    continue;
+                }
+
+                long now = System.nanoTime();
+                long deadline = next.enqueuedAt + maxQueueWaitNanos;
+                if (now - deadline >= 0) {
+                    queue.poll();
+                    countOutcome("expired");
+                    next.result.completeExceptionally(new TimeoutException(
+                            "Chamada expirou na fila: " + next.request.url()));
+                    continue;
+                }
+
+                long waitNanos = reserve(now);
+                if (waitNanos > 0) {
+                    changed.awaitNanos(Math.min(waitNanos, deadline - now));
+                    continue;
+                }
+
+                queue.poll();
+                queueWaitTimers.get(next.priority).record(now - next.enqueuedAt, TimeUnit.NANOSECONDS);
+                next.inFlight = true;
+                httpClient.newCall(next.request).enqueue(next.handler());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Retorna 0 se reservou uma chamada, ou quanto falta para o reset da janela.
+    // Enquanto os headers da janela atual não chegaram, só uma chamada fica em voo
+    private long reserve(long now) {
+        if (now - resetAt >= 0) {
+            remaining = requestsPerMinute - inFlight;
+            resetAt = now + WINDOW_NANOS;
+            budgetKnown = false;
+        }
+        if (!budgetKnown && inFlight > 0) {
+            return WINDOW_NANOS;
+        }
+        if (remaining <= 0) {
+            return Math.max(1, resetAt - now);
+        }
+        remaining--;
+        inFlight++;
+        return 0;
+    }
+
+    // Devolve a reserva da chamada uma única vez, mesmo que a leitura do corpo falhe depois
+    private void release(ScheduledCall<?> call, Response response) {
+        lock.lock();
+        try {
+            if (!call.inFlight) {
+                return;
+            }
+            call.inFlight = false;
+            inFlight--;
+            if (response != null) {
+                updateBudget(response);
+            }
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void updateBudget(Response response) {
+        Integer available = parseHeader(response.header(AVAILABLE_HEADER));
+        Integer resetSeconds = parseHeader(response.header(RESET_HEADER));
+
+        if (response.code() == TOO_MANY_REQUESTS) {
+            remaining = 0;
+            budgetKnown = true;
+        } else if (available != null) {
+            remaining = Math.max(0, available - inFlight);
+            budgetKnown = true;
+        }
+        if (resetSeconds != null) {
+            resetAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(resetSeconds);
+        } else if (response.code() == TOO_MANY_REQUESTS) {
+            resetAt = System.nanoTime() + WINDOW_NANOS;
+        }
+    }
+
+    private void requeue(ScheduledCall<?> call) {
+        lock.lock();
+        try {
+            if (running) {
+                call.rateLimitRetries++;
+                queue.add(call);
+                changed.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        call.result.complete(null);
+    }
+
+    private void countOutcome(String outcome) {
+        meterRegistry.counter("football.api.requests", "outcome", outcome).increment();
+    }
+
+    private static boolean isRevalidated(Response response) {
+        Response networkResponse = response.networkResponse();
+        return response.cacheResponse() != null
+                && (networkResponse == null || networkResponse.code() == HttpURLConnection.HTTP_NOT_MODIFIED);
+    }
+
+    private static Integer parseHeader(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private final class ResponseHandler<T> implements Callback {
+
+        private final ScheduledCall<T> call;
+
+        private ResponseHandler(ScheduledCall<T> call) {
+            this.call = call;
+        }
+
+        @Override
+        public void onResponse(Call httpCall, Response response) {
+            // Headers de orçamento só valem se vieram da rede, não do cache
+            Response networkResponse = response.networkResponse();
+            try (response) {
+                if (response.isSuccessful()) {
+                    boolean notModified = isRevalidated(response);
+                    T value = call.reader.read(response.body().byteStream(), notModified);
+                    release(call, networkResponse);
+                    countOutcome(notModified ? "not_modified" : "success");
+                    logger.debug("✅ API call successful: {}{}", call.request.url(), notModified ? " (304)" : "");
+                    call.result.complete(new ApiResponse<>(value, notModified));
+                    return;
+                }
+
+                String body = response.body() != null ? response.body().string() : null;
+                release(call, networkResponse);
+                if (response.code() == TOO_MANY_REQUESTS && call.rateLimitRetries < MAX_RATE_LIMIT_RETRIES) {
+                    countOutcome("rate_limited");
+                    logger.warn("⏳ Limite da API atingido, reagendando: {}", call.request.url());
+                    requeue(call);
+                } else {
+                    countOutcome(response.code() == TOO_MANY_REQUESTS ? "rate_limited" : "error");
+                    logger.warn("❌ API call failed: {} - Status: {}", call.request.url(), response.code());
+                    logger.warn("Response: {}", body);
+                    call.result.complete(null);
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void onFailure(Call httpCall, IOException e) {
+            fail(e);
+        }
+
+        private void fail(Exception e) {
+            release(call, null);
+            if (!call.result.isDone()) {
+                countOutcome("error");
+                logger.error("❌ Erro na chamada da API: {} - {}", call.request.url(), e.getMessage());
+                call.result.complete(null);
+            }
+        }
+    }
+
+    private final class ScheduledCall<T> implements Comparable<ScheduledCall<?>> {
+
+        private final Request request;
+        private final Priority priority;
+        private final BodyReader<T> reader;
+        private final long sequence;
+        private final long enqueuedAt;
+        private final CompletableFuture<ApiResponse<T>> result = new CompletableFuture<>();
+        private int rateLimitRetries;
+        private boolean inFlight;
+
+        private ScheduledCall(Request request, Priority priority, BodyReader<T> reader,
+                              long sequence, long enqueuedAt) {
+            this.request = request;
+            this.priority = priority;
+            this.reader = reader;
+            this.sequence = sequence;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        private Callback handler() {
+            return new ResponseHandler<>(this);
+        }
+
+        @Override
+        public int compareTo(ScheduledCall<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
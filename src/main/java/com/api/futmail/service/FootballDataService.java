@@ -2,46 +2,75 @@
 package com.api.futmail.service;
 
 // Imports Spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PreDestroy;
+
 // Imports Logging
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 // Imports OkHttp
+import okhttp3.Cache;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
+// Imports Micrometer
+import io.micrometer.core.instrument.MeterRegistry;
+
 // Imports Jackson
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.core.JsonFactory;
 
 // Imports Java Standard
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
 
 // Imports das classes do projeto
+import com.api.futmail.config.CacheConfig;
 import com.api.futmail.model.MatchResult;
 import com.api.futmail.model.BrasileraoStandings;
 import com.api.futmail.model.TeamStanding;
+import com.api.futmail.service.FootballApiScheduler.ApiResponse;
+import com.api.futmail.service.FootballApiScheduler.BodyReader;
+import com.api.futmail.service.FootballApiScheduler.Priority;
+import com.api.futmail.service.cache.MatchStore;
+import com.api.futmail.service.cache.MatchWindow;
 
 @Service
 public class FootballDataService {
 
     private final Logger logger = LoggerFactory.getLogger(FootballDataService.class);
     private final OkHttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    private final FootballJsonParser jsonParser = new FootballJsonParser(new JsonFactory());
+    private final FootballApiScheduler requestScheduler;
+    private final org.springframework.cache.Cache matchCache;
+    private final MatchStore matchStore;
+    private final String baseUrl;
+    private final String apiKey;
+    private final Map<String, Object> parsedResponses = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > MAX_PARSED_RESPONSES;
+        }
+    });
 
-    private static final String API_KEY = "cc426f864ddb460db46bc5ce071e4587";
-    private static final String BASE_URL = "https://api.football-data.org/v4";
+    private static final int MAX_PARSED_RESPONSES = 64;
+    private static final int RECENT_RESULTS_DAYS = 30;
 
     // Códigos das principais competições (CORRIGIDOS conforme documentação)
     private static final String BRASILEIRAO_CODE = "BSA";      // Brasileiro Série A
@@ -51,27 +80,30 @@ public class FootballDataService {
     private static final String SERIE_A_CODE = "SA";           // Serie A Italiana
     private static final String BUNDESLIGA_CODE = "BL1";       // Bundesliga
 
-    public FootballDataService() {
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .build();
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    public FootballDataService(MeterRegistry meterRegistry, CacheManager cacheManager, MatchStore matchStore,
+                               @Value("${football.api.requests-per-minute:10}") int requestsPerMinute,
+                               @Value("${football.api.max-queue-wait-seconds:120}") long maxQueueWaitSeconds,
+                               @Value("${football.api.cache.directory:${java.io.tmpdir}/futmail-football-cache}") File cacheDirectory,
+                               @Value("${football.api.cache.max-size-mb:20}") long cacheMaxSizeMb,
+                               @Value("${football.api.base-url:https://api.football-data.org/v4}") String baseUrl,
+                               @Value("${football.api.key:cc426f864ddb460db46bc5ce071e4587}") String apiKey) {
+        // Sem barra no fim: os caminhos abaixo já começam com "/"
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.apiKey = apiKey;
+        this.httpClient = buildHttpClient(cacheDirectory, cacheMaxSizeMb * 1024 * 1024);
+        this.matchCache = cacheManager.getCache(CacheConfig.FOOTBALL_MATCHES_CACHE);
+        this.matchStore = matchStore;
+        this.requestScheduler = new FootballApiScheduler(httpClient, requestsPerMinute,
+                Duration.ofSeconds(maxQueueWaitSeconds), meterRegistry);
     }
 
     public List<MatchResult> getTodaysMatches() {
         try {
-            String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
-            String url = BASE_URL + "/matches?dateFrom=" + today + "&dateTo=" + today;
-
+            LocalDate today = LocalDate.now();
             logger.info("🔍 Buscando jogos de hoje: {}", today);
 
-            String jsonResponse = makeApiCall(url);
-            if (jsonResponse != null) {
-                return parseMatchesResponse(jsonResponse);
-            }
+            loadCurrentMatches();
+            return matchStore.query(MatchStore.between(today, today), MatchStore.BY_DATE, Integer.MAX_VALUE);
         } catch (Exception e) {
             logger.error("Erro ao buscar jogos de hoje: {}", e.getMessage());
         }
@@ -80,20 +112,12 @@ public class FootballDataService {
 
     public List<MatchResult> getRecentMatches() {
         try {
-            String yesterday = LocalDate.now().minusDays(1).format(DateTimeFormatter.ISO_LOCAL_DATE);
-            String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
-            String url = BASE_URL + "/matches?dateFrom=" + yesterday + "&dateTo=" + today + "&status=FINISHED";
-
+            LocalDate today = LocalDate.now();
             logger.info("📊 Buscando resultados recentes");
 
-            String jsonResponse = makeApiCall(url);
-            if (jsonResponse != null) {
-                List<MatchResult> matches = parseMatchesResponse(jsonResponse);
-                return matches.stream()
-                        .sorted((m1, m2) -> m2.getMatchDate().compareTo(m1.getMatchDate()))
-                        .limit(8)
-                        .collect(Collectors.toList());
-            }
+            loadCurrentMatches();
+            return matchStore.query(MatchStore.between(today.minusDays(1), today).and(MatchResult::isFinished),
+                    MatchStore.BY_DATE.reversed(), 8);
         } catch (Exception e) {
             logger.error("Erro ao buscar jogos recentes: {}", e.getMessage());
         }
@@ -101,120 +125,117 @@ public class FootballDataService {
     }
 
     public List<MatchResult> getPremierLeagueMatches() {
-        try {
-            String url = BASE_URL + "/competitions/" + PREMIER_LEAGUE_CODE + "/matches?status=FINISHED";
+        logger.info("🏴󠁧󠁢󠁥󠁮󠁧󠁿 Buscando resultados da Premier League");
+        return getRecentResults(PREMIER_LEAGUE_CODE, 5, "Premier League");
+    }
 
-            logger.info("🏴󠁧󠁢󠁥󠁮󠁧󠁿 Buscando resultados da Premier League");
+    public List<MatchResult> getLaLigaMatches() {
+        logger.info("🇪🇸 Buscando resultados da La Liga");
+        return getRecentResults(LA_LIGA_CODE, 5, "La Liga");
+    }
 
-            String jsonResponse = makeApiCall(url);
-            if (jsonResponse != null) {
-                List<MatchResult> matches = parseMatchesResponse(jsonResponse);
-                return matches.stream()
-                        .sorted((m1, m2) -> m2.getMatchDate().compareTo(m1.getMatchDate()))
-                        .limit(5)
-                        .collect(Collectors.toList());
-            }
-        } catch (Exception e) {
-            logger.error("Erro ao buscar jogos da Premier League: {}", e.getMessage());
-        }
-        return new ArrayList<>();
+    public List<MatchResult> getChampionsLeagueMatches() {
+        logger.info("🏆 Buscando resultados da Champions League");
+        return getRecentResults(CHAMPIONS_LEAGUE_CODE, 3, "Champions League");
     }
 
-    public List<MatchResult> getLaLigaMatches() {
+    public List<MatchResult> getUpcomingMatches() {
         try {
-            String url = BASE_URL + "/competitions/" + LA_LIGA_CODE + "/matches?status=FINISHED";
-
-            logger.info("🇪🇸 Buscando resultados da La Liga");
+            LocalDate today = LocalDate.now();
+            logger.info("📅 Buscando próximos jogos");
 
-            String jsonResponse = makeApiCall(url);
-            if (jsonResponse != null) {
-                List<MatchResult> matches = parseMatchesResponse(jsonResponse);
-                return matches.stream()
-                        .sorted((m1, m2) -> m2.getMatchDate().compareTo(m1.getMatchDate()))
-                        .limit(5)
-                        .collect(Collectors.toList());
-            }
+            loadCurrentMatches();
+            return matchStore.query(MatchStore.between(today, today.plusDays(7)).and(MatchResult::isScheduled),
+                    MatchStore.BY_DATE, 10);
         } catch (Exception e) {
-            logger.error("Erro ao buscar jogos da La Liga: {}", e.getMessage());
+            logger.error("Erro ao buscar próximos jogos: {}", e.getMessage());
         }
         return new ArrayList<>();
     }
 
-    public List<MatchResult> getChampionsLeagueMatches() {
+    /**
+     * Todos os jogos por vir ou em andamento do horizonte de planejamento do
+     * polling (de ontem até daqui a 7 dias), sem limite de quantidade: um
+     * corte nos primeiros jogos deixaria competições inteiras sem polling.
+     */
+    public List<MatchResult> getPlanningHorizonMatches() {
         try {
-            String url = BASE_URL + "/competitions/" + CHAMPIONS_LEAGUE_CODE + "/matches?status=FINISHED";
-
-            logger.info("🏆 Buscando resultados da Champions League");
-
-            String jsonResponse = makeApiCall(url);
-            if (jsonResponse != null) {
-                List<MatchResult> matches = parseMatchesResponse(jsonResponse);
-                return matches.stream()
-                        .sorted((m1, m2) -> m2.getMatchDate().compareTo(m1.getMatchDate()))
-                        .limit(3)
-                        .collect(Collectors.toList());
-            }
+            LocalDate today = LocalDate.now();
+            loadCurrentMatches();
+            return matchStore.query(MatchStore.between(today.minusDays(1), today.plusDays(7))
+                            .and(match -> match.isScheduled() || match.isLive()),
+                    MatchStore.BY_DATE, Integer.MAX_VALUE);
         } catch (Exception e) {
-            logger.error("Erro ao buscar jogos da Champions League: {}", e.getMessage());
+            logger.error("Erro ao buscar jogos do horizonte de polling: {}", e.getMessage());
         }
         return new ArrayList<>();
     }
 
-    public List<MatchResult> getUpcomingMatches() {
+    /**
+     * Jogos de ontem até amanhã de uma competição, para o polling ao vivo.
+     * Se a busca falhar, devolve o último estado conhecido no repositório.
+     */
+    public List<MatchResult> getLiveCompetitionMatches(String competitionCode) {
         try {
-            String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
-            String nextWeek = LocalDate.now().plusDays(7).format(DateTimeFormatter.ISO_LOCAL_DATE);
-            String url = BASE_URL + "/matches?dateFrom=" + today + "&dateTo=" + nextWeek + "&status=SCHEDULED";
-
-            logger.info("📅 Buscando próximos jogos");
-
-            String jsonResponse = makeApiCall(url);
-            if (jsonResponse != null) {
-                List<MatchResult> matches = parseMatchesResponse(jsonResponse);
-                return matches.stream().limit(10).collect(Collectors.toList());
-            }
+            LocalDate today = LocalDate.now();
+            MatchWindow window = MatchWindow.of(competitionCode, today.minusDays(1), today.plusDays(1), null);
+            String url = baseUrl + "/competitions/" + competitionCode + "/matches"
+                    + "?dateFrom=" + window.getFrom() + "&dateTo=" + window.getTo();
+
+            loadMatches(window, url, Priority.LIVE, jsonParser::allMatches);
+            return matchStore.query(MatchStore.inCompetition(competitionCode)
+                    .and(MatchStore.between(window.getFrom(), window.getTo())), MatchStore.BY_DATE, Integer.MAX_VALUE);
         } catch (Exception e) {
-            logger.error("Erro ao buscar próximos jogos: {}", e.getMessage());
+            logger.error("Erro ao buscar jogos ao vivo da competição {}: {}", competitionCode, e.getMessage());
         }
         return new ArrayList<>();
     }
 
+    /**
+     * Temporada completa de uma competição para o backfill histórico: menor
+     * prioridade na fila da API e fora do cache de domínio. Retorna
+     * {@code null} se a busca falhar, para distinguir de temporada sem jogos.
+     */
+    public List<MatchResult> getSeasonMatches(String competitionCode, int season) {
+        String url = baseUrl + "/competitions/" + competitionCode + "/matches?season=" + season;
+        ApiResponse<List<MatchResult>> response = makeApiCall(url, Priority.BACKFILL,
+                (body, notModified) -> jsonParser.allMatches(body));
+        return response == null ? null : response.getValue();
+    }
+
     public BrasileraoStandings getPremierLeagueStandings() {
         try {
-            String url = BASE_URL + "/competitions/" + PREMIER_LEAGUE_CODE + "/standings";
+            String url = baseUrl + "/competitions/" + PREMIER_LEAGUE_CODE + "/standings";
 
             logger.info("📊 Buscando classificação da Premier League");
 
-            String jsonResponse = makeApiCall(url);
-            if (jsonResponse != null) {
-                BrasileraoStandings standings = parseStandingsResponse(jsonResponse);
-                if (standings != null) {
-                    // Renomear para contexto mais genérico
-                    return new BrasileraoStandings(standings.getStandings()) {
-                        @Override
-                        public String toNewsTitle() {
-                            return "📊 Classificação Atualizada da Premier League";
-                        }
-
-                        @Override
-                        public String toNewsSummary() {
-                            if (getStandings().isEmpty()) return "Classificação não disponível.";
+            List<TeamStanding> table = fetchParsed(url, Priority.STANDINGS, jsonParser::firstTable);
+            if (table != null) {
+                // Renomear para contexto mais genérico
+                return new BrasileraoStandings(table) {
+                    @Override
+                    public String toNewsTitle() {
+                        return "📊 Classificação Atualizada da Premier League";
+                    }
 
-                            TeamStanding leader = getStandings().get(0);
-                            StringBuilder summary = new StringBuilder();
-                            summary.append(String.format("%s lidera a Premier League com %d pontos. ",
-                                    leader.getTeamName(), leader.getPoints()));
+                    @Override
+                    public String toNewsSummary() {
+                        if (getStandings().isEmpty()) return "Classificação não disponível.";
 
-                            summary.append("Top 4: ");
-                            for (int i = 0; i < Math.min(4, getStandings().size()); i++) {
-                                if (i > 0) summary.append(", ");
-                                summary.append(getStandings().get(i).getTeamName());
-                            }
+                        TeamStanding leader = getStandings().get(0);
+                        StringBuilder summary = new StringBuilder();
+                        summary.append(String.format("%s lidera a Premier League com %d pontos. ",
+                                leader.getTeamName(), leader.getPoints()));
 
-                            return summary.toString();
+                        summary.append("Top 4: ");
+                        for (int i = 0; i < Math.min(4, getStandings().size()); i++) {
+                            if (i > 0) summary.append(", ");
+                            summary.append(getStandings().get(i).getTeamName());
                         }
-                    };
-                }
+
+                        return summary.toString();
+                    }
+                };
             }
         } catch (Exception e) {
             logger.error("Erro ao buscar classificação da Premier League: {}", e.getMessage());
@@ -225,20 +246,18 @@ public class FootballDataService {
     // Método para tentar buscar o Brasileirão (pode não funcionar no plano gratuito)
     public List<MatchResult> getBrasileirao2024Matches() {
         try {
-            String url = BASE_URL + "/competitions/" + BRASILEIRAO_CODE + "/matches?season=2024&status=FINISHED";
+            MatchWindow window = MatchWindow.of(BRASILEIRAO_CODE, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), "FINISHED");
+            String url = baseUrl + "/competitions/" + BRASILEIRAO_CODE + "/matches?season=2024&status=FINISHED";
 
             logger.info("🇧🇷 Tentando buscar resultados do Brasileirão 2024");
 
-            String jsonResponse = makeApiCall(url);
-            if (jsonResponse != null) {
-                List<MatchResult> matches = parseMatchesResponse(jsonResponse);
+            // Da temporada inteira só interessam os 5 últimos; o parser não guarda o resto
+            if (loadMatches(window, url, Priority.STANDINGS, body -> jsonParser.latestMatches(body, 5))) {
+                List<MatchResult> matches = matchStore.query(resultsIn(window), MatchStore.BY_DATE.reversed(), 5);
                 if (matches.isEmpty()) {
                     logger.warn("⚠️ Brasileirão pode não estar disponível no plano gratuito");
                 }
-                return matches.stream()
-                        .sorted((m1, m2) -> m2.getMatchDate().compareTo(m1.getMatchDate()))
-                        .limit(5)
-                        .collect(Collectors.toList());
+                return matches;
             }
         } catch (Exception e) {
             logger.warn("⚠️ Brasileirão não disponível: {}", e.getMessage());
@@ -246,159 +265,144 @@ public class FootballDataService {
         return new ArrayList<>();
     }
 
-    private String makeApiCall(String url) {
-        try {
-            Request request = new Request.Builder()
-                    .url(url)
-                    .addHeader("X-Auth-Token", API_KEY)
-                    .addHeader("Accept", "application/json")
-                    .build();
-
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (response.isSuccessful() && response.body() != null) {
-                    String jsonData = response.body().string();
-                    logger.debug("✅ API call successful: {}", url);
-                    return jsonData;
-                } else {
-                    logger.warn("❌ API call failed: {} - Status: {}", url, response.code());
-                    if (response.body() != null) {
-                        String errorBody = response.body().string();
-                        logger.warn("Response: {}", errorBody);
-                    }
-                    return null;
-                }
-            }
-        } catch (Exception e) {
-            logger.error("❌ Erro na chamada da API: {} - {}", url, e.getMessage());
-            return null;
+    /**
+     * Cliente com cache HTTP em disco. Respostas com ETag/Last-Modified são
+     * guardadas e sempre revalidadas (If-None-Match/If-Modified-Since).
+     */
+    static OkHttpClient buildHttpClient(File cacheDirectory, long cacheMaxBytes) {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectTimeout(30, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS);
+        if (cacheMaxBytes > 0) {
+            builder.cache(new Cache(cacheDirectory, cacheMaxBytes))
+                    .addNetworkInterceptor(FootballDataService::requireRevalidation);
         }
+        return builder.build();
     }
 
-    private List<MatchResult> parseMatchesResponse(String jsonData) {
-        List<MatchResult> matches = new ArrayList<>();
+    // A API não envia max-age; sem isso o OkHttp poderia servir jogos ao vivo do cache sem consultar a rede
+    private static Response requireRevalidation(Interceptor.Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        if (response.header("ETag") == null && response.header("Last-Modified") == null) {
+            return response;
+        }
+        return response.newBuilder()
+                .header("Cache-Control", "no-cache")
+                .build();
+    }
 
+    @PreDestroy
+    public void shutdown() {
+        requestScheduler.close();
         try {
-            JsonNode root = objectMapper.readTree(jsonData);
-            JsonNode matchesNode = root.get("matches");
-
-            if (matchesNode != null && matchesNode.isArray()) {
-                for (JsonNode matchNode : matchesNode) {
-                    MatchResult match = parseMatch(matchNode);
-                    if (match != null) {
-                        matches.add(match);
-                    }
-                }
+            if (httpClient.cache() != null) {
+                httpClient.cache().close();
             }
-
-            logger.info("📥 Parsed {} matches from API", matches.size());
-
-        } catch (Exception e) {
-            logger.error("Erro ao fazer parse dos jogos: {}", e.getMessage());
+        } catch (IOException e) {
+            logger.warn("Erro ao fechar cache HTTP: {}", e.getMessage());
         }
+    }
 
-        return matches;
+    // Uma única consulta cobre os jogos de hoje, os resultados recentes e os próximos
+    // jogos; a API aceita no máximo 10 dias por consulta em /matches
+    private boolean loadCurrentMatches() {
+        LocalDate today = LocalDate.now();
+        MatchWindow window = MatchWindow.of(null, today.minusDays(1), today.plusDays(7), null);
+        String url = baseUrl + "/matches?dateFrom=" + window.getFrom() + "&dateTo=" + window.getTo();
+        return loadMatches(window, url, Priority.LIVE, jsonParser::allMatches);
     }
 
-    private MatchResult parseMatch(JsonNode matchNode) {
+    // Resultados finalizados das últimas semanas, em vez da temporada inteira
+    private List<MatchResult> getRecentResults(String competitionCode, int limit, String competitionName) {
         try {
-            // Times
-            JsonNode homeTeamNode = matchNode.get("homeTeam");
-            JsonNode awayTeamNode = matchNode.get("awayTeam");
-            String homeTeam = homeTeamNode.get("name").asText();
-            String awayTeam = awayTeamNode.get("name").asText();
-
-            // Placar
-            JsonNode scoreNode = matchNode.get("score");
-            Integer homeScore = null;
-            Integer awayScore = null;
-
-            if (scoreNode != null && !scoreNode.get("fullTime").isNull()) {
-                JsonNode fullTimeNode = scoreNode.get("fullTime");
-                if (!fullTimeNode.get("home").isNull()) {
-                    homeScore = fullTimeNode.get("home").asInt();
-                }
-                if (!fullTimeNode.get("away").isNull()) {
-                    awayScore = fullTimeNode.get("away").asInt();
-                }
-            }
-
-            // Status e data
-            String status = matchNode.get("status").asText();
-            String utcDateStr = matchNode.get("utcDate").asText();
-            LocalDateTime matchDate = LocalDateTime.parse(utcDateStr.substring(0, 19));
-
-            // Competição
-            JsonNode competitionNode = matchNode.get("competition");
-            String competition = competitionNode.get("name").asText();
-
-            // Traduzir status
-            String statusPt = translateStatus(status);
-
-            return new MatchResult(homeTeam, awayTeam, homeScore, awayScore,
-                    statusPt, matchDate, competition);
+            LocalDate today = LocalDate.now();
+            MatchWindow window = MatchWindow.of(competitionCode, today.minusDays(RECENT_RESULTS_DAYS), today, "FINISHED");
+            String url = baseUrl + "/competitions/" + competitionCode + "/matches?status=FINISHED"
+                    + "&dateFrom=" + window.getFrom() + "&dateTo=" + window.getTo();
 
+            loadMatches(window, url, Priority.MATCHES, jsonParser::allMatches);
+            return matchStore.query(resultsIn(window), MatchStore.BY_DATE.reversed(), limit);
         } catch (Exception e) {
-            logger.error("Erro ao fazer parse de um jogo: {}", e.getMessage());
-            return null;
+            logger.error("Erro ao buscar jogos da {}: {}", competitionName, e.getMessage());
         }
+        return new ArrayList<>();
     }
 
-    private BrasileraoStandings parseStandingsResponse(String jsonData) {
-        try {
-            JsonNode root = objectMapper.readTree(jsonData);
-            JsonNode standingsArray = root.get("standings");
-
-            if (standingsArray != null && standingsArray.isArray() && standingsArray.size() > 0) {
-                JsonNode tableNode = standingsArray.get(0).get("table");
-                List<TeamStanding> standings = new ArrayList<>();
+    private static Predicate<MatchResult> resultsIn(MatchWindow window) {
+        return MatchStore.inCompetition(window.getCompetition())
+                .and(MatchStore.between(window.getFrom(), window.getTo()))
+                .and(MatchResult::isFinished);
+    }
 
-                for (JsonNode teamNode : tableNode) {
-                    TeamStanding standing = parseTeamStanding(teamNode);
-                    if (standing != null) {
-                        standings.add(standing);
-                    }
+    /**
+     * Garante que a janela esteja no repositório de jogos. O cache de domínio
+     * fica na frente da API (acerto não gasta orçamento) e carrega cada janela
+     * uma vez só, mesmo com buscas concorrentes pela mesma janela.
+     */
+    private boolean loadMatches(MatchWindow window, String url, Priority priority,
+                                StreamParser<List<MatchResult>> parser) {
+        try {
+            // Só uma busca de verdade mescla no repositório: um acerto de cache
+            // devolveria uma lista antiga por cima de jogos já atualizados
+            matchCache.get(window, () -> {
+                List<MatchResult> fetched = fetchParsed(url, priority, parser);
+                if (fetched == null) {
+                    throw new IllegalStateException("Falha ao buscar " + url);
                 }
+                logger.info("📥 Parsed {} matches from API", fetched.size());
+                List<MatchResult> matches = List.copyOf(fetched);
+                matchStore.mergeAll(matches);
+                return matches;
+            });
+            return true;
+        } catch (org.springframework.cache.Cache.ValueRetrievalException e) {
+            logger.debug("Janela {} não carregada: {}", window, e.getCause().getMessage());
+            return false;
+        }
+    }
 
-                return new BrasileraoStandings(standings);
+    // O parse acontece direto no stream da resposta; uma resposta revalidada (304)
+    // reaproveita o resultado já convertido e nem chega a ler o corpo
+    @SuppressWarnings("unchecked")
+    private <T> T fetchParsed(String url, Priority priority, StreamParser<T> parser) {
+        ApiResponse<T> response = makeApiCall(url, priority, (body, notModified) -> {
+            if (notModified) {
+                T cached = (T) parsedResponses.get(url);
+                if (cached != null) {
+                    logger.debug("♻️ Resposta não modificada, reutilizando resultado: {}", url);
+                    return cached;
+                }
             }
-        } catch (Exception e) {
-            logger.error("Erro ao fazer parse da classificação: {}", e.getMessage());
+            return parser.parse(body);
+        });
+        if (response == null || response.getValue() == null) {
+            return null;
         }
-        return null;
+        parsedResponses.put(url, response.getValue());
+        return response.getValue();
     }
 
-    private TeamStanding parseTeamStanding(JsonNode teamNode) {
+    // Todas as chamadas passam pelo agendador, que respeita o limite por minuto da API
+    private <T> ApiResponse<T> makeApiCall(String url, Priority priority, BodyReader<T> reader) {
         try {
-            int position = teamNode.get("position").asInt();
-            String teamName = teamNode.get("team").get("name").asText();
-            int points = teamNode.get("points").asInt();
-            int playedGames = teamNode.get("playedGames").asInt();
-            int won = teamNode.get("won").asInt();
-            int draw = teamNode.get("draw").asInt();
-            int lost = teamNode.get("lost").asInt();
-            int goalsFor = teamNode.get("goalsFor").asInt();
-            int goalsAgainst = teamNode.get("goalsAgainst").asInt();
-            int goalDifference = teamNode.get("goalDifference").asInt();
-
-            return new TeamStanding(position, teamName, points, playedGames,
-                    won, draw, lost, goalsFor, goalsAgainst, goalDifference);
+            Request request = new Request.Builder()
+                    .url(url)
+                    .addHeader("X-Auth-Token", apiKey)
+                    .addHeader("Accept", "application/json")
+                    .build();
+
+            return requestScheduler.submit(request, priority, reader).join();
+        } catch (CompletionException e) {
+            logger.error("❌ Erro na chamada da API: {} - {}", url, e.getCause().getMessage());
+            return null;
         } catch (Exception e) {
-            logger.error("Erro ao fazer parse de posição na tabela: {}", e.getMessage());
+            logger.error("❌ Erro na chamada da API: {} - {}", url, e.getMessage());
             return null;
         }
     }
 
-    private String translateStatus(String status) {
-        switch (status) {
-            case "FINISHED": return "Finalizado";
-            case "LIVE": return "Ao Vivo";
-            case "IN_PLAY": return "Em Andamento";
-            case "PAUSED": return "Pausado";
-            case "SCHEDULED": return "Agendado";
-            case "POSTPONED": return "Adiado";
-            case "CANCELLED": return "Cancelado";
-            case "SUSPENDED": return "Suspenso";
-            default: return status;
-        }
+    @FunctionalInterface
+    private interface StreamParser<T> {
+        T parse(InputStream body) throws IOException;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,292 @@
+package com.api.futmail.service;
+
+// Imports Logging
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Imports Jackson
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+// Imports Java Standard
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+// Imports das classes do projeto
+import com.api.futmail.model.MatchResult;
+import com.api.futmail.model.TeamStanding;
+
+/**
+ * Parser por tokens das respostas da football-data.org. Lê direto do
+ * stream da resposta e monta um {@link MatchResult} por vez, sem
+ * materializar o corpo nem a árvore JSON; a leitura pode parar assim que
+ * o chamador tiver o que precisa.
+ */
+final class FootballJsonParser {
+
+    private static final Comparator<MatchResult> BY_DATE = Comparator.comparing(MatchResult::getMatchDate);
+
+    private final Logger logger = LoggerFactory.getLogger(FootballJsonParser.class);
+    private final JsonFactory jsonFactory;
+
+    FootballJsonParser(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Entrega cada jogo do array {@code matches} ao consumidor, na ordem da
+     * API; para de ler o stream quando o consumidor retorna {@code false}.
+     */
+    void forEachMatch(InputStream body, Predicate<MatchResult> consumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (!moveToArrayField(parser, "matches")) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                MatchResult match = readMatch(parser);
+                if (match != null && !consumer.test(match)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    List<MatchResult> allMatches(InputStream body) throws IOException {
+        return firstMatches(body, Integer.MAX_VALUE);
+    }
+
+    // Os primeiros jogos na ordem da API (data crescente); o resto do corpo não é lido
+    List<MatchResult> firstMatches(InputStream body, int limit) throws IOException {
+        List<MatchResult> matches = new ArrayList<>(Math.min(limit, 64));
+        if (limit <= 0) {
+            return matches;
+        }
+        forEachMatch(body, match -> {
+            matches.add(match);
+            return matches.size() < limit;
+        });
+        return matches;
+    }
+
+    // Os jogos mais recentes, do mais novo para o mais antigo, guardando só "limit" em memória
+    List<MatchResult> latestMatches(InputStream body, int limit) throws IOException {
+        PriorityQueue<MatchResult> latest = new PriorityQueue<>(limit + 1, BY_DATE);
+        forEachMatch(body, match -> {
+            latest.add(match);
+            if (latest.size() > limit) {
+                latest.poll();
+            }
+            return true;
+        });
+        List<MatchResult> matches = new ArrayList<>(latest);
+        matches.sort(BY_DATE.reversed());
+        return matches;
+    }
+
+    /**
+     * Lê apenas a primeira tabela de {@code standings} (classificação geral);
+     * retorna {@code null} se a resposta não tiver tabela.
+     */
+    List<TeamStanding> firstTable(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (!moveToArrayField(parser, "standings") || parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && "table".equals(field)) {
+                    List<TeamStanding> standings = new ArrayList<>();
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        TeamStanding standing = readTeamStanding(parser);
+                        if (standing != null) {
+                            standings.add(standing);
+                        }
+                    }
+                    return standings;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    static String translateStatus(String status) {
+        switch (status) {
+            case "FINISHED": return "Finalizado";
+            case "LIVE": return "Ao Vivo";
+            case "IN_PLAY": return "Em Andamento";
+            case "PAUSED": return "Pausado";
+            case "SCHEDULED":
+            case "TIMED": return "Agendado";
+            case "POSTPONED": return "Adiado";
+            case "CANCELLED": return "Cancelado";
+            case "SUSPENDED": return "Suspenso";
+            default: return status;
+        }
+    }
+
+    // Avança até o array do campo de primeiro nível indicado, pulando os demais
+    private static boolean moveToArrayField(JsonParser parser, String name) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (name.equals(field) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private MatchResult readMatch(JsonParser parser) throws IOException {
+        Long id = null;
+        String homeTeam = null;
+        String awayTeam = null;
+        Integer[] fullTime = {null, null};
+        String status = null;
+        String utcDate = null;
+        String[] competition = {null, null};
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.currentToken() == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : null;
+                case "homeTeam" -> homeTeam = readName(parser);
+                case "awayTeam" -> awayTeam = readName(parser);
+                case "competition" -> readNameAndCode(parser, competition);
+                case "status" -> status = parser.getValueAsString();
+                case "utcDate" -> utcDate = parser.getValueAsString();
+                case "score" -> readFullTime(parser, fullTime);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (homeTeam == null || awayTeam == null || status == null || utcDate == null || competition[0] == null) {
+            logger.error("Erro ao fazer parse de um jogo: campos obrigatórios ausentes");
+            return null;
+        }
+        try {
+            LocalDateTime matchDate = LocalDateTime.parse(utcDate.substring(0, 19));
+            return MatchResult.builder()
+                    .id(id)
+                    .homeTeam(homeTeam)
+                    .awayTeam(awayTeam)
+                    .homeScore(fullTime[0])
+                    .awayScore(fullTime[1])
+                    .status(translateStatus(status))
+                    .matchDate(matchDate)
+                    .competition(competition[0])
+                    .competitionCode(competition[1])
+                    .build();
+        } catch (RuntimeException e) {
+            logger.error("Erro ao fazer parse de um jogo: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void readFullTime(JsonParser parser, Integer[] fullTime) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!"fullTime".equals(field) || value != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String side = parser.currentName();
+                JsonToken score = parser.nextToken();
+                Integer goals = score == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : null;
+                if ("home".equals(side)) {
+                    fullTime[0] = goals;
+                } else if ("away".equals(side)) {
+                    fullTime[1] = goals;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static void readNameAndCode(JsonParser parser, String[] nameAndCode) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("name".equals(field)) {
+                nameAndCode[0] = parser.getValueAsString();
+            } else if ("code".equals(field)) {
+                nameAndCode[1] = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    // Campo "name" de um objeto como homeTeam/team
+    private static String readName(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String name = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("name".equals(field)) {
+                name = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return name;
+    }
+
+    private TeamStanding readTeamStanding(JsonParser parser) throws IOException {
+        String teamName = null;
+        int position = 0, points = 0, playedGames = 0, won = 0, draw = 0, lost = 0;
+        int goalsFor = 0, goalsAgainst = 0, goalDifference = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "position" -> position = parser.getValueAsInt();
+                case "team" -> teamName = readName(parser);
+                case "points" -> points = parser.getValueAsInt();
+                case "playedGames" -> playedGames = parser.getValueAsInt();
+                case "won" -> won = parser.getValueAsInt();
+                case "draw" -> draw = parser.getValueAsInt();
+                case "lost" -> lost = parser.getValueAsInt();
+                case "goalsFor" -> goalsFor = parser.getValueAsInt();
+                case "goalsAgainst" -> goalsAgainst = parser.getValueAsInt();
+                case "goalDifference" -> goalDifference = parser.getValueAsInt();
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (teamName == null) {
+            logger.error("Erro ao fazer parse de posição na tabela: time ausente");
+            return null;
+        }
+        return new TeamStanding(position, teamName, points, playedGames,
+                won, draw, lost, goalsFor, goalsAgainst, goalDifference);
+    }
+}
@@ -0,0 +1,30 @@
+package com.api.futmail.service;
+
+import lombok.Value;
+
+import com.api.futmail.model.MatchResult;
+
+import java.util.List;
+
+/**
+ * Resultado da comparação de uma coleta com o último estado conhecido.
+ * {@code emitted} mantém a ordem das fontes e traz só os jogos novos ou
+ * com status/placar diferente.
+ */
+@Value
+public class MatchDelta {
+    
+    List<MatchResult> emitted;
+    List<MatchResult> added;
+    List<MatchResult> changed;
+    int unchanged;
+    
+    // Jogos sem id não têm estado guardado e contam sempre como novos
+    public int getNewCount() {
+        return emitted.size() - changed.size();
+    }
+    
+    public int getChangedCount() {
+        return changed.size();
+    }
+}
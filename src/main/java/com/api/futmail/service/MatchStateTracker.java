@@ -0,0 +1,165 @@
+package com.api.futmail.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.api.futmail.model.MatchResult;
+import com.api.futmail.model.MatchState;
+import com.api.futmail.repository.MatchStateRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Snapshot compacto (id da partida → status + placar) da última coleta.
+ * Em memória cada jogo ocupa um {@code long}; a tabela {@code match_states}
+ * guarda o mesmo estado para que um restart não reemita todos os jogos.
+ */
+@Slf4j
+@Service
+public class MatchStateTracker {
+    
+    private static final int NO_SCORE = 0;
+    private static final Duration PRUNE_INTERVAL = Duration.ofDays(1);
+    
+    private final MatchStateRepository repository;
+    private final Duration retention;
+    private final Map<Long, Long> snapshot = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private LocalDateTime lastPrunedAt = LocalDateTime.MIN;
+    
+    public MatchStateTracker(MatchStateRepository repository,
+                             @Value("${football.match-state.retention-days:30}") long retentionDays) {
+        this.repository = repository;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+    
+    /**
+     * Compara os jogos com o snapshot sem alterá-lo; o snapshot só avança
+     * com {@link #remember(MatchDelta)}, depois que a gravação deu certo.
+     */
+    public MatchDelta diff(List<MatchResult> matches) {
+        ensureLoaded();
+        List<MatchResult> emitted = new ArrayList<>();
+        List<MatchResult> added = new ArrayList<>();
+        List<MatchResult> changed = new ArrayList<>();
+        int unchanged = 0;
+        
+        for (MatchResult match : matches) {
+            if (match.getId() == null) {
+                emitted.add(match);
+                continue;
+            }
+            Long previous = snapshot.get(match.getId());
+            if (previous == null) {
+                added.add(match);
+                emitted.add(match);
+            } else if (previous != pack(match)) {
+                changed.add(match);
+                emitted.add(match);
+            } else {
+                unchanged++;
+            }
+        }
+        return new MatchDelta(emitted, added, changed, unchanged);
+    }
+    
+    // Roda dentro da transação que grava as notícias: se ela voltar, o estado volta junto
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void save(MatchDelta delta) {
+        List<MatchState> states = new ArrayList<>(delta.getAdded().size() + delta.getChanged().size());
+        delta.getAdded().forEach(match -> states.add(MatchState.of(match)));
+        
+        if (!delta.getChanged().isEmpty()) {
+            Map<Long, MatchState> existing = repository.findAllById(
+                    delta.getChanged().stream().map(MatchResult::getId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(MatchState::getMatchId, Function.identity()));
+            for (MatchResult match : delta.getChanged()) {
+                MatchState state = existing.get(match.getId());
+                if (state == null) {
+                    states.add(MatchState.of(match));
+                } else {
+                    state.update(match);
+                    states.add(state);
+                }
+            }
+        }
+        repository.saveAll(states);
+        pruneIfDue();
+    }
+    
+    public void remember(MatchDelta delta) {
+        delta.getAdded().forEach(match -> snapshot.put(match.getId(), pack(match)));
+        delta.getChanged().forEach(match -> snapshot.put(match.getId(), pack(match)));
+    }
+    
+    public int size() {
+        return snapshot.size();
+    }
+    
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                Map<Long, Long> persisted = new HashMap<>();
+                repository.findAll().forEach(state -> persisted.put(state.getMatchId(),
+                        pack(state.getStatus(), state.getHomeScore(), state.getAwayScore())));
+                snapshot.putAll(persisted);
+                loaded = true;
+                log.info("📂 {} estados de partidas carregados", persisted.size());
+            }
+        }
+    }
+    
+    private void pruneIfDue() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPrunedAt.isAfter(now.minus(PRUNE_INTERVAL))) {
+            return;
+        }
+        lastPrunedAt = now;
+        LocalDateTime cutoff = now.minus(retention);
+        List<Long> prunedIds = repository.findIdsUpdatedBefore(cutoff);
+        if (prunedIds.isEmpty()) {
+            return;
+        }
+        int removed = repository.deleteUpdatedBefore(cutoff);
+        log.info("🧹 {} estados de partidas antigos removidos", removed);
+        
+        // Como em remember(), o snapshot só muda depois que a transação confirma
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                prunedIds.forEach(snapshot::remove);
+            }
+        });
+    }
+    
+    private static long pack(MatchResult match) {
+        return pack(match.getStatus(), match.getHomeScore(), match.getAwayScore());
+    }
+    
+    // Hash do status nos 32 bits altos e cada placar (+1, zero para ausente) em 16 bits
+    private static long pack(String status, Integer homeScore, Integer awayScore) {
+        long statusBits = status == null ? 0 : status.hashCode();
+        return statusBits << 32 | (long) scoreBits(homeScore) << 16 | scoreBits(awayScore);
+    }
+    
+    private static int scoreBits(Integer score) {
+        return score == null ? NO_SCORE : (score + 1) & 0xFFFF;
+    }
+}
@@ -1,22 +1,38 @@
 // service/NewsService.java
 package com.api.futmail.service;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.api.futmail.dto.CursorPage;
 import com.api.futmail.dto.NewsRequest;
 import com.api.futmail.dto.NewsResponse;
+import com.api.futmail.dto.PageCursor;
 import com.api.futmail.model.*;
 import com.api.futmail.repository.NewsRepository;
+import com.api.futmail.service.dedup.NewsDedupFilter;
+import com.api.futmail.service.standings.StandingsEngine;
 import com.api.futmail.service.strategy.NewsCategorizationStrategy;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -27,21 +43,30 @@ public class NewsService {
     private static final int MAX_MATCHES_PER_COMPETITION = 3;
     private static final int MAX_UPCOMING_MATCHES = 2;
     private static final int DEFAULT_RECENT_DAYS = 2;
+    private static final int FETCH_THREADS = 8;
     
     private final NewsRepository newsRepository;
     private final FootballDataService footballDataService;
     private final NewsCategorizationStrategy categorizationStrategy;
+    private final TransactionTemplate transactionTemplate;
+    private final MatchStateTracker matchStateTracker;
+    private final StandingsEngine standingsEngine;
+    private final NewsDedupFilter dedupFilter;
+    private final Object collectionLock = new Object();
+    private final ExecutorService fetchExecutor = newFetchExecutor();
     
     public NewsResponse createNews(NewsRequest request) {
         validateNewsRequest(request);
         
         News news = buildNewsFromRequest(request);
+        news.setContentHash(ContentFingerprint.of(news.getTitle(), news.getContent()));
         
-        if (isDuplicateNews(news)) {
+        if (isDuplicateNews(news.getContentHash())) {
             throw new IllegalArgumentException("Notícia já existe");
         }
         
         News savedNews = newsRepository.save(news);
+        dedupFilter.add(savedNews.getContentHash());
         log.info("✅ Notícia criada: {}", savedNews.getTitle());
         
         return NewsResponse.fromEntity(savedNews);
@@ -63,9 +88,24 @@ public class NewsService {
                 .toList();
     }
     
-    public Page<NewsResponse> getAllNews(int page, int size) {
-        return newsRepository.findActiveNews(PageRequest.of(page, size))
-                .map(NewsResponse::fromEntity);
+    // Listagens por cursor: busca size + 1 linhas a partir da posição do token, sem COUNT
+    public CursorPage<NewsResponse> getNewsPage(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        return toNewsPage(newsRepository.findActiveNewsBefore(after.getTimestamp(), after.getId(),
+                PageRequest.of(0, size + 1)), size);
+    }
+    
+    public CursorPage<NewsResponse> getNewsByCategoryPage(NewsCategory category, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        return toNewsPage(newsRepository.findActiveNewsByCategoryBefore(category, after.getTimestamp(), after.getId(),
+                PageRequest.of(0, size + 1)), size);
+    }
+    
+    public CursorPage<NewsResponse> getRecentNewsPage(int days, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        return toNewsPage(newsRepository.findActiveNewsSinceBefore(since, after.getTimestamp(), after.getId(),
+                PageRequest.of(0, size + 1)), size);
     }
     
     public List<NewsResponse> getRecentNews(int days) {
@@ -76,120 +116,147 @@ public class NewsService {
                 .toList();
     }
     
+    // Sem transação durante as chamadas à API: a conexão do banco só é
+    // usada na fase curta de gravação, depois que todas as buscas terminaram.
+    // Só viram notícia os jogos novos ou com status/placar diferente da última coleta;
+    // a classificação é calculada dos resultados, sem chamada à API
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CollectionResult collectTodaysNews() {
         log.info("🔍 Iniciando coleta automática de notícias");
         
-        NewsCollectionContext context = new NewsCollectionContext();
-        collectFromMultipleSources(context);
-        
-        CollectionResult result = CollectionResult.of(context.getCreated(), context.getDuplicates());
-        log.info("🎉 Coleta finalizada: {}", result.getSummary());
+        long startedAt = System.nanoTime();
+        List<MatchResult> matches = fetchMatchesFromMultipleSources();
+        log.info("📥 {} jogos buscados em {} ms", matches.size(), 
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
         
-        return result;
+        return ingest(matches);
     }
     
-    private void collectFromMultipleSources(NewsCollectionContext context) {
-        collectTodaysMatches(context);
-        collectRecentMatches(context);
-        collectCompetitionMatches(context);
-        collectUpcomingMatches(context);
-        collectStandings(context);
-        collectBrazileirao(context);
+    /**
+     * Gera notícias só para os jogos que mudaram desde a última coleta;
+     * usado pelo polling ao vivo, que busca uma competição por vez.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CollectionResult collectMatchUpdates(List<MatchResult> matches) {
+        return ingest(matches);
     }
     
-    private void collectTodaysMatches(NewsCollectionContext context) {
-        List<MatchResult> matches = footballDataService.getTodaysMatches();
-        log.info("📥 Encontrados {} jogos hoje", matches.size());
-        processMatches(matches, context);
+    @PreDestroy
+    public void shutdownFetchExecutor() {
+        fetchExecutor.shutdown();
     }
     
-    private void collectRecentMatches(NewsCollectionContext context) {
-        List<MatchResult> matches = footballDataService.getRecentMatches();
-        log.info("📥 Encontrados {} jogos recentes", matches.size());
-        processMatches(matches, context);
-    }
-    
-    private void collectCompetitionMatches(NewsCollectionContext context) {
-        collectPremierLeagueMatches(context);
-        collectLaLigaMatches(context);
-        collectChampionsLeagueMatches(context);
-    }
-    
-    private void collectPremierLeagueMatches(NewsCollectionContext context) {
-        List<MatchResult> matches = footballDataService.getPremierLeagueMatches();
-        log.info("📥 Encontrados {} jogos da Premier League", matches.size());
-        processLimitedMatches(matches, MAX_MATCHES_PER_COMPETITION, context);
-    }
-    
-    private void collectLaLigaMatches(NewsCollectionContext context) {
-        List<MatchResult> matches = footballDataService.getLaLigaMatches();
-        log.info("📥 Encontrados {} jogos da La Liga", matches.size());
-        processLimitedMatches(matches, MAX_MATCHES_PER_COMPETITION, context);
-    }
-    
-    private void collectChampionsLeagueMatches(NewsCollectionContext context) {
-        List<MatchResult> matches = footballDataService.getChampionsLeagueMatches();
-        log.info("📥 Encontrados {} jogos da Champions League", matches.size());
-        processLimitedMatches(matches, MAX_MATCHES_PER_COMPETITION, context);
-    }
-    
-    private void collectUpcomingMatches(NewsCollectionContext context) {
-        List<MatchResult> matches = footballDataService.getUpcomingMatches();
-        log.info("📥 Encontrados {} próximos jogos", matches.size());
-        processLimitedMatches(matches, MAX_UPCOMING_MATCHES, context);
-    }
-    
-    private void collectStandings(NewsCollectionContext context) {
-        Optional.ofNullable(footballDataService.getPremierLeagueStandings())
-                .ifPresent(standings -> processStandings(standings, context));
+    // Todas as fontes são buscadas ao mesmo tempo. As visões do FootballDataService
+    // se sobrepõem (hoje, recentes, por competição), então cada partida vira notícia
+    // uma vez só, na primeira fonte em que aparece
+    private List<MatchResult> fetchMatchesFromMultipleSources() {
+        List<CompletableFuture<List<MatchResult>>> matchFetches = List.of(
+                fetchAsync("jogos de hoje", () -> limited(
+                        footballDataService.getTodaysMatches(), "jogos hoje", Integer.MAX_VALUE), List.of()),
+                fetchAsync("jogos recentes", () -> limited(
+                        footballDataService.getRecentMatches(), "jogos recentes", Integer.MAX_VALUE), List.of()),
+                fetchAsync("Premier League", () -> limited(
+                        footballDataService.getPremierLeagueMatches(), "jogos da Premier League", MAX_MATCHES_PER_COMPETITION), List.of()),
+                fetchAsync("La Liga", () -> limited(
+                        footballDataService.getLaLigaMatches(), "jogos da La Liga", MAX_MATCHES_PER_COMPETITION), List.of()),
+                fetchAsync("Champions League", () -> limited(
+                        footballDataService.getChampionsLeagueMatches(), "jogos da Champions League", MAX_MATCHES_PER_COMPETITION), List.of()),
+                fetchAsync("próximos jogos", () -> limited(
+                        footballDataService.getUpcomingMatches(), "próximos jogos", MAX_UPCOMING_MATCHES), List.of()),
+                fetchAsync("Brasileirão", () -> limited(
+                        footballDataService.getBrasileirao2024Matches(), "jogos do Brasileirão", MAX_MATCHES_PER_COMPETITION), List.of())
+        );
+        
+        Set<Long> seenMatchIds = new HashSet<>();
+        List<MatchResult> matches = new ArrayList<>();
+        int repeated = 0;
+        for (CompletableFuture<List<MatchResult>> fetch : matchFetches) {
+            for (MatchResult match : fetch.join()) {
+                if (match.getId() == null || seenMatchIds.add(match.getId())) {
+                    matches.add(match);
+                } else {
+                    repeated++;
+                }
+            }
+        }
+        log.debug("♻️ {} jogos repetidos entre as fontes ignorados", repeated);
+        return matches;
     }
     
-    private void collectBrazileirao(NewsCollectionContext context) {
-        try {
-            List<MatchResult> matches = footballDataService.getBrasileirao2024Matches();
-            log.info("📥 Encontrados {} jogos do Brasileirão", matches.size());
-            processLimitedMatches(matches, MAX_MATCHES_PER_COMPETITION, context);
-        } catch (Exception e) {
-            log.warn("⚠️ Brasileirão não disponível: {}", e.getMessage());
+    // Coletas simultâneas (manual e polling) compartilham o snapshot de estados.
+    // A classificação só vira notícia quando as primeiras posições mudam
+    private CollectionResult ingest(List<MatchResult> matches) {
+        synchronized (collectionLock) {
+            MatchDelta delta = matchStateTracker.diff(matches);
+            Map<String, CompetitionStandings> standings = new TreeMap<>();
+            for (String code : standingsEngine.apply(matches)) {
+                standingsEngine.changedTopPositions(code).ifPresent(table -> standings.put(code, table));
+            }
+            
+            List<NewsRequest> collected = new ArrayList<>(delta.getEmitted().size() + standings.size());
+            delta.getEmitted().forEach(match -> collected.add(createNewsRequestFromMatch(match)));
+            standings.values().forEach(table -> collected.add(createNewsRequestFromStandings(table)));
+            
+            NewsCollectionContext context = transactionTemplate.execute(status -> {
+                NewsCollectionContext saved = saveCollectedNews(collected);
+                matchStateTracker.save(delta);
+                return saved;
+            });
+            matchStateTracker.remember(delta);
+            standings.forEach(standingsEngine::markPublished);
+            
+            CollectionResult result = CollectionResult.of(context.getCreated(), context.getDuplicates(),
+                    delta.getNewCount(), delta.getChangedCount(), delta.getUnchanged());
+            log.info("🎉 Coleta finalizada: {}", result.getSummary());
+            
+            return result;
         }
     }
     
-    private void processMatches(List<MatchResult> matches, NewsCollectionContext context) {
-        matches.forEach(match -> processMatch(match, context));
+    private <T> CompletableFuture<T> fetchAsync(String source, Supplier<T> fetch, T fallback) {
+        return CompletableFuture.supplyAsync(fetch, fetchExecutor)
+                .exceptionally(e -> {
+                    log.warn("⚠️ {} não disponível: {}", source, e.getMessage());
+                    return fallback;
+                });
     }
     
-    private void processLimitedMatches(List<MatchResult> matches, int limit, NewsCollectionContext context) {
-        matches.stream()
+    private List<MatchResult> limited(List<MatchResult> matches, String description, int limit) {
+        log.info("📥 Encontrados {} {}", matches.size(), description);
+        return matches.stream()
                 .limit(limit)
-                .forEach(match -> processMatch(match, context));
+                .toList();
     }
     
-    private void processMatch(MatchResult match, NewsCollectionContext context) {
-        try {
-            NewsRequest request = createNewsRequestFromMatch(match);
-            createNews(request);
-            context.incrementCreated();
-            log.debug("✅ Notícia criada: {}", match.toNewsTitle());
-        } catch (IllegalArgumentException e) {
-            context.incrementDuplicates();
-            log.debug("⚠️ Notícia duplicada: {}", match.toNewsTitle());
-        } catch (Exception e) {
-            log.error("❌ Erro ao processar jogo: {}", e.getMessage());
+    // Um lote só: ids vêm em blocos da sequence e duplicatas são ignoradas pelo
+    // próprio insert, sem SELECT por notícia
+    private NewsCollectionContext saveCollectedNews(List<NewsRequest> requests) {
+        NewsCollectionContext context = new NewsCollectionContext();
+        List<News> news = new ArrayList<>(requests.size());
+        for (NewsRequest request : requests) {
+            try {
+                validateNewsRequest(request);
+                news.add(buildNewsFromRequest(request));
+            } catch (IllegalArgumentException e) {
+                log.error("❌ Erro ao processar notícia: {}", e.getMessage());
+            }
         }
+        
+        int created = newsRepository.insertIgnoringDuplicates(news);
+        dedupFilter.addAll(news.stream().map(News::getContentHash).toList());
+        context.addCreated(created);
+        context.addDuplicates(news.size() - created);
+        log.debug("✅ {} notícias criadas, {} duplicadas", created, news.size() - created);
+        return context;
     }
     
-    private void processStandings(BrasileraoStandings standings, NewsCollectionContext context) {
-        try {
-            NewsRequest request = createNewsRequestFromStandings(standings);
-            createNews(request);
-            context.incrementCreated();
-            log.debug("✅ Classificação criada: {}", standings.toNewsTitle());
-        } catch (IllegalArgumentException e) {
-            context.incrementDuplicates();
-            log.debug("⚠️ Classificação duplicada: {}", standings.toNewsTitle());
-        } catch (Exception e) {
-            log.error("❌ Erro ao processar classificação: {}", e.getMessage());
-        }
+    private static ExecutorService newFetchExecutor() {
+        AtomicInteger counter = new AtomicInteger(0);
+        return Executors.newFixedThreadPool(FETCH_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "football-fetch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
     
     private NewsRequest createNewsRequestFromMatch(MatchResult match) {
@@ -236,13 +303,21 @@ public class NewsService {
                 .build();
     }
     
-    private boolean isDuplicateNews(News news) {
-        String contentHash = generateContentHash(news);
-        return newsRepository.existsByContentHash(contentHash);
+    // Só vai ao banco quando o filtro não garante que o conteúdo é novo
+    private boolean isDuplicateNews(String contentHash) {
+        if (!dedupFilter.mightExist(contentHash)) {
+            return false;
+        }
+        boolean exists = newsRepository.existsByContentHash(contentHash);
+        if (!exists) {
+            dedupFilter.recordFalsePositive();
+        }
+        return exists;
     }
     
-    private String generateContentHash(News news) {
-        return Integer.toHexString((news.getTitle() + news.getContent()).hashCode());
+    private static CursorPage<NewsResponse> toNewsPage(List<News> rows, int size) {
+        return CursorPage.of(rows, size, news -> PageCursor.of(news.getPublishedAt(), news.getId()),
+                NewsResponse::fromEntity);
     }
     
     private LocalDateTime[] getTodayRange() {
@@ -256,8 +331,8 @@ public class NewsService {
         private int created = 0;
         private int duplicates = 0;
         
-        public void incrementCreated() { created++; }
-        public void incrementDuplicates() { duplicates++; }
+        public void addCreated(int count) { created += count; }
+        public void addDuplicates(int count) { duplicates += count; }
         public int getCreated() { return created; }
         public int getDuplicates() { return duplicates; }
     }
@@ -0,0 +1,79 @@
+package com.api.futmail.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.api.futmail.model.EmailRecipient;
+import com.api.futmail.model.SendJobStatus;
+import com.api.futmail.service.email.SendProgressListener;
+
+/**
+ * Job de envio em segundo plano. Mantido em memória: o progresso durável
+ * fica no ledger de entregas, que permite retomar o envio após um restart.
+ */
+@Getter
+public class NewsletterSendJob implements SendProgressListener {
+    
+    private final String id;
+    private final Long newsletterId;
+    private final LocalDateTime submittedAt;
+    
+    private volatile SendJobStatus status;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    
+    private final AtomicInteger sent = new AtomicInteger(0);
+    private final AtomicInteger failed = new AtomicInteger(0);
+    
+    public NewsletterSendJob(Long newsletterId) {
+        this.id = UUID.randomUUID().toString();
+        this.newsletterId = newsletterId;
+        this.submittedAt = LocalDateTime.now();
+        this.status = SendJobStatus.QUEUED;
+    }
+    
+    @Override
+    public void onDelivery(EmailRecipient recipient, boolean delivered, String error) {
+        if (delivered) {
+            sent.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+        }
+    }
+    
+    public void markAsRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = SendJobStatus.RUNNING;
+    }
+    
+    public void markAsCompleted() {
+        this.finishedAt = LocalDateTime.now();
+        this.status = SendJobStatus.COMPLETED;
+    }
+    
+    public void markAsFailed(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = SendJobStatus.FAILED;
+    }
+    
+    public boolean isActive() {
+        return status.isActive();
+    }
+    
+    public boolean finishedBefore(LocalDateTime cutoff) {
+        return finishedAt != null && finishedAt.isBefore(cutoff);
+    }
+    
+    public int getSentCount() {
+        return sent.get();
+    }
+    
+    public int getFailedCount() {
+        return failed.get();
+    }
+}
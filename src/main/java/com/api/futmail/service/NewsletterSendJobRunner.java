@@ -0,0 +1,128 @@
+package com.api.futmail.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa envios de newsletter em segundo plano, liberando a thread HTTP
+ * assim que o job é enfileirado. Um job só é enfileirado depois de reservar
+ * o envio no banco, o que vale também entre instâncias da aplicação.
+ */
+@Slf4j
+@Service
+public class NewsletterSendJobRunner {
+    
+    private final NewsletterService newsletterService;
+    private final ExecutorService workers;
+    private final Duration jobRetention;
+    private final Map<String, NewsletterSendJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, NewsletterSendJob> activeJobsByNewsletter = new ConcurrentHashMap<>();
+    
+    public NewsletterSendJobRunner(NewsletterService newsletterService,
+                                   @Value("${app.newsletter.send-workers:2}") int workerCount,
+                                   @Value("${app.newsletter.job-retention:PT1H}") Duration jobRetention) {
+        this.newsletterService = newsletterService;
+        this.workers = Executors.newFixedThreadPool(workerCount, workerThreadFactory());
+        this.jobRetention = jobRetention;
+    }
+    
+    public NewsletterSendJob enqueue(Long newsletterId) {
+        NewsletterSendJob activeJob = activeJobsByNewsletter.get(newsletterId);
+        if (activeJob != null) {
+            log.info("⏳ Newsletter ID: {} já possui job ativo: {}", newsletterId, activeJob.getId());
+            return activeJob;
+        }
+        
+        NewsletterSendJob job = new NewsletterSendJob(newsletterId);
+        NewsletterSendJob concurrentJob = activeJobsByNewsletter.putIfAbsent(newsletterId, job);
+        if (concurrentJob != null) {
+            return concurrentJob;
+        }
+        
+        Optional<SendClaim> claim = Optional.empty();
+        try {
+            claim = newsletterService.claimSending(newsletterId);
+        } finally {
+            if (claim.isEmpty()) {
+                activeJobsByNewsletter.remove(newsletterId, job);
+            }
+        }
+        if (claim.isEmpty()) {
+            throw new IllegalArgumentException("Newsletter já está em processo de envio");
+        }
+        
+        SendClaim sendClaim = claim.get();
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        workers.execute(() -> run(job, sendClaim));
+        
+        log.info("📥 Job {} enfileirado para newsletter ID: {}", job.getId(), newsletterId);
+        return job;
+    }
+    
+    public Optional<NewsletterSendJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+    
+    // Na inicialização e depois periodicamente: o prazo de um envio
+    // interrompido pode ainda não ter vencido quando a aplicação sobe
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.newsletter.send-lease-ms:120000}",
+               fixedDelayString = "${app.newsletter.send-lease-ms:120000}")
+    public void resumeInterruptedSends() {
+        newsletterService.findInterruptedNewsletterIds().forEach(newsletterId -> {
+            log.info("🔁 Retomando envio interrompido da newsletter ID: {}", newsletterId);
+            try {
+                enqueue(newsletterId);
+            } catch (IllegalArgumentException e) {
+                log.info("⏳ Newsletter ID: {} não retomada: {}", newsletterId, e.getMessage());
+            }
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+    
+    private void run(NewsletterSendJob job, SendClaim claim) {
+        job.markAsRunning();
+        try {
+            newsletterService.deliverNewsletter(claim, job);
+            job.markAsCompleted();
+            log.info("✅ Job {} concluído", job.getId());
+        } catch (Exception e) {
+            job.markAsFailed(e.getMessage());
+            log.error("❌ Job {} falhou: {}", job.getId(), e.getMessage());
+        } finally {
+            activeJobsByNewsletter.remove(job.getNewsletterId(), job);
+        }
+    }
+    
+    // Jobs encerrados ficam consultáveis pelo prazo de retenção; a limpeza
+    // acontece a cada novo job, que é o único jeito de o mapa crescer
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    }
+    
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger(0);
+        return runnable -> new Thread(runnable, "newsletter-send-" + counter.incrementAndGet());
+    }
+}
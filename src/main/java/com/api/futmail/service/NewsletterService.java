@@ -1,24 +1,38 @@
 package com.api.futmail.service;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.api.futmail.dto.CursorPage;
 import com.api.futmail.dto.NewsResponse;
 import com.api.futmail.dto.NewsletterResponse;
-import com.api.futmail.dto.SubscriberResponse;
+import com.api.futmail.dto.PageCursor;
+import com.api.futmail.model.DeliveryState;
 import com.api.futmail.model.EmailSendResult;
 import com.api.futmail.model.Newsletter;
 import com.api.futmail.model.NewsletterStatus;
 import com.api.futmail.repository.NewsletterRepository;
+import com.api.futmail.service.email.DeliveryLedger;
+import com.api.futmail.service.email.DeliveryLedgerSession;
+import com.api.futmail.service.email.EmailMessage;
+import com.api.futmail.service.email.SendProgressListener;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -29,11 +43,25 @@ public class NewsletterService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM");
     private static final int DEFAULT_NEWS_LIMIT = 5;
     private static final int FALLBACK_DAYS = 2;
+    private static final int AUDIENCE_CHUNK_SIZE = 1000;
     
     private final NewsletterRepository newsletterRepository;
     private final NewsService newsService;
     private final SubscriberService subscriberService;
     private final EmailService emailService;
+    private final DeliveryLedger deliveryLedger;
+    private final TransactionTemplate transactionTemplate;
+    
+    // Thread própria: a renovação não pode esperar atrás de tarefas do agendador compartilhado
+    private final ScheduledExecutorService leaseRenewals = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "newsletter-lease-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Prazo da reserva de envio; renovado a cada terço desde a reserva até o fim da entrega
+    @Value("${app.newsletter.send-lease-ms:120000}")
+    private long sendLeaseMillis;
     
     public NewsletterResponse createDailyNewsletter() {
         log.info("📰 Criando newsletter diária");
@@ -48,38 +76,96 @@ public class NewsletterService {
         return NewsletterResponse.fromEntity(savedNewsletter);
     }
     
+    // Sem transação externa: a entrega pode durar minutos e não deve prender
+    // uma conexão do pool; cada transição de estado usa uma transação curta
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public NewsletterResponse sendNewsletter(Long newsletterId) {
+        SendClaim claim = transactionTemplate.execute(status -> claimSending(newsletterId))
+                .orElseThrow(() -> new IllegalArgumentException("Newsletter já está em processo de envio"));
+        return deliverNewsletter(claim, SendProgressListener.NONE);
+    }
+    
+    /**
+     * Reserva o envio com um UPDATE condicional. Devolve vazio se outra
+     * instância ou job reservou antes; só o dono da reserva pode chamar
+     * {@link #deliverNewsletter}. O prazo passa a ser renovado já aqui, para
+     * que um job ainda na fila não perca a reserva.
+     */
+    public Optional<SendClaim> claimSending(Long newsletterId) {
         Newsletter newsletter = findNewsletterById(newsletterId);
         
         validateNewsletterCanBeSent(newsletter);
         
-        log.info("📤 Iniciando envio da newsletter ID: {}", newsletterId);
-        
-        List<SubscriberResponse> activeSubscribers = subscriberService.getActiveSubscribers();
-        List<String> emails = extractEmailsFromSubscribers(activeSubscribers);
-        
-        newsletter.markAsStartedSending();
-        newsletter.setTotalSubscribers(emails.size());
-        newsletterRepository.save(newsletter);
-        
-        EmailSendResult sendResult = emailService.sendBulkEmails(
-            emails, 
-            newsletter.getSubject(), 
-            newsletter.getHtmlContent()
-        );
-        
-        newsletter.markAsSent(emails.size(), sendResult.getSent(), sendResult.getFailed());
-        Newsletter updatedNewsletter = newsletterRepository.save(newsletter);
+        SendClaim claim = new SendClaim(newsletterId);
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = newsletterRepository.claimSending(newsletterId, claim.getToken(), now,
+                now.plus(sendLease()), (int) subscriberService.countActiveSubscribers());
+        if (claimed == 0) {
+            log.info("⏳ Envio da newsletter ID: {} já reservado por outro job", newsletterId);
+            return Optional.empty();
+        }
         
-        log.info("✅ Newsletter enviada: {}", sendResult.getSummary());
+        long renewalMillis = sendLeaseMillis / 3;
+        claim.startRenewal(leaseRenewals.scheduleAtFixedRate(
+                () -> renewSendLease(claim), renewalMillis, renewalMillis, TimeUnit.MILLISECONDS));
         
-        return NewsletterResponse.fromEntity(updatedNewsletter);
+        logSendStart(newsletter);
+        return Optional.of(claim);
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public NewsletterResponse deliverNewsletter(SendClaim claim, SendProgressListener progressListener) {
+        Long newsletterId = claim.getNewsletterId();
+        try {
+            Newsletter newsletter = findNewsletterById(newsletterId);
+            
+            if (!newsletter.isInterruptedSend()) {
+                throw new IllegalArgumentException("Newsletter não está em processo de envio");
+            }
+            
+            EmailSendResult sendResult;
+            try (DeliveryLedgerSession ledgerSession = new DeliveryLedgerSession(deliveryLedger, newsletterId)) {
+                sendResult = emailService.sendToAudience(
+                    subscriberService.openPendingAudience(newsletterId, 
+                            newsletter.getResumeAfterSubscriberId(), AUDIENCE_CHUNK_SIZE), 
+                    newsletter.getSubject(), 
+                    newsletter.getHtmlContent(),
+                    ledgerSession.andThen(progressListener),
+                    claim::isLost
+                );
+            }
+            if (claim.isLost()) {
+                throw new IllegalStateException("Reserva de envio perdida para outro job");
+            }
+            
+            NewsletterResponse response = transactionTemplate.execute(status -> completeSending(claim));
+            
+            log.info("✅ Newsletter enviada: {}", sendResult.getSummary());
+            
+            return response;
+        } finally {
+            claim.release();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        leaseRenewals.shutdownNow();
     }
     
-    public Page<NewsletterResponse> getAllNewsletters(int page, int size) {
-        PageRequest pageable = PageRequest.of(page, size);
-        return newsletterRepository.findAllOrderByCreatedAtDesc(pageable)
-                .map(NewsletterResponse::fromEntity);
+    // Envios em SENDING cujo prazo venceu: a instância que os fazia parou
+    @Transactional(readOnly = true)
+    public List<Long> findInterruptedNewsletterIds() {
+        return newsletterRepository.findAbandonedSendIds(LocalDateTime.now());
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<NewsletterResponse> getNewslettersPage(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<Newsletter> rows = newsletterRepository.findCreatedBefore(after.getTimestamp(), after.getId(),
+                PageRequest.of(0, size + 1));
+        return CursorPage.of(rows, size, newsletter -> PageCursor.of(newsletter.getCreatedAt(), newsletter.getId()),
+                NewsletterResponse::fromEntity);
     }
     
     private List<NewsResponse> getNewsForNewsletter() {
@@ -107,17 +193,51 @@ public class NewsletterService {
                 .orElseThrow(() -> new IllegalArgumentException("Newsletter não encontrada"));
     }
     
-    private void validateNewsletterCanBeSent(Newsletter newsletter) {
-        if (!newsletter.canBeSent()) {
-            throw new IllegalArgumentException("Newsletter já foi enviada ou está em processo de envio");
+    private void logSendStart(Newsletter newsletter) {
+        if (newsletter.isInterruptedSend()) {
+            log.info("🔁 Retomando envio da newsletter ID: {} após o assinante {}", 
+                    newsletter.getId(), newsletter.getResumeAfterSubscriberId());
+        } else {
+            log.info("📤 Iniciando envio da newsletter ID: {}", newsletter.getId());
         }
     }
     
-    private List<String> extractEmailsFromSubscribers(List<SubscriberResponse> subscribers) {
-        return subscribers.stream()
-                .filter(SubscriberResponse::canReceiveEmails)
-                .map(SubscriberResponse::getEmail)
-                .toList();
+    private NewsletterResponse completeSending(SendClaim claim) {
+        Long newsletterId = claim.getNewsletterId();
+        int sent = (int) deliveryLedger.countByState(newsletterId, DeliveryState.SENT);
+        int failed = (int) deliveryLedger.countByState(newsletterId, DeliveryState.FAILED);
+        
+        int completed = newsletterRepository.completeSending(newsletterId, claim.getToken(),
+                Newsletter.finalStatus(sent, failed), LocalDateTime.now(), sent + failed, sent, failed);
+        if (completed == 0) {
+            throw new IllegalStateException("Reserva de envio perdida para outro job");
+        }
+        
+        return NewsletterResponse.fromEntity(findNewsletterById(newsletterId));
+    }
+    
+    private void renewSendLease(SendClaim claim) {
+        Long newsletterId = claim.getNewsletterId();
+        try {
+            Integer renewed = transactionTemplate.execute(status -> newsletterRepository.renewSendLease(
+                    newsletterId, claim.getToken(), LocalDateTime.now().plus(sendLease())));
+            if (renewed != null && renewed == 0) {
+                log.warn("⚠️ Reserva de envio da newsletter ID: {} perdida; interrompendo envio", newsletterId);
+                claim.markAsLost();
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Erro ao renovar reserva de envio da newsletter ID: {}: {}", newsletterId, e.getMessage());
+        }
+    }
+    
+    private Duration sendLease() {
+        return Duration.ofMillis(sendLeaseMillis);
+    }
+    
+    private void validateNewsletterCanBeSent(Newsletter newsletter) {
+        if (!newsletter.canBeSentOrResumed()) {
+            throw new IllegalArgumentException("Newsletter já foi enviada ou está em processo de envio");
+        }
     }
     
     private String generateSubject() {
@@ -214,10 +334,10 @@ public class NewsletterService {
                 </div>
                 <div class="footer">
                     <p>Obrigado por assinar o Futmail! ⚽</p>
-                    <p><a href="#">Descadastrar</a></p>
+                    <p><a href="%s">Descadastrar</a></p>
                 </div>
             </body>
             </html>
-            """;
+            """.formatted(EmailMessage.UNSUBSCRIBE_PLACEHOLDER);
     }
 }
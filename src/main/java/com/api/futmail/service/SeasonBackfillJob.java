@@ -0,0 +1,96 @@
+package com.api.futmail.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.api.futmail.model.SendJobStatus;
+
+/**
+ * Execução do backfill histórico. Mantida em memória: o progresso durável
+ * fica nos checkpoints por competição/temporada.
+ */
+@Getter
+public class SeasonBackfillJob {
+    
+    private final String id;
+    private final List<String> competitions;
+    private final int fromSeason;
+    private final int toSeason;
+    private final LocalDateTime submittedAt;
+    
+    private volatile SendJobStatus status;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    
+    private final AtomicInteger seasonsImported = new AtomicInteger(0);
+    private final AtomicInteger seasonsSkipped = new AtomicInteger(0);
+    private final AtomicInteger seasonsFailed = new AtomicInteger(0);
+    private final AtomicInteger matchesImported = new AtomicInteger(0);
+    
+    public SeasonBackfillJob(List<String> competitions, int fromSeason, int toSeason) {
+        this.id = UUID.randomUUID().toString();
+        this.competitions = List.copyOf(competitions);
+        this.fromSeason = fromSeason;
+        this.toSeason = toSeason;
+        this.submittedAt = LocalDateTime.now();
+        this.status = SendJobStatus.QUEUED;
+    }
+    
+    public void seasonImported(int matches) {
+        seasonsImported.incrementAndGet();
+        matchesImported.addAndGet(matches);
+    }
+    
+    public void seasonSkipped() {
+        seasonsSkipped.incrementAndGet();
+    }
+    
+    public void seasonFailed() {
+        seasonsFailed.incrementAndGet();
+    }
+    
+    public void markAsRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = SendJobStatus.RUNNING;
+    }
+    
+    public void markAsCompleted() {
+        this.finishedAt = LocalDateTime.now();
+        this.status = SendJobStatus.COMPLETED;
+    }
+    
+    public void markAsFailed(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = SendJobStatus.FAILED;
+    }
+    
+    public boolean isActive() {
+        return status.isActive();
+    }
+    
+    public boolean finishedBefore(LocalDateTime cutoff) {
+        return finishedAt != null && finishedAt.isBefore(cutoff);
+    }
+    
+    public int getSeasonsImportedCount() {
+        return seasonsImported.get();
+    }
+    
+    public int getSeasonsSkippedCount() {
+        return seasonsSkipped.get();
+    }
+    
+    public int getSeasonsFailedCount() {
+        return seasonsFailed.get();
+    }
+    
+    public int getMatchesImportedCount() {
+        return matchesImported.get();
+    }
+}
@@ -0,0 +1,325 @@
+package com.api.futmail.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.futmail.config.AppConstants;
+import com.api.futmail.model.ArchivedMatch;
+import com.api.futmail.model.BackfillCheckpoint;
+import com.api.futmail.model.BackfillState;
+import com.api.futmail.model.MatchResult;
+import com.api.futmail.repository.ArchivedMatchRepository;
+import com.api.futmail.repository.BackfillCheckpointRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Importa temporadas completas das principais competições para o arquivo
+ * de jogos. As temporadas são buscadas em paralelo, com a menor prioridade
+ * na fila da API (o orçamento por minuto continua valendo), e cada uma é
+ * gravada em lotes numa transação própria junto com o seu checkpoint; uma
+ * execução interrompida retoma das temporadas ainda não concluídas.
+ */
+@Slf4j
+@Service
+public class SeasonBackfillService {
+    
+    public static final List<String> SUPPORTED_COMPETITIONS = List.of(
+            AppConstants.BRASILEIRAO_CODE, AppConstants.PREMIER_LEAGUE_CODE, AppConstants.LA_LIGA_CODE,
+            AppConstants.CHAMPIONS_LEAGUE_CODE, AppConstants.SERIE_A_CODE, AppConstants.BUNDESLIGA_CODE);
+    
+    private static final int FIRST_SUPPORTED_SEASON = 1990;
+    
+    private final FootballDataService footballDataService;
+    private final ArchivedMatchRepository archivedMatchRepository;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final boolean resumeOnStartup;
+    private final Duration jobRetention;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+    private final Map<String, SeasonBackfillJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicReference<SeasonBackfillJob> activeJob = new AtomicReference<>();
+    
+    public SeasonBackfillService(FootballDataService footballDataService,
+                                 ArchivedMatchRepository archivedMatchRepository,
+                                 BackfillCheckpointRepository checkpointRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 EntityManager entityManager,
+                                 @Value("${football.backfill.workers:4}") int workerCount,
+                                 @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize,
+                                 @Value("${football.backfill.resume-on-startup:true}") boolean resumeOnStartup,
+                                 @Value("${football.backfill.job-retention:PT24H}") Duration jobRetention) {
+        this.footballDataService = footballDataService;
+        this.archivedMatchRepository = archivedMatchRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+        this.resumeOnStartup = resumeOnStartup;
+        this.jobRetention = jobRetention;
+        this.coordinator = Executors.newSingleThreadExecutor(threadFactory("season-backfill"));
+        this.workers = Executors.newFixedThreadPool(workerCount, threadFactory("season-backfill-worker"));
+    }
+    
+    /**
+     * Enfileira a importação das temporadas {@code fromSeason..toSeason} (ano
+     * de início) das competições informadas. Só um backfill roda por vez:
+     * havendo um ativo, ele é devolvido.
+     */
+    public SeasonBackfillJob start(List<String> competitions, int fromSeason, int toSeason) {
+        validate(competitions, fromSeason, toSeason);
+        
+        SeasonBackfillJob job = new SeasonBackfillJob(competitions, fromSeason, toSeason);
+        SeasonBackfillJob running = activeJob.compareAndExchange(null, job);
+        if (running != null) {
+            log.info("⏳ Backfill já em andamento: {}", running.getId());
+            return running;
+        }
+        
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        coordinator.execute(() -> run(job, seasonsOf(competitions, fromSeason, toSeason)));
+        log.info("📥 Backfill {} enfileirado: {} de {} a {}", job.getId(), competitions, fromSeason, toSeason);
+        return job;
+    }
+    
+    public Optional<SeasonBackfillJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+    
+    // Temporadas deixadas pendentes por uma execução interrompida (queda ou deploy)
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedBackfill() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        List<BackfillCheckpoint> interrupted = checkpointRepository.findByStateIn(
+                EnumSet.of(BackfillState.PENDING, BackfillState.RUNNING));
+        if (interrupted.isEmpty()) {
+            return;
+        }
+        
+        Map<String, List<Integer>> seasons = new TreeMap<>();
+        interrupted.forEach(checkpoint -> seasons
+                .computeIfAbsent(checkpoint.getCompetitionCode(), code -> new ArrayList<>())
+                .add(checkpoint.getSeason()));
+        log.info("🔁 Retomando backfill interrompido: {} temporadas", interrupted.size());
+        
+        SeasonBackfillJob job = new SeasonBackfillJob(List.copyOf(seasons.keySet()),
+                interrupted.stream().mapToInt(BackfillCheckpoint::getSeason).min().orElseThrow(),
+                interrupted.stream().mapToInt(BackfillCheckpoint::getSeason).max().orElseThrow());
+        if (activeJob.compareAndSet(null, job)) {
+            evictFinishedJobs();
+            jobs.put(job.getId(), job);
+            List<SeasonKey> keys = new ArrayList<>();
+            seasons.forEach((code, years) -> years.forEach(year -> keys.add(new SeasonKey(code, year))));
+            coordinator.execute(() -> run(job, keys));
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+    
+    // Backfills encerrados há mais que a retenção saem do mapa; como só
+    // start e a retomada acrescentam jobs, limpar ali basta
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    }
+    
+    private void run(SeasonBackfillJob job, List<SeasonKey> seasons) {
+        job.markAsRunning();
+        try {
+            List<SeasonKey> pending = registerCheckpoints(seasons, job);
+            log.info("🗄️ Backfill {}: {} temporadas a importar, {} já concluídas",
+                    job.getId(), pending.size(), job.getSeasonsSkippedCount());
+            
+            CompletableFuture.allOf(pending.stream()
+                            .map(season -> CompletableFuture.runAsync(() -> importSeason(season, job), workers))
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+            
+            if (job.getSeasonsFailedCount() > 0) {
+                job.markAsFailed(job.getSeasonsFailedCount() + " temporadas falharam; execute novamente para retomar");
+                log.warn("⚠️ Backfill {} terminou com {} temporadas com falha", job.getId(), job.getSeasonsFailedCount());
+            } else {
+                job.markAsCompleted();
+                log.info("✅ Backfill {} concluído: {} jogos em {} temporadas",
+                        job.getId(), job.getMatchesImportedCount(), job.getSeasonsImportedCount());
+            }
+        } catch (Exception e) {
+            job.markAsFailed(e.getMessage());
+            log.error("❌ Backfill {} falhou: {}", job.getId(), e.getMessage());
+        } finally {
+            activeJob.compareAndSet(job, null);
+        }
+    }
+    
+    // Garante um checkpoint por temporada e devolve as que ainda precisam ser importadas
+    private List<SeasonKey> registerCheckpoints(List<SeasonKey> seasons, SeasonBackfillJob job) {
+        return transactionTemplate.execute(status -> {
+            List<SeasonKey> pending = new ArrayList<>();
+            List<BackfillCheckpoint> created = new ArrayList<>();
+            for (SeasonKey season : seasons) {
+                Optional<BackfillCheckpoint> checkpoint = checkpointRepository
+                        .findByCompetitionCodeAndSeason(season.competitionCode, season.season);
+                if (checkpoint.isPresent() && !checkpoint.get().getState().needsImport()) {
+                    job.seasonSkipped();
+                    continue;
+                }
+                if (checkpoint.isEmpty()) {
+                    created.add(BackfillCheckpoint.pending(season.competitionCode, season.season));
+                }
+                pending.add(season);
+            }
+            checkpointRepository.saveAll(created);
+            return pending;
+        });
+    }
+    
+    private void importSeason(SeasonKey season, SeasonBackfillJob job) {
+        updateCheckpoint(season, BackfillCheckpoint::markRunning);
+        try {
+            List<MatchResult> matches = footballDataService.getSeasonMatches(season.competitionCode, season.season);
+            if (matches == null) {
+                throw new IllegalStateException("Temporada não disponível na API");
+            }
+            int imported = transactionTemplate.execute(status -> saveSeason(season, matches));
+            job.seasonImported(imported);
+            log.info("📦 {} {}: {} jogos importados", season.competitionCode, season.season, imported);
+        } catch (Exception e) {
+            job.seasonFailed();
+            log.warn("⚠️ Falha ao importar {} {}: {}", season.competitionCode, season.season, e.getMessage());
+            updateCheckpoint(season, checkpoint -> checkpoint.markFailed(e.getMessage()));
+        }
+    }
+    
+    // Apaga o que uma tentativa anterior possa ter gravado e insere em lotes do tamanho
+    // do batch JDBC, limpando o contexto de persistência a cada lote
+    private int saveSeason(SeasonKey season, List<MatchResult> matches) {
+        archivedMatchRepository.deleteSeason(season.competitionCode, season.season);
+        
+        List<ArchivedMatch> batch = new ArrayList<>(batchSize);
+        int imported = 0;
+        for (MatchResult match : matches) {
+            if (match.getId() == null) {
+                continue;
+            }
+            batch.add(ArchivedMatch.of(match, season.competitionCode, season.season));
+            if (batch.size() == batchSize) {
+                imported += flush(batch);
+            }
+        }
+        imported += flush(batch);
+        
+        BackfillCheckpoint checkpoint = findCheckpoint(season);
+        checkpoint.markCompleted(imported);
+        checkpointRepository.save(checkpoint);
+        return imported;
+    }
+    
+    private int flush(List<ArchivedMatch> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int size = batch.size();
+        archivedMatchRepository.saveAll(batch);
+        entityManager.flush();
+        entityManager.clear();
+        batch.clear();
+        return size;
+    }
+    
+    private void updateCheckpoint(SeasonKey season, Consumer<BackfillCheckpoint> update) {
+        transactionTemplate.executeWithoutResult(status -> {
+            BackfillCheckpoint checkpoint = findCheckpoint(season);
+            update.accept(checkpoint);
+            checkpointRepository.save(checkpoint);
+        });
+    }
+    
+    private BackfillCheckpoint findCheckpoint(SeasonKey season) {
+        return checkpointRepository.findByCompetitionCodeAndSeason(season.competitionCode, season.season)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Checkpoint não encontrado: " + season.competitionCode + " " + season.season));
+    }
+    
+    private static void validate(List<String> competitions, int fromSeason, int toSeason) {
+        if (competitions == null || competitions.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos uma competição");
+        }
+        List<String> unsupported = competitions.stream()
+                .filter(code -> !SUPPORTED_COMPETITIONS.contains(code))
+                .toList();
+        if (!unsupported.isEmpty()) {
+            throw new IllegalArgumentException("Competições não suportadas: " + unsupported);
+        }
+        if (fromSeason > toSeason) {
+            throw new IllegalArgumentException("Temporada inicial deve ser anterior à final");
+        }
+        if (fromSeason < FIRST_SUPPORTED_SEASON || toSeason > Year.now().getValue()) {
+            throw new IllegalArgumentException("Temporadas devem estar entre " + FIRST_SUPPORTED_SEASON
+                    + " e " + Year.now().getValue());
+        }
+    }
+    
+    // Temporadas mais recentes primeiro: são as mais consultadas no arquivo
+    private static List<SeasonKey> seasonsOf(List<String> competitions, int fromSeason, int toSeason) {
+        List<String> codes = competitions.stream().distinct().toList();
+        List<SeasonKey> seasons = new ArrayList<>();
+        for (int season = toSeason; season >= fromSeason; season--) {
+            for (String code : codes) {
+                seasons.add(new SeasonKey(code, season));
+            }
+        }
+        return seasons;
+    }
+    
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger(0);
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static final class SeasonKey {
+        
+        private final String competitionCode;
+        private final int season;
+        
+        private SeasonKey(String competitionCode, int season) {
+            this.competitionCode = competitionCode;
+            this.season = season;
+        }
+    }
+}
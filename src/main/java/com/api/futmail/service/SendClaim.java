@@ -0,0 +1,44 @@
+package com.api.futmail.service;
+
+import lombok.Getter;
+
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Reserva de envio de uma newsletter. O token identifica o dono da reserva:
+ * renovação e conclusão só valem para a linha que ainda tem este token.
+ * Quando uma renovação não encontra a linha, a reserva foi perdida e o
+ * envio deve parar.
+ */
+@Getter
+public class SendClaim {
+    
+    private final Long newsletterId;
+    private final String token;
+    
+    private volatile boolean lost;
+    private volatile ScheduledFuture<?> renewal;
+    
+    SendClaim(Long newsletterId) {
+        this.newsletterId = newsletterId;
+        this.token = UUID.randomUUID().toString();
+    }
+    
+    void startRenewal(ScheduledFuture<?> renewal) {
+        this.renewal = renewal;
+    }
+    
+    void markAsLost() {
+        this.lost = true;
+        release();
+    }
+    
+    // Para a renovação; o prazo vence sozinho se o envio não foi concluído
+    void release() {
+        ScheduledFuture<?> current = renewal;
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+}
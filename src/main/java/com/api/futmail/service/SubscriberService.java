@@ -2,6 +2,7 @@ package com.api.futmail.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +11,7 @@ import com.api.futmail.dto.SubscriberResponse;
 import com.api.futmail.model.Subscriber;
 import com.api.futmail.model.SubscriptionStatus;
 import com.api.futmail.repository.SubscriberRepository;
+import com.api.futmail.service.email.AudienceCursor;
 
 import java.util.List;
 import java.util.Optional;
@@ -44,6 +46,14 @@ public class SubscriberService {
                 .toList();
     }
     
+    public AudienceCursor openPendingAudience(Long newsletterId, long afterSubscriberId, int chunkSize) {
+        PageRequest firstPage = PageRequest.of(0, chunkSize);
+        return new AudienceCursor(
+                afterId -> subscriberRepository.findPendingRecipientsAfter(
+                        SubscriptionStatus.ACTIVE, newsletterId, afterId, firstPage),
+                chunkSize, afterSubscriberId);
+    }
+    
     public List<SubscriberResponse> getAllSubscribers() {
         return subscriberRepository.findAll()
                 .stream()
@@ -68,6 +78,24 @@ public class SubscriberService {
         return SubscriberResponse.fromEntity(updatedSubscriber);
     }
     
+    public SubscriberResponse findById(Long id) {
+        return subscriberRepository.findById(id)
+                .map(SubscriberResponse::fromEntity)
+                .orElseThrow(() -> new IllegalArgumentException("Assinante não encontrado"));
+    }
+    
+    public SubscriberResponse unsubscribeById(Long id) {
+        Subscriber subscriber = subscriberRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Assinante não encontrado"));
+        
+        subscriber.unsubscribe();
+        Subscriber updatedSubscriber = subscriberRepository.save(subscriber);
+        
+        log.info("📧 Assinante descadastrado pelo link: {}", updatedSubscriber.getEmail());
+        
+        return SubscriberResponse.fromEntity(updatedSubscriber);
+    }
+    
     public SubscriberResponse reactivateSubscriber(String email) {
         Subscriber subscriber = subscriberRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("Email não encontrado"));
@@ -81,7 +109,7 @@ public class SubscriberService {
     }
     
     public long countActiveSubscribers() {
-        return subscriberRepository.findByStatus(SubscriptionStatus.ACTIVE).size();
+        return subscriberRepository.countByStatus(SubscriptionStatus.ACTIVE);
     }
     
     public long countTotalSubscribers() {
@@ -0,0 +1,89 @@
+package com.api.futmail.service.cache;
+
+import com.api.futmail.model.MatchResult;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Validade de uma lista de jogos conforme o status das partidas:
+ * com jogo ao vivo, segundos; janela já encerrada só com jogos finalizados,
+ * a retenção do {@link MatchStore}; nos demais casos, horas, limitadas ao
+ * próximo início de jogo.
+ * <p>
+ * Nenhuma lista vale mais que a retenção do {@link MatchStore}: a mescla no
+ * repositório só acontece quando a janela é buscada de novo, e uma entrada
+ * que sobrevivesse aos jogos descartados deixaria a consulta vazia.
+ */
+public class MatchCacheExpiry implements Expiry<Object, Object> {
+    
+    private final long liveTtlNanos;
+    private final long scheduledTtlNanos;
+    private final long maxTtlNanos;
+    private final Clock clock;
+    
+    public MatchCacheExpiry(Duration liveTtl, Duration scheduledTtl, Duration storeRetention, Clock clock) {
+        this.liveTtlNanos = liveTtl.toNanos();
+        this.scheduledTtlNanos = scheduledTtl.toNanos();
+        this.maxTtlNanos = storeRetention.toNanos();
+        this.clock = clock;
+    }
+    
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return ttlNanos(key, value);
+    }
+    
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return ttlNanos(key, value);
+    }
+    
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+    
+    long ttlNanos(Object key, Object value) {
+        return Math.min(uncappedTtlNanos(key, value), maxTtlNanos);
+    }
+    
+    private long uncappedTtlNanos(Object key, Object value) {
+        if (!(key instanceof MatchWindow window) || !(value instanceof List<?> matches)) {
+            return scheduledTtlNanos;
+        }
+        
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate today = now.toLocalDate();
+        boolean allFinished = true;
+        long ttl = scheduledTtlNanos;
+        
+        for (Object item : matches) {
+            MatchResult match = (MatchResult) item;
+            if (match.isLive()) {
+                return liveTtlNanos;
+            }
+            if (match.isFinished() || match.getMatchDate() == null) {
+                continue;
+            }
+            allFinished = false;
+            if (!match.getMatchDate().isAfter(now)) {
+                // Já passou do horário e ainda não começou: deve virar ao vivo a qualquer momento
+                if (!window.endsBefore(today)) {
+                    return liveTtlNanos;
+                }
+            } else {
+                ttl = Math.min(ttl, Duration.between(now, match.getMatchDate()).toNanos());
+            }
+        }
+        
+        if (allFinished && window.endsBefore(today)) {
+            return Long.MAX_VALUE;
+        }
+        return ttl;
+    }
+}
@@ -0,0 +1,107 @@
+package com.api.futmail.service.cache;
+
+import com.api.futmail.model.MatchResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Repositório em memória dos jogos, chaveado pelo id da football-data.org.
+ * Todas as buscas na API são mescladas aqui e as visões por janela ou
+ * competição viram consultas locais, sem duplicar partidas entre consultas
+ * que se sobrepõem.
+ */
+@Slf4j
+@Component
+public class MatchStore {
+
+    public static final Comparator<MatchResult> BY_DATE = Comparator.comparing(MatchResult::getMatchDate);
+
+    private final Map<Long, StoredMatch> matches = new ConcurrentHashMap<>();
+    private final Duration retention;
+    private final Clock clock;
+
+    @Autowired
+    public MatchStore(@Value("${football.store.retention-hours:48}") long retentionHours) {
+        this(Duration.ofHours(retentionHours), Clock.systemUTC());
+    }
+
+    public MatchStore(Duration retention, Clock clock) {
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /**
+     * Mescla o resultado de uma busca; a versão mais nova de cada partida
+     * substitui a anterior. Jogos sem id não têm como ser deduplicados e são ignorados.
+     */
+    public void mergeAll(Collection<MatchResult> fetched) {
+        Instant now = clock.instant();
+        for (MatchResult match : fetched) {
+            if (match.getId() != null) {
+                matches.put(match.getId(), new StoredMatch(match, now));
+            }
+        }
+        evictStale(now);
+    }
+
+    public List<MatchResult> query(Predicate<MatchResult> filter, Comparator<MatchResult> order, int limit) {
+        return matches.values().stream()
+                .map(stored -> stored.match)
+                .filter(filter)
+                .sorted(order)
+                .limit(limit)
+                .toList();
+    }
+
+    public int size() {
+        return matches.size();
+    }
+
+    public static Predicate<MatchResult> between(LocalDate from, LocalDate to) {
+        return match -> {
+            LocalDate date = match.getMatchDate().toLocalDate();
+            return !date.isBefore(from) && !date.isAfter(to);
+        };
+    }
+
+    public static Predicate<MatchResult> inCompetition(String competitionCode) {
+        return match -> competitionCode.equals(match.getCompetitionCode());
+    }
+
+    // Jogos que nenhuma busca recente trouxe de volta saem da memória
+    private void evictStale(Instant now) {
+        Instant limit = now.minus(retention);
+        int before = matches.size();
+        matches.values().removeIf(stored -> stored.fetchedAt.isBefore(limit));
+        int evicted = before - matches.size();
+        if (evicted > 0) {
+            log.debug("🧹 {} jogos removidos do repositório em memória", evicted);
+        }
+    }
+
+    private static final class StoredMatch {
+
+        private final MatchResult match;
+        private final Instant fetchedAt;
+
+        private StoredMatch(MatchResult match, Instant fetchedAt) {
+            this.match = match;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
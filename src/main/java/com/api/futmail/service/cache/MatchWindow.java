@@ -0,0 +1,22 @@
+package com.api.futmail.service.cache;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Chave do cache de jogos: competição (ou {@code null} para todas),
+ * intervalo de datas consultado e filtro de status da API.
+ */
+@Value(staticConstructor = "of")
+public class MatchWindow {
+    
+    String competition;
+    LocalDate from;
+    LocalDate to;
+    String status;
+    
+    public boolean endsBefore(LocalDate date) {
+        return to.isBefore(date);
+    }
+}
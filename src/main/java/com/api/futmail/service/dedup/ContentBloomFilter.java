@@ -0,0 +1,107 @@
+package com.api.futmail.service.dedup;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom sobre impressões digitais de conteúdo. Como a impressão
+ * já é um hash forte de 128 bits, as posições saem das suas duas metades
+ * por hashing duplo, sem recalcular nada. Seguro para uso concorrente.
+ */
+final class ContentBloomFilter {
+    
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final AtomicLong insertions = new AtomicLong();
+    
+    ContentBloomFilter(long expectedItems, double falsePositiveRate) {
+        if (expectedItems <= 0) {
+            throw new IllegalArgumentException("Quantidade esperada de itens deve ser positiva");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Taxa de falso positivo deve estar entre 0 e 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedItems * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = Math.toIntExact((optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedItems * Math.log(2)));
+    }
+    
+    void add(String fingerprint) {
+        long first = firstHalf(fingerprint);
+        long second = secondHalf(fingerprint);
+        boolean changed = false;
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(first + i * second, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0) {
+                if (bits.compareAndSet(word, current, current | mask)) {
+                    changed = true;
+                    break;
+                }
+                current = bits.get(word);
+            }
+        }
+        if (changed) {
+            insertions.incrementAndGet();
+        }
+    }
+    
+    /** {@code false} garante que a impressão nunca foi adicionada. */
+    boolean mightContain(String fingerprint) {
+        long first = firstHalf(fingerprint);
+        long second = secondHalf(fingerprint);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(first + i * second, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    long insertions() {
+        return insertions.get();
+    }
+    
+    long memoryBytes() {
+        return bitCount / 8;
+    }
+    
+    int hashFunctions() {
+        return hashFunctions;
+    }
+    
+    // Taxa de falso positivo esperada com a ocupação atual: (1 - e^(-kn/m))^k
+    double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashFunctions * (double) insertions.get() / bitCount), hashFunctions);
+    }
+    
+    // Impressões fora do formato (hashes antigos) caem no hash da string
+    private static long firstHalf(String fingerprint) {
+        return fingerprint.length() >= 16 && isHex(fingerprint, 0, 16)
+                ? Long.parseUnsignedLong(fingerprint, 0, 16, 16)
+                : fingerprint.hashCode() * 0x9E3779B97F4A7C15L;
+    }
+    
+    // Ímpar para que os k índices não se repitam
+    private static long secondHalf(String fingerprint) {
+        long half = fingerprint.length() >= 32 && isHex(fingerprint, 16, 32)
+                ? Long.parseUnsignedLong(fingerprint, 16, 32, 16)
+                : Long.rotateLeft(firstHalf(fingerprint), 32);
+        return half | 1;
+    }
+    
+    private static boolean isHex(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
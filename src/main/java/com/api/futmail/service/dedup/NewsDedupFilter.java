@@ -0,0 +1,95 @@
+package com.api.futmail.service.dedup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.api.futmail.repository.NewsRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Filtro na frente da checagem de duplicidade das notícias: conteúdo que
+ * o filtro de Bloom nunca viu é novo com certeza e dispensa a consulta ao
+ * banco. Até o aquecimento com os hashes da tabela terminar, tudo vai ao banco.
+ */
+@Slf4j
+@Component
+public class NewsDedupFilter {
+    
+    private final NewsRepository newsRepository;
+    private final ContentBloomFilter filter;
+    private final Counter definitelyNew;
+    private final Counter maybePresent;
+    private final Counter falsePositives;
+    private volatile boolean warmed;
+    
+    public NewsDedupFilter(NewsRepository newsRepository, MeterRegistry meterRegistry,
+                           @Value("${news.dedup.expected-items:100000}") long expectedItems,
+                           @Value("${news.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.newsRepository = newsRepository;
+        this.filter = new ContentBloomFilter(expectedItems, falsePositiveRate);
+        this.definitelyNew = Counter.builder("news.dedup.checks")
+                .description("Checagens de duplicidade resolvidas pelo filtro de Bloom ou enviadas ao banco")
+                .tag("result", "definitely_new")
+                .register(meterRegistry);
+        this.maybePresent = Counter.builder("news.dedup.checks")
+                .description("Checagens de duplicidade resolvidas pelo filtro de Bloom ou enviadas ao banco")
+                .tag("result", "maybe_present")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("news.dedup.false-positives")
+                .description("Conteúdos que o filtro apontou como vistos mas não estavam no banco")
+                .register(meterRegistry);
+        Gauge.builder("news.dedup.bloom.memory", filter, ContentBloomFilter::memoryBytes)
+                .description("Memória ocupada pelos bits do filtro de Bloom")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("news.dedup.bloom.items", filter, ContentBloomFilter::insertions)
+                .description("Impressões de conteúdo adicionadas ao filtro")
+                .register(meterRegistry);
+        Gauge.builder("news.dedup.bloom.expected-fpp", filter, ContentBloomFilter::expectedFalsePositiveRate)
+                .description("Taxa de falso positivo esperada com a ocupação atual")
+                .register(meterRegistry);
+        log.info("🧮 Filtro de notícias: {} KB, {} funções de hash", filter.memoryBytes() / 1024, filter.hashFunctions());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<String> hashes = newsRepository.findAllContentHashes();
+        hashes.forEach(filter::add);
+        warmed = true;
+        log.info("🧮 Filtro de notícias aquecido com {} hashes", hashes.size());
+    }
+    
+    /**
+     * {@code false} quando o conteúdo certamente não está no banco; {@code true}
+     * exige confirmar com a consulta (e chamar {@link #recordFalsePositive()}
+     * se ela não achar nada).
+     */
+    public boolean mightExist(String contentHash) {
+        if (warmed && !filter.mightContain(contentHash)) {
+            definitelyNew.increment();
+            return false;
+        }
+        maybePresent.increment();
+        return true;
+    }
+    
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+    
+    public void add(String contentHash) {
+        filter.add(contentHash);
+    }
+    
+    public void addAll(Collection<String> contentHashes) {
+        contentHashes.forEach(filter::add);
+    }
+}
@@ -0,0 +1,60 @@
+package com.api.futmail.service.email;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.LongFunction;
+
+import com.api.futmail.model.EmailRecipient;
+
+/**
+ * Percorre a audiência em blocos de tamanho fixo usando paginação por chave
+ * (id > último id lido), mantendo em memória apenas o bloco atual.
+ */
+public class AudienceCursor implements Iterator<List<EmailRecipient>> {
+    
+    private final LongFunction<List<EmailRecipient>> pageFetcher;
+    private final int chunkSize;
+    
+    private long lastSubscriberId;
+    private List<EmailRecipient> nextChunk;
+    private boolean exhausted;
+    
+    public AudienceCursor(LongFunction<List<EmailRecipient>> pageFetcher, int chunkSize, long startAfterId) {
+        this.pageFetcher = pageFetcher;
+        this.chunkSize = chunkSize;
+        this.lastSubscriberId = startAfterId;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (nextChunk == null && !exhausted) {
+            fetchNextChunk();
+        }
+        return nextChunk != null;
+    }
+    
+    @Override
+    public List<EmailRecipient> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Audiência esgotada");
+        }
+        List<EmailRecipient> chunk = nextChunk;
+        nextChunk = null;
+        return chunk;
+    }
+    
+    private void fetchNextChunk() {
+        List<EmailRecipient> chunk = pageFetcher.apply(lastSubscriberId);
+        
+        if (chunk.size() < chunkSize) {
+            exhausted = true;
+        }
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        lastSubscriberId = chunk.get(chunk.size() - 1).getSubscriberId();
+        nextChunk = chunk;
+    }
+}
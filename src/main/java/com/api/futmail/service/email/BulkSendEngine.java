@@ -0,0 +1,443 @@
+package com.api.futmail.service.email;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.api.futmail.model.EmailRecipient;
+import com.api.futmail.model.EmailSendResult;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Motor de envio em massa com pool dedicado e limite de concorrência.
+ * Cada tarefa entrega um lote de até {@link EmailTransport#maxBatchSize()}
+ * destinatários. O laço de submissão bloqueia quando todas as permissões
+ * estão em uso, garantindo back-pressure sem enfileirar milhões de tarefas
+ * na memória.
+ * <p>
+ * Os destinatários são separados em filas por domínio ({@link DomainThrottle})
+ * e atendidos em rodízio: um provedor que atingiu seu limite fica esperando
+ * tokens enquanto os demais domínios continuam saindo.
+ * <p>
+ * Falhas temporárias voltam para a fila por um timer em roda, com backoff
+ * exponencial, e são reenviadas entre os lotes da onda principal sem
+ * bloqueá-la. Falhas permanentes ou que esgotam as tentativas vão para o
+ * dead-letter via {@link SendProgressListener#onDeadLetter}.
+ * <p>
+ * As latências p50/p99 do resultado são por destinatário: do primeiro
+ * envio dele ao resultado final, incluindo os reenvios.
+ */
+@Slf4j
+@Component
+public class BulkSendEngine {
+    
+    private static final long RETRY_TICK_MILLIS = 10;
+    private static final int RETRY_WHEEL_SIZE = 512;
+    // Quantos destinatários podem ficar nas filas de domínio antes de parar de ler o público
+    private static final int MAX_QUEUED_RECIPIENTS = 50_000;
+    private static final long MAX_IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    
+    private final int maxConcurrency;
+    private final RetryPolicy retryPolicy;
+    private final DomainThrottle domainThrottle;
+    private final ExecutorService executor;
+    private final RetryTimerWheel<PendingDelivery> retryWheel;
+    
+    public BulkSendEngine(int maxConcurrency) {
+        this(maxConcurrency, RetryPolicy.defaults());
+    }
+    
+    public BulkSendEngine(int maxConcurrency, RetryPolicy retryPolicy) {
+        this(maxConcurrency, retryPolicy, DomainThrottle.unlimited());
+    }
+    
+    @Autowired
+    public BulkSendEngine(@Value("${app.email.bulk.max-concurrency:200}") int maxConcurrency,
+                          @Value("${app.email.retry.max-attempts:4}") int maxAttempts,
+                          @Value("${app.email.retry.initial-backoff-ms:500}") long initialBackoffMillis,
+                          @Value("${app.email.retry.max-backoff-ms:30000}") long maxBackoffMillis,
+                          @Value("${app.email.throttle.domains:}") String domainLimits) {
+        this(maxConcurrency, RetryPolicy.builder()
+                .maxAttempts(maxAttempts)
+                .initialBackoffMillis(initialBackoffMillis)
+                .maxBackoffMillis(maxBackoffMillis)
+                .build(), DomainThrottle.parse(domainLimits));
+    }
+    
+    public BulkSendEngine(int maxConcurrency, RetryPolicy retryPolicy, DomainThrottle domainThrottle) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("app.email.bulk.max-concurrency deve ser positivo");
+        }
+        if (retryPolicy.getMaxAttempts() <= 0) {
+            throw new IllegalArgumentException("app.email.retry.max-attempts deve ser positivo");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.retryPolicy = retryPolicy;
+        this.domainThrottle = domainThrottle;
+        this.executor = Executors.newFixedThreadPool(maxConcurrency, senderThreadFactory());
+        this.retryWheel = new RetryTimerWheel<>("email-retry-wheel", RETRY_TICK_MILLIS, RETRY_WHEEL_SIZE,
+                this::dispatchRetries);
+    }
+    
+    public EmailSendResult send(Iterator<List<EmailRecipient>> chunks, EmailTransport transport,
+                                EmailMessage message, SendProgressListener listener) {
+        return send(chunks, transport, message, listener, () -> false);
+    }
+    
+    /**
+     * Como {@link #send(Iterator, EmailTransport, EmailMessage, SendProgressListener)},
+     * mas para assim que {@code stopRequested} responder {@code true}: os lotes em
+     * andamento terminam e os destinatários ainda na fila ficam sem resultado.
+     */
+    public EmailSendResult send(Iterator<List<EmailRecipient>> chunks, EmailTransport transport,
+                                EmailMessage message, SendProgressListener listener, BooleanSupplier stopRequested) {
+        SendRun run = new SendRun(transport, message, listener);
+        
+        schedule(run, chunks, stopRequested);
+        if (run.retried.get() > 0) {
+            log.info("🔁 {} reenvios após falhas temporárias", run.retried.get());
+        }
+        
+        return run.toResult();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        retryWheel.close();
+        executor.shutdown();
+    }
+    
+    // Laço do agendador, na thread de quem chamou send: lê o público à frente
+    // enquanto houver espaço nas filas, despacha em rodízio entre domínios e
+    // dorme até um lote terminar, um reenvio vencer ou um domínio ganhar tokens
+    private void schedule(SendRun run, Iterator<List<EmailRecipient>> chunks, BooleanSupplier stopRequested) {
+        int chunkIndex = 0;
+        
+        while (true) {
+            if (stopRequested.getAsBoolean()) {
+                run.awaitInFlight();
+                log.warn("⏹️ Envio em massa interrompido com {} destinatários sem resultado",
+                        run.submitted.get() - run.finished.get());
+                return;
+            }
+            run.drainRetries();
+            while (run.queued < MAX_QUEUED_RECIPIENTS && chunks.hasNext()) {
+                List<EmailRecipient> chunk = chunks.next();
+                if (!chunk.isEmpty()) {
+                    run.enqueueChunk(chunkIndex++, chunk);
+                }
+            }
+            
+            long waitNanos = dispatchRound(run);
+            if (waitNanos == 0) {
+                continue;
+            }
+            if (!chunks.hasNext() && run.isDone()) {
+                return;
+            }
+            run.awaitSignal(waitNanos);
+        }
+    }
+    
+    /**
+     * Tenta despachar um lote de cada domínio com fila. Devolve 0 se algum
+     * lote saiu, ou quanto esperar até a próxima chance.
+     */
+    private long dispatchRound(SendRun run) {
+        long waitNanos = MAX_IDLE_WAIT_NANOS;
+        boolean dispatched = false;
+        int transportBatchSize = Math.max(run.transport.maxBatchSize(), 1);
+        
+        for (int i = run.activeGroups.size(); i > 0; i--) {
+            String group = run.activeGroups.pollFirst();
+            Deque<PendingDelivery> queue = run.queues.get(group);
+            DomainThrottle.Limiter limiter = domainThrottle.limiter(group);
+            int count = Math.min(queue.size(), limiter.batchSize(transportBatchSize));
+            
+            long blockedNanos = limiter.tryAcquire(count);
+            if (blockedNanos == 0) {
+                List<PendingDelivery> batch = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    batch.add(queue.pollFirst());
+                }
+                run.queued -= count;
+                dispatch(run, batch, limiter);
+                dispatched = true;
+            } else if (blockedNanos > 0) {
+                waitNanos = Math.min(waitNanos, blockedNanos);
+            }
+            
+            if (queue.isEmpty()) {
+                run.queues.remove(group);
+            } else {
+                run.activeGroups.addLast(group);
+            }
+        }
+        return dispatched ? 0 : waitNanos;
+    }
+    
+    private void dispatch(SendRun run, List<PendingDelivery> batch, DomainThrottle.Limiter limiter) {
+        run.permits.acquireUninterruptibly();
+        try {
+            executor.execute(() -> {
+                try {
+                    sendBatch(run, batch);
+                } finally {
+                    limiter.release();
+                    run.permits.release();
+                    run.signal();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            limiter.release();
+            run.permits.release();
+            rejectBatch(run, batch, e);
+        }
+    }
+    
+    // Roda na thread do timer: devolve os reenvios vencidos às filas de
+    // domínio do envio, sem bloquear o próximo tick
+    private void dispatchRetries(List<PendingDelivery> due) {
+        Set<SendRun> runs = new LinkedHashSet<>();
+        for (PendingDelivery delivery : due) {
+            SendRun run = delivery.chunk.run;
+            run.retryInbox.add(delivery);
+            runs.add(run);
+        }
+        runs.forEach(SendRun::signal);
+    }
+    
+    private void sendBatch(SendRun run, List<PendingDelivery> batch) {
+        List<EmailRecipient> recipients = new ArrayList<>(batch.size());
+        List<Integer> previousAttempts = new ArrayList<>(batch.size());
+        for (PendingDelivery delivery : batch) {
+            recipients.add(delivery.recipient);
+            previousAttempts.add(delivery.attempts);
+        }
+        
+        long startedAt = System.nanoTime();
+        for (PendingDelivery delivery : batch) {
+            if (delivery.attempts == 0) {
+                delivery.firstSentAt = startedAt;
+            }
+        }
+        List<DeliveryResult> results;
+        try {
+            results = run.transport.send(run.message, recipients, previousAttempts);
+        } catch (Exception e) {
+            log.error("❌ Erro no envio de lote com {} destinatários: {}", batch.size(), e.getMessage());
+            results = recipients.stream()
+                    .map(recipient -> DeliveryResult.transientFailure(recipient, e.getMessage()))
+                    .toList();
+        }
+        
+        for (int i = 0; i < batch.size(); i++) {
+            PendingDelivery delivery = batch.get(i);
+            DeliveryResult result = i < results.size()
+                    ? results.get(i)
+                    : DeliveryResult.transientFailure(delivery.recipient, "Transporte não retornou resultado");
+            handleResult(run, delivery, result);
+        }
+    }
+    
+    private void handleResult(SendRun run, PendingDelivery delivery, DeliveryResult result) {
+        delivery.attempts++;
+        
+        if (!result.isDelivered() && result.isRetryable() && retryPolicy.allowsRetry(delivery.attempts)) {
+            run.retried.incrementAndGet();
+            retryWheel.schedule(delivery, retryPolicy.backoffMillis(delivery.attempts));
+            return;
+        }
+        
+        run.recordOutcome(delivery, result.isDelivered(), result.getError());
+    }
+    
+    private void rejectBatch(SendRun run, List<PendingDelivery> batch, RejectedExecutionException e) {
+        log.error("❌ Lote de {} envios rejeitado: {}", batch.size(), e.getMessage());
+        batch.forEach(delivery -> run.recordOutcome(delivery, false, e.getMessage()));
+    }
+    
+    private static ThreadFactory senderThreadFactory() {
+        AtomicInteger counter = new AtomicInteger(0);
+        return runnable -> {
+            Thread thread = new Thread(runnable, "email-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    // Destinatário em trânsito, com as tentativas já feitas
+    private static class PendingDelivery {
+        private final EmailRecipient recipient;
+        private final ChunkProgress chunk;
+        private int attempts;
+        private long firstSentAt;
+        
+        PendingDelivery(EmailRecipient recipient, ChunkProgress chunk) {
+            this.recipient = recipient;
+            this.chunk = chunk;
+        }
+    }
+    
+    // Um bloco só conta para o checkpoint quando todos os destinatários
+    // tiveram resultado final, incluindo os que passaram por reenvio
+    private static class ChunkProgress {
+        private final SendRun run;
+        private final int index;
+        private final Long lastSubscriberId;
+        private final AtomicInteger remaining;
+        
+        ChunkProgress(SendRun run, int index, List<EmailRecipient> chunk) {
+            this.run = run;
+            this.index = index;
+            this.lastSubscriberId = chunk.get(chunk.size() - 1).getSubscriberId();
+            this.remaining = new AtomicInteger(chunk.size());
+        }
+        
+        void recipientDone() {
+            if (remaining.decrementAndGet() == 0) {
+                run.checkpoints.chunkCompleted(index, lastSubscriberId);
+            }
+        }
+    }
+    
+    // Estado de uma execução de envio em massa
+    private class SendRun {
+        private final EmailTransport transport;
+        private final EmailMessage message;
+        private final SendProgressListener listener;
+        private final CheckpointTracker checkpoints;
+        private final Semaphore permits = new Semaphore(maxConcurrency);
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final AtomicInteger sent = new AtomicInteger(0);
+        private final AtomicInteger failed = new AtomicInteger(0);
+        private final AtomicInteger retried = new AtomicInteger(0);
+        private final AtomicLong submitted = new AtomicLong(0);
+        private final AtomicLong finished = new AtomicLong(0);
+        private final Queue<PendingDelivery> retryInbox = new ConcurrentLinkedQueue<>();
+        private final Object signalLock = new Object();
+        private final long startedAt = System.nanoTime();
+        
+        // Acessados apenas pela thread do agendador
+        private final Map<String, Deque<PendingDelivery>> queues = new HashMap<>();
+        private final Deque<String> activeGroups = new ArrayDeque<>();
+        private int queued;
+        private boolean signalled;
+        
+        SendRun(EmailTransport transport, EmailMessage message, SendProgressListener listener) {
+            this.transport = transport;
+            this.message = message;
+            this.listener = listener;
+            this.checkpoints = new CheckpointTracker(listener);
+        }
+        
+        void recordOutcome(PendingDelivery delivery, boolean delivered, String error) {
+            EmailRecipient recipient = delivery.recipient;
+            if (delivery.attempts > 0) {
+                latencies.record(System.nanoTime() - delivery.firstSentAt);
+            }
+            if (delivered) {
+                sent.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+            try {
+                listener.onDelivery(recipient, delivered, error);
+                if (!delivered) {
+                    listener.onDeadLetter(recipient, error, delivery.attempts);
+                }
+            } catch (Exception e) {
+                log.error("❌ Erro ao registrar entrega para {}: {}", recipient.getEmail(), e.getMessage());
+            }
+            
+            delivery.chunk.recipientDone();
+            if (finished.incrementAndGet() == submitted.get()) {
+                signal();
+            }
+        }
+        
+        void enqueueChunk(int chunkIndex, List<EmailRecipient> chunk) {
+            ChunkProgress progress = new ChunkProgress(this, chunkIndex, chunk);
+            submitted.addAndGet(chunk.size());
+            for (EmailRecipient recipient : chunk) {
+                enqueue(new PendingDelivery(recipient, progress));
+            }
+        }
+        
+        void drainRetries() {
+            PendingDelivery delivery;
+            while ((delivery = retryInbox.poll()) != null) {
+                enqueue(delivery);
+            }
+        }
+        
+        private void enqueue(PendingDelivery delivery) {
+            String group = domainThrottle.groupOf(delivery.recipient);
+            queues.computeIfAbsent(group, key -> {
+                activeGroups.addLast(key);
+                return new ArrayDeque<>();
+            }).addLast(delivery);
+            queued++;
+        }
+        
+        void awaitInFlight() {
+            permits.acquireUninterruptibly(maxConcurrency);
+            permits.release(maxConcurrency);
+        }
+        
+        boolean isDone() {
+            return queued == 0 && retryInbox.isEmpty() && finished.get() == submitted.get();
+        }
+        
+        void signal() {
+            synchronized (signalLock) {
+                signalled = true;
+                signalLock.notifyAll();
+            }
+        }
+        
+        void awaitSignal(long nanos) {
+            synchronized (signalLock) {
+                try {
+                    if (!signalled) {
+                        TimeUnit.NANOSECONDS.timedWait(signalLock, nanos);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Envio em massa interrompido", e);
+                } finally {
+                    signalled = false;
+                }
+            }
+        }
+        
+        EmailSendResult toResult() {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+            return EmailSendResult.of(sent.get(), failed.get(), elapsed,
+                    latencies.percentileMillis(50), latencies.percentileMillis(99));
+        }
+    }
+}
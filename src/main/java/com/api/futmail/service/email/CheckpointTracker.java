@@ -0,0 +1,48 @@
+package com.api.futmail.service.email;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Blocos terminam fora de ordem; o checkpoint só avança sobre o prefixo
+ * contíguo de blocos concluídos.
+ */
+@Slf4j
+class CheckpointTracker {
+    
+    private final SendProgressListener listener;
+    private final Map<Integer, Long> completedChunks = new HashMap<>();
+    private int nextExpectedChunk = 0;
+    
+    CheckpointTracker(SendProgressListener listener) {
+        this.listener = listener;
+    }
+    
+    void chunkCompleted(int chunkIndex, Long lastSubscriberId) {
+        Long checkpoint = advance(chunkIndex, lastSubscriberId);
+        if (checkpoint == null) {
+            return;
+        }
+        try {
+            listener.onCheckpoint(checkpoint);
+        } catch (Exception e) {
+            log.error("❌ Erro ao salvar checkpoint {}: {}", checkpoint, e.getMessage());
+        }
+    }
+    
+    private synchronized Long advance(int chunkIndex, Long lastSubscriberId) {
+        completedChunks.put(chunkIndex, lastSubscriberId);
+        
+        Long checkpoint = null;
+        while (completedChunks.containsKey(nextExpectedChunk)) {
+            Long chunkLastId = completedChunks.remove(nextExpectedChunk);
+            if (chunkLastId != null) {
+                checkpoint = chunkLastId;
+            }
+            nextExpectedChunk++;
+        }
+        return checkpoint;
+    }
+}
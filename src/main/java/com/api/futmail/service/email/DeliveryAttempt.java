@@ -0,0 +1,11 @@
+package com.api.futmail.service.email;
+
+import lombok.Value;
+
+@Value
+public class DeliveryAttempt {
+    
+    Long subscriberId;
+    boolean delivered;
+    String error;
+}
@@ -0,0 +1,93 @@
+package com.api.futmail.service.email;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.futmail.model.DeliveryState;
+import com.api.futmail.model.EmailDeadLetter;
+import com.api.futmail.model.NewsletterDelivery;
+import com.api.futmail.repository.EmailDeadLetterRepository;
+import com.api.futmail.repository.NewsletterDeliveryRepository;
+import com.api.futmail.repository.NewsletterRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registro persistente do resultado por destinatário de cada newsletter.
+ * Cada gravação roda em transação própria para que o progresso sobreviva
+ * a uma queda do processo no meio do envio.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeliveryLedger {
+    
+    private final NewsletterDeliveryRepository deliveryRepository;
+    private final NewsletterRepository newsletterRepository;
+    private final EmailDeadLetterRepository deadLetterRepository;
+    
+    /**
+     * Grava as tentativas do lote. Só assinantes com id até
+     * {@code highestRecordedSubscriberId} podem já ter linha no ledger
+     * (envio retomado); os demais são inseridos sem consulta prévia.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordBatch(Long newsletterId, List<DeliveryAttempt> attempts, long highestRecordedSubscriberId) {
+        Map<Long, NewsletterDelivery> existing = findExisting(newsletterId, attempts, highestRecordedSubscriberId);
+        List<NewsletterDelivery> deliveries = new ArrayList<>(attempts.size());
+        
+        for (DeliveryAttempt attempt : attempts) {
+            NewsletterDelivery delivery = existing.computeIfAbsent(attempt.getSubscriberId(),
+                    subscriberId -> NewsletterDelivery.builder()
+                            .newsletterId(newsletterId)
+                            .subscriberId(subscriberId)
+                            .build());
+            delivery.recordAttempt(attempt.isDelivered(), attempt.getError());
+            deliveries.add(delivery);
+        }
+        
+        deliveryRepository.saveAll(deliveries);
+    }
+    
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordDeadLetters(List<EmailDeadLetter> deadLetters) {
+        deadLetterRepository.saveAll(deadLetters);
+    }
+    
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveCheckpoint(Long newsletterId, long subscriberId) {
+        newsletterRepository.advanceCheckpoint(newsletterId, subscriberId);
+    }
+    
+    @Transactional(readOnly = true)
+    public long findHighestRecordedSubscriberId(Long newsletterId) {
+        Long highest = deliveryRepository.findMaxSubscriberIdByNewsletterId(newsletterId);
+        return highest == null ? 0L : highest;
+    }
+    
+    @Transactional(readOnly = true)
+    public long countByState(Long newsletterId, DeliveryState state) {
+        return deliveryRepository.countByNewsletterIdAndState(newsletterId, state);
+    }
+    
+    private Map<Long, NewsletterDelivery> findExisting(Long newsletterId, List<DeliveryAttempt> attempts,
+                                                       long highestRecordedSubscriberId) {
+        List<Long> subscriberIds = attempts.stream()
+                .map(DeliveryAttempt::getSubscriberId)
+                .filter(subscriberId -> subscriberId <= highestRecordedSubscriberId)
+                .toList();
+        if (subscriberIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        
+        return deliveryRepository.findByNewsletterIdAndSubscriberIdIn(newsletterId, subscriberIds)
+                .stream()
+                .collect(Collectors.toMap(NewsletterDelivery::getSubscriberId, Function.identity()));
+    }
+}
@@ -0,0 +1,150 @@
+package com.api.futmail.service.email;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.api.futmail.model.EmailDeadLetter;
+import com.api.futmail.model.EmailRecipient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acumula os resultados de um envio e grava no ledger em lotes, junto com
+ * as falhas definitivas que vão para o dead-letter.
+ * O checkpoint só é persistido depois que os resultados anteriores a ele
+ * foram gravados. Um lote que falha volta para a fila e segura o checkpoint
+ * até ser gravado numa próxima tentativa.
+ */
+@Slf4j
+public class DeliveryLedgerSession implements SendProgressListener, AutoCloseable {
+    
+    private static final int DEFAULT_FLUSH_SIZE = 500;
+    
+    private final DeliveryLedger ledger;
+    private final Long newsletterId;
+    private final int flushSize;
+    // Entregas de assinantes acima deste id não existiam quando a sessão começou
+    private final long highestRecordedSubscriberId;
+    private final Object flushLock = new Object();
+    
+    private List<DeliveryAttempt> pending;
+    private List<EmailDeadLetter> pendingDeadLetters = new ArrayList<>();
+    
+    public DeliveryLedgerSession(DeliveryLedger ledger, Long newsletterId) {
+        this(ledger, newsletterId, DEFAULT_FLUSH_SIZE);
+    }
+    
+    public DeliveryLedgerSession(DeliveryLedger ledger, Long newsletterId, int flushSize) {
+        this.ledger = ledger;
+        this.newsletterId = newsletterId;
+        this.flushSize = flushSize;
+        this.highestRecordedSubscriberId = ledger.findHighestRecordedSubscriberId(newsletterId);
+        this.pending = new ArrayList<>(flushSize);
+    }
+    
+    @Override
+    public void onDelivery(EmailRecipient recipient, boolean delivered, String error) {
+        if (recipient.getSubscriberId() == null) {
+            return;
+        }
+        
+        boolean full = append(new DeliveryAttempt(recipient.getSubscriberId(), delivered, error));
+        if (full) {
+            flush();
+        }
+    }
+    
+    @Override
+    public void onDeadLetter(EmailRecipient recipient, String error, int attempts) {
+        appendDeadLetter(EmailDeadLetter.of(newsletterId, recipient, error, attempts));
+    }
+    
+    @Override
+    public void onCheckpoint(long subscriberId) {
+        synchronized (flushLock) {
+            boolean written = write(drain());
+            writeDeadLetters(drainDeadLetters());
+            if (!written) {
+                log.warn("⏸️ Checkpoint {} da newsletter {} adiado: entregas anteriores não gravadas",
+                        subscriberId, newsletterId);
+                return;
+            }
+            ledger.saveCheckpoint(newsletterId, subscriberId);
+        }
+    }
+    
+    @Override
+    public void close() {
+        flush();
+    }
+    
+    // Drenar e gravar sob o mesmo lock garante que um checkpoint nunca
+    // seja salvo antes de um lote já drenado chegar ao banco
+    private void flush() {
+        synchronized (flushLock) {
+            write(drain());
+            writeDeadLetters(drainDeadLetters());
+        }
+    }
+    
+    // Só a thread que completa o lote grava; as demais seguem enviando.
+    // Com lotes devolvidos por falha, nova tentativa a cada flushSize entregas
+    private synchronized boolean append(DeliveryAttempt attempt) {
+        pending.add(attempt);
+        return pending.size() % flushSize == 0;
+    }
+    
+    private synchronized List<DeliveryAttempt> drain() {
+        List<DeliveryAttempt> batch = pending;
+        pending = new ArrayList<>(flushSize);
+        return batch;
+    }
+    
+    // O lote que falhou volta à frente da fila, mantendo a ordem das tentativas
+    private synchronized void requeue(List<DeliveryAttempt> batch) {
+        batch.addAll(pending);
+        pending = batch;
+    }
+    
+    private synchronized void requeueDeadLetters(List<EmailDeadLetter> batch) {
+        batch.addAll(pendingDeadLetters);
+        pendingDeadLetters = batch;
+    }
+    
+    private synchronized void appendDeadLetter(EmailDeadLetter deadLetter) {
+        pendingDeadLetters.add(deadLetter);
+    }
+    
+    private synchronized List<EmailDeadLetter> drainDeadLetters() {
+        List<EmailDeadLetter> batch = pendingDeadLetters;
+        pendingDeadLetters = new ArrayList<>();
+        return batch;
+    }
+    
+    private boolean write(List<DeliveryAttempt> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            ledger.recordBatch(newsletterId, batch, highestRecordedSubscriberId);
+            return true;
+        } catch (Exception e) {
+            log.error("❌ Erro ao gravar {} entregas da newsletter {}: {}", batch.size(), newsletterId, e.getMessage());
+            requeue(batch);
+            return false;
+        }
+    }
+    
+    private void writeDeadLetters(List<EmailDeadLetter> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            ledger.recordDeadLetters(batch);
+        } catch (Exception e) {
+            log.error("❌ Erro ao gravar {} envios no dead-letter da newsletter {}: {}", 
+                    batch.size(), newsletterId, e.getMessage());
+            requeueDeadLetters(batch);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.api.futmail.service.email;
+
+import lombok.Value;
+
+import com.api.futmail.model.EmailRecipient;
+
+@Value
+public class DeliveryResult {
+    
+    EmailRecipient recipient;
+    boolean delivered;
+    // Falha temporária (timeout, 4xx SMTP, 5xx/429 HTTP): vale tentar de novo
+    boolean retryable;
+    String error;
+    
+    public static DeliveryResult delivered(EmailRecipient recipient) {
+        return new DeliveryResult(recipient, true, false, null);
+    }
+    
+    public static DeliveryResult failed(EmailRecipient recipient, String error) {
+        return new DeliveryResult(recipient, false, false, error);
+    }
+    
+    public static DeliveryResult transientFailure(EmailRecipient recipient, String error) {
+        return new DeliveryResult(recipient, false, true, error);
+    }
+}
@@ -0,0 +1,158 @@
+package com.api.futmail.service.email;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+
+import com.api.futmail.model.EmailRecipient;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limites de envio por domínio de destino. Só os domínios configurados
+ * (os grandes provedores) ganham fila própria com limite de conexões
+ * simultâneas e de emails por minuto; os demais formam um grupo comum,
+ * sem limite próprio, que continua sendo enviado em lotes cheios.
+ * <p>
+ * Formato de {@code app.email.throttle.domains}:
+ * {@code dominio:conexoes:porMinuto,...}, com {@code porMinuto = 0} para
+ * não limitar a taxa.
+ */
+public class DomainThrottle {
+    
+    public static final String DEFAULT_GROUP = "*";
+    
+    private static final Limiter UNLIMITED = new Limiter(null, null, Integer.MAX_VALUE);
+    // Rajada máxima de 10 segundos da taxa configurada
+    private static final int BURST_DIVISOR = 6;
+    
+    private final Map<String, Limiter> limiters;
+    
+    private DomainThrottle(Map<String, Limiter> limiters) {
+        this.limiters = limiters;
+    }
+    
+    public static DomainThrottle unlimited() {
+        return new DomainThrottle(Map.of());
+    }
+    
+    public static DomainThrottle parse(String spec) {
+        Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return new DomainThrottle(limiters);
+        }
+        
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Limite de domínio inválido: " + entry.trim());
+            }
+            String domain = parts[0].trim().toLowerCase(Locale.ROOT);
+            int maxConcurrency = parsePositive(parts[1], entry);
+            int perMinute = parseNonNegative(parts[2], entry);
+            limiters.put(domain, newLimiter(maxConcurrency, perMinute));
+        }
+        return new DomainThrottle(limiters);
+    }
+    
+    public String groupOf(EmailRecipient recipient) {
+        String email = recipient.getEmail();
+        int at = email.lastIndexOf('@');
+        if (at < 0) {
+            return DEFAULT_GROUP;
+        }
+        String domain = email.substring(at + 1).toLowerCase(Locale.ROOT);
+        return limiters.containsKey(domain) ? domain : DEFAULT_GROUP;
+    }
+    
+    Limiter limiter(String group) {
+        return limiters.getOrDefault(group, UNLIMITED);
+    }
+    
+    private static Limiter newLimiter(int maxConcurrency, int perMinute) {
+        if (perMinute == 0) {
+            return new Limiter(new Semaphore(maxConcurrency), null, Integer.MAX_VALUE);
+        }
+        int capacity = Math.max(1, perMinute / BURST_DIVISOR);
+        Bucket bucket = Bucket.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.greedy(perMinute, Duration.ofMinutes(1))))
+                .build();
+        return new Limiter(new Semaphore(maxConcurrency), bucket, capacity);
+    }
+    
+    private static int parsePositive(String value, String entry) {
+        int parsed = parseNonNegative(value, entry);
+        if (parsed == 0) {
+            throw new IllegalArgumentException("Limite de conexões deve ser positivo: " + entry.trim());
+        }
+        return parsed;
+    }
+    
+    private static int parseNonNegative(String value, String entry) {
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < 0) {
+                throw new IllegalArgumentException("Limite de domínio negativo: " + entry.trim());
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Limite de domínio inválido: " + entry.trim());
+        }
+    }
+    
+    /**
+     * Conexões simultâneas e tokens de taxa de um grupo. Compartilhado entre
+     * todos os envios, já que o limite do provedor vale para o remetente.
+     */
+    static class Limiter {
+        
+        static final long NO_SLOT = -1;
+        
+        private final Semaphore slots;
+        private final Bucket bucket;
+        private final int maxBatchSize;
+        
+        Limiter(Semaphore slots, Bucket bucket, int maxBatchSize) {
+            this.slots = slots;
+            this.bucket = bucket;
+            this.maxBatchSize = maxBatchSize;
+        }
+        
+        int batchSize(int transportBatchSize) {
+            return Math.min(transportBatchSize, maxBatchSize);
+        }
+        
+        /**
+         * Reserva uma conexão e {@code count} emails da taxa. Devolve 0 quando
+         * conseguiu, {@link #NO_SLOT} sem conexão livre, ou os nanos até haver
+         * tokens suficientes.
+         */
+        long tryAcquire(int count) {
+            if (slots != null && !slots.tryAcquire()) {
+                return NO_SLOT;
+            }
+            if (bucket == null) {
+                return 0;
+            }
+            ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(count);
+            if (probe.isConsumed()) {
+                return 0;
+            }
+            if (slots != null) {
+                slots.release();
+            }
+            return Math.max(probe.getNanosToWaitForRefill(), 1);
+        }
+        
+        void release() {
+            if (slots != null) {
+                slots.release();
+            }
+        }
+    }
+}
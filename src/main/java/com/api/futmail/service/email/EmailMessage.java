@@ -0,0 +1,37 @@
+package com.api.futmail.service.email;
+
+import lombok.Builder;
+import lombok.Value;
+
+import com.api.futmail.model.EmailRecipient;
+
+@Value
+@Builder
+public class EmailMessage {
+    
+    /**
+     * Marcador no HTML substituído, por destinatário, pelo link de descadastro.
+     */
+    public static final String UNSUBSCRIBE_PLACEHOLDER = "{{unsubscribe_url}}";
+    
+    String fromEmail;
+    String fromName;
+    String subject;
+    String htmlContent;
+    // Prefixo ao qual o token assinado do destinatário é anexado; sem ele o link fica "#"
+    String unsubscribeBaseUrl;
+    UnsubscribeTokens unsubscribeTokens;
+    
+    public String unsubscribeUrlFor(EmailRecipient recipient) {
+        if (!hasUnsubscribeLink(recipient)) {
+            return "#";
+        }
+        return unsubscribeBaseUrl + unsubscribeTokens.issue(recipient.getSubscriberId());
+    }
+    
+    // Só assinantes cadastrados têm token; envios avulsos saem sem link
+    public boolean hasUnsubscribeLink(EmailRecipient recipient) {
+        return unsubscribeBaseUrl != null && !unsubscribeBaseUrl.isBlank()
+                && unsubscribeTokens != null && recipient.getSubscriberId() != null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.api.futmail.service.email;
+
+import java.util.List;
+
+import com.api.futmail.model.EmailRecipient;
+
+/**
+ * Meio de entrega dos emails. Implementações escolhidas por
+ * {@code app.email.transport}.
+ */
+public interface EmailTransport {
+    
+    /**
+     * Quantidade máxima de destinatários aceita em uma única chamada a {@link #send}.
+     */
+    int maxBatchSize();
+    
+    /**
+     * Envia a mensagem a todos os destinatários e devolve um resultado por
+     * destinatário, na mesma ordem da lista recebida.
+     */
+    List<DeliveryResult> send(EmailMessage message, List<EmailRecipient> recipients);
+    
+    /**
+     * Como {@link #send(EmailMessage, List)}, informando quantas tentativas
+     * cada destinatário já teve neste envio, na mesma ordem da lista.
+     */
+    default List<DeliveryResult> send(EmailMessage message, List<EmailRecipient> recipients,
+                                      List<Integer> previousAttempts) {
+        return send(message, recipients);
+    }
+}
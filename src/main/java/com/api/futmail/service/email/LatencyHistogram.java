@@ -0,0 +1,47 @@
+package com.api.futmail.service.email;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências com resolução de 1ms e memória fixa,
+ * independente da quantidade de envios registrados. Valores acima de 10s
+ * caem no último balde.
+ */
+public class LatencyHistogram {
+    
+    private static final int MAX_TRACKED_MILLIS = 10_000;
+    
+    private final AtomicLongArray buckets = new AtomicLongArray(MAX_TRACKED_MILLIS + 1);
+    
+    public void record(long elapsedNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        int bucket = (int) Math.min(Math.max(millis, 0), MAX_TRACKED_MILLIS);
+        buckets.incrementAndGet(bucket);
+    }
+    
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        return total;
+    }
+    
+    public double percentileMillis(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0.0;
+        }
+        
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return i;
+            }
+        }
+        return MAX_TRACKED_MILLIS;
+    }
+}
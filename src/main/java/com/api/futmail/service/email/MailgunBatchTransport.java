@@ -0,0 +1,178 @@
+package com.api.futmail.service.email;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Credentials;
+import okhttp3.FormBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.api.futmail.model.EmailRecipient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transporte via API de lote do Mailgun: uma requisição entrega a mesma mensagem
+ * a até 1.000 destinatários. O uso de recipient-variables faz o provedor
+ * gerar uma mensagem individual por destinatário, sem expor a lista no "To".
+ * Lotes cujo conteúdo foi recusado (400/413) são divididos ao meio e
+ * reenviados, isolando o endereço problemático sem perder o restante do
+ * lote. Limite de taxa, erro do provedor e falha de rede voltam como falha
+ * transitória do lote inteiro, para o retry com backoff do BulkSendEngine.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "mailgun")
+public class MailgunBatchTransport implements EmailTransport {
+    
+    private static final int MAX_RECIPIENTS_PER_REQUEST = 1000;
+    private static final int MAX_ERROR_BODY_LENGTH = 200;
+    // O próprio Mailgun substitui o link por destinatário a partir de recipient-variables
+    private static final String UNSUBSCRIBE_VARIABLE = "%recipient.unsubscribe_url%";
+    
+    private final OkHttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String messagesUrl;
+    private final String credentials;
+    private final String from;
+    private final int batchSize;
+    
+    public MailgunBatchTransport(@Value("${app.email.mailgun.domain}") String domain,
+                                 @Value("${app.email.mailgun.api-key}") String apiKey,
+                                 @Value("${app.email.mailgun.api-url:https://api.mailgun.net/v3}") String apiUrl,
+                                 @Value("${app.email.mailgun.batch-size:1000}") int batchSize,
+                                 @Value("${app.email.bulk.max-concurrency:200}") int maxConcurrency,
+                                 @Value("${app.email.from:newsletter@futmail.com}") String fromEmail,
+                                 @Value("${app.email.from-name:Futmail Newsletter}") String fromName) {
+        this.httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxConcurrency, 5, TimeUnit.MINUTES))
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(60, TimeUnit.SECONDS)
+                .build();
+        this.messagesUrl = apiUrl + "/" + domain + "/messages";
+        this.credentials = Credentials.basic("api", apiKey);
+        this.from = String.format("%s <%s>", fromName, fromEmail);
+        this.batchSize = Math.min(Math.max(batchSize, 1), MAX_RECIPIENTS_PER_REQUEST);
+    }
+    
+    @Override
+    public int maxBatchSize() {
+        return batchSize;
+    }
+    
+    @Override
+    public List<DeliveryResult> send(EmailMessage message, List<EmailRecipient> recipients) {
+        List<DeliveryResult> results = new ArrayList<>(recipients.size());
+        sendSplittingOnFailure(message, recipients, results);
+        return results;
+    }
+    
+    private void sendSplittingOnFailure(EmailMessage message, List<EmailRecipient> recipients,
+                                        List<DeliveryResult> results) {
+        BatchOutcome outcome = sendBatch(message, recipients);
+        
+        if (outcome.isAccepted()) {
+            recipients.forEach(recipient -> results.add(DeliveryResult.delivered(recipient)));
+            return;
+        }
+        
+        if (recipients.size() == 1 || !outcome.isSplittable()) {
+            recipients.forEach(recipient -> results.add(outcome.isRetryable()
+                    ? DeliveryResult.transientFailure(recipient, outcome.getError())
+                    : DeliveryResult.failed(recipient, outcome.getError())));
+            return;
+        }
+        
+        log.warn("⚠️ Lote de {} destinatários recusado ({}), dividindo e reenviando", 
+                recipients.size(), outcome.getError());
+        int middle = recipients.size() / 2;
+        sendSplittingOnFailure(message, recipients.subList(0, middle), results);
+        sendSplittingOnFailure(message, recipients.subList(middle, recipients.size()), results);
+    }
+    
+    private BatchOutcome sendBatch(EmailMessage message, List<EmailRecipient> recipients) {
+        Request request = new Request.Builder()
+                .url(messagesUrl)
+                .header("Authorization", credentials)
+                .post(buildForm(message, recipients))
+                .build();
+        
+        try (Response response = httpClient.newCall(request).execute()) {
+            if (response.isSuccessful()) {
+                return BatchOutcome.ACCEPTED;
+            }
+            String body = response.body() != null ? response.body().string() : "";
+            String error = String.format("HTTP %d: %s", response.code(), truncate(body));
+            return new BatchOutcome(false, isSplittable(response.code()), isRetryable(response.code()), error);
+            
+        } catch (Exception e) {
+            // Um timeout pode ter sido aceito pelo Mailgun: reenviar metades duplicaria e-mails
+            return new BatchOutcome(false, false, true, e.getMessage());
+        }
+    }
+    
+    private FormBody buildForm(EmailMessage message, List<EmailRecipient> recipients) {
+        FormBody.Builder form = new FormBody.Builder()
+                .add("from", from)
+                .add("subject", message.getSubject())
+                .add("html", message.getHtmlContent().replace(EmailMessage.UNSUBSCRIBE_PLACEHOLDER, UNSUBSCRIBE_VARIABLE))
+                .add("recipient-variables", buildRecipientVariables(message, recipients));
+        if (recipients.stream().allMatch(message::hasUnsubscribeLink)) {
+            form.add("h:List-Unsubscribe", "<" + UNSUBSCRIBE_VARIABLE + ">")
+                    .add("h:List-Unsubscribe-Post", "List-Unsubscribe=One-Click");
+        }
+        recipients.forEach(recipient -> form.add("to", recipient.getEmail()));
+        return form.build();
+    }
+    
+    private String buildRecipientVariables(EmailMessage message, List<EmailRecipient> recipients) {
+        ObjectNode variables = objectMapper.createObjectNode();
+        for (EmailRecipient recipient : recipients) {
+            ObjectNode recipientNode = variables.putObject(recipient.getEmail());
+            recipientNode.put("unsubscribe_url", message.unsubscribeUrlFor(recipient));
+            if (recipient.getSubscriberId() != null) {
+                recipientNode.put("id", recipient.getSubscriberId());
+            }
+        }
+        return variables.toString();
+    }
+    
+    // Só a recusa do próprio conteúdo justifica dividir; autenticação, 429 e 5xx
+    // afetariam qualquer sublote e só multiplicariam as chamadas
+    private boolean isSplittable(int statusCode) {
+        return statusCode == 400 || statusCode == 413;
+    }
+    
+    // Limite de taxa e erros do provedor costumam passar; 4xx indica destinatário ou requisição inválida
+    private boolean isRetryable(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+    
+    private String truncate(String body) {
+        if (body.length() <= MAX_ERROR_BODY_LENGTH) {
+            return body;
+        }
+        return body.substring(0, MAX_ERROR_BODY_LENGTH) + "...";
+    }
+    
+    @Getter
+    @RequiredArgsConstructor
+    private static class BatchOutcome {
+        static final BatchOutcome ACCEPTED = new BatchOutcome(true, false, false, null);
+        
+        private final boolean accepted;
+        private final boolean splittable;
+        private final boolean retryable;
+        private final String error;
+    }
+}
@@ -0,0 +1,146 @@
+package com.api.futmail.service.email;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.IDN;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import com.api.futmail.model.EmailRecipient;
+
+/**
+ * Mensagem MIME codificada uma única vez por envio. O HTML é quebrado nos
+ * placeholders por destinatário e cada trecho fixo vira um bloco
+ * quoted-printable terminado em quebra suave ("=\r\n"). Assim os blocos
+ * podem ser concatenados em qualquer ordem com os fragmentos do
+ * destinatário, que são os únicos bytes codificados por email.
+ * <p>
+ * Linhas que começariam com ponto saem como "=2E", dispensando o
+ * dot-stuffing no DATA do SMTP.
+ */
+public class MimeMessageTemplate {
+    
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TO_PREFIX = "To: <".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TO_SUFFIX = ">\r\n".getBytes(StandardCharsets.US_ASCII);
+    // RFC 8058: o provedor descadastra com um POST na própria URL, sem abrir o navegador
+    private static final byte[] LIST_UNSUBSCRIBE_PREFIX = "List-Unsubscribe:\r\n <".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LIST_UNSUBSCRIBE_SUFFIX = (">\r\nList-Unsubscribe-Post: List-Unsubscribe=One-Click\r\n")
+            .getBytes(StandardCharsets.US_ASCII);
+    
+    private final EmailMessage message;
+    private final byte[] sharedHeaders;
+    // Trechos fixos do corpo; entre dois trechos consecutivos entra o link de descadastro
+    private final List<byte[]> bodySegments;
+    
+    public MimeMessageTemplate(EmailMessage message) {
+        this.message = message;
+        this.sharedHeaders = buildSharedHeaders(message);
+        this.bodySegments = encodeSegments(message.getHtmlContent());
+    }
+    
+    /**
+     * Escreve a mensagem do destinatário diretamente no stream, intercalando
+     * os blocos compartilhados com os fragmentos dele, sem montar um array
+     * com a mensagem inteira.
+     */
+    public void writeTo(EmailRecipient recipient, OutputStream output) throws IOException {
+        output.write(TO_PREFIX);
+        output.write(asciiAddress(recipient.getEmail()).getBytes(StandardCharsets.US_ASCII));
+        output.write(TO_SUFFIX);
+        String unsubscribeUrl = message.unsubscribeUrlFor(recipient);
+        if (message.hasUnsubscribeLink(recipient)) {
+            output.write(LIST_UNSUBSCRIBE_PREFIX);
+            output.write(unsubscribeUrl.getBytes(StandardCharsets.US_ASCII));
+            output.write(LIST_UNSUBSCRIBE_SUFFIX);
+        }
+        output.write(sharedHeaders);
+        
+        output.write(bodySegments.get(0));
+        if (bodySegments.size() > 1) {
+            byte[] encodedUrl = QuotedPrintable.encode(unsubscribeUrl.getBytes(StandardCharsets.UTF_8), true);
+            for (int i = 1; i < bodySegments.size(); i++) {
+                output.write(encodedUrl);
+                output.write(bodySegments.get(i));
+            }
+        }
+    }
+    
+    public byte[] render(EmailRecipient recipient) {
+        ByteArrayOutputStream rendered = new ByteArrayOutputStream(sharedHeaders.length + 4096);
+        try {
+            writeTo(recipient, rendered);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return rendered.toByteArray();
+    }
+    
+    /**
+     * Endereço pronto para cabeçalho e envelope SMTP. Domínios acentuados
+     * viram punycode; quebras de linha, caracteres de controle, "<", ">" e
+     * acentos na parte local (que exigiriam SMTPUTF8) são recusados, pois
+     * injetariam cabeçalhos ou comandos na conexão.
+     */
+    public static String asciiAddress(String email) {
+        int at = email == null ? -1 : email.lastIndexOf('@');
+        if (at <= 0 || at == email.length() - 1) {
+            throw new IllegalArgumentException("Endereço de email inválido: " + email);
+        }
+        for (int i = 0; i < email.length(); i++) {
+            char current = email.charAt(i);
+            boolean forbidden = current < 0x20 || current == 0x7F || current == '<' || current == '>'
+                    || Character.isWhitespace(current) || (i < at && current > 0x7F);
+            if (forbidden) {
+                throw new IllegalArgumentException("Endereço de email inválido: " + email.strip());
+            }
+        }
+        String domain = email.substring(at + 1);
+        if (domain.chars().allMatch(c -> c < 0x80)) {
+            return email;
+        }
+        return email.substring(0, at + 1) + IDN.toASCII(domain, IDN.USE_STD3_ASCII_RULES);
+    }
+    
+    private static List<byte[]> encodeSegments(String html) {
+        List<byte[]> segments = new ArrayList<>();
+        String placeholder = EmailMessage.UNSUBSCRIBE_PLACEHOLDER;
+        int start = 0;
+        int index;
+        while ((index = html.indexOf(placeholder, start)) >= 0) {
+            segments.add(QuotedPrintable.encode(html.substring(start, index).getBytes(StandardCharsets.UTF_8), true));
+            start = index + placeholder.length();
+        }
+        segments.add(QuotedPrintable.encode(html.substring(start).getBytes(StandardCharsets.UTF_8), false));
+        return segments;
+    }
+    
+    private static byte[] buildSharedHeaders(EmailMessage message) {
+        ByteArrayOutputStream headers = new ByteArrayOutputStream(512);
+        appendHeader(headers, "From", encodeWord(message.getFromName()) + " <" + message.getFromEmail() + ">");
+        appendHeader(headers, "Subject", encodeWord(message.getSubject()));
+        appendHeader(headers, "Date", ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME));
+        appendHeader(headers, "MIME-Version", "1.0");
+        appendHeader(headers, "Content-Type", "text/html; charset=UTF-8");
+        appendHeader(headers, "Content-Transfer-Encoding", "quoted-printable");
+        headers.writeBytes(CRLF);
+        return headers.toByteArray();
+    }
+    
+    private static void appendHeader(ByteArrayOutputStream headers, String name, String value) {
+        headers.writeBytes((name + ": " + value + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    // RFC 2047: permite acentos e emojis em cabeçalhos ASCII
+    private static String encodeWord(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "=?UTF-8?B?" + Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)) + "?=";
+    }
+}
@@ -0,0 +1,79 @@
+package com.api.futmail.service.email;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Codificação quoted-printable (RFC 2045) com linhas de até 76 colunas.
+ * Quebras de linha do texto viram CRLF; com {@code softBreakAtEnd} o bloco
+ * termina em "=\r\n", permitindo emendar outro bloco logo em seguida.
+ */
+final class QuotedPrintable {
+    
+    private static final int MAX_LINE_LENGTH = 76;
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes();
+    
+    private QuotedPrintable() {
+    }
+    
+    static byte[] encode(byte[] input, boolean softBreakAtEnd) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(input.length + input.length / 8 + 8);
+        int column = 0;
+        
+        for (int i = 0; i < input.length; i++) {
+            int current = input[i] & 0xFF;
+            if (current == '\r' && i + 1 < input.length && input[i + 1] == '\n') {
+                continue;
+            }
+            if (current == '\n') {
+                output.write('\r');
+                output.write('\n');
+                column = 0;
+                continue;
+            }
+            
+            boolean literal = isLiteral(current, input, i, softBreakAtEnd);
+            int width = literal ? 1 : 3;
+            if (column + width > MAX_LINE_LENGTH - 1) {
+                output.write('=');
+                output.write('\r');
+                output.write('\n');
+                column = 0;
+            }
+            if (current == '.' && column == 0) {
+                literal = false;
+                width = 3;
+            }
+            
+            if (literal) {
+                output.write(current);
+            } else {
+                output.write('=');
+                output.write(HEX[current >> 4]);
+                output.write(HEX[current & 0x0F]);
+            }
+            column += width;
+        }
+        
+        // O bloco sempre termina em fim de linha, para o próximo começar na coluna 0
+        if (softBreakAtEnd) {
+            output.write('=');
+            output.write('\r');
+            output.write('\n');
+        } else if (column > 0) {
+            output.write('\r');
+            output.write('\n');
+        }
+        return output.toByteArray();
+    }
+    
+    // Espaço no fim de linha seria removido por servidores; só fica literal no meio dela
+    private static boolean isLiteral(int current, byte[] input, int index, boolean softBreakAtEnd) {
+        if (current == ' ' || current == '\t') {
+            if (index + 1 >= input.length) {
+                return softBreakAtEnd;
+            }
+            return input[index + 1] != '\r' && input[index + 1] != '\n';
+        }
+        return current >= 33 && current <= 126 && current != '=';
+    }
+}
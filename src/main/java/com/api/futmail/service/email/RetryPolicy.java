@@ -0,0 +1,39 @@
+package com.api.futmail.service.email;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Política de reenvio para falhas temporárias: backoff exponencial com
+ * jitter, para que destinatários que falharam juntos não voltem juntos.
+ */
+@Value
+@Builder
+public class RetryPolicy {
+    
+    int maxAttempts;
+    long initialBackoffMillis;
+    long maxBackoffMillis;
+    
+    public static RetryPolicy defaults() {
+        return RetryPolicy.builder()
+                .maxAttempts(4)
+                .initialBackoffMillis(500)
+                .maxBackoffMillis(30_000)
+                .build();
+    }
+    
+    public boolean allowsRetry(int attemptsMade) {
+        return attemptsMade < maxAttempts;
+    }
+    
+    // Metade fixa e metade aleatória do intervalo exponencial
+    public long backoffMillis(int attemptsMade) {
+        int exponent = Math.min(Math.max(attemptsMade - 1, 0), 30);
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << exponent);
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(ceiling - half + 1);
+    }
+}
@@ -0,0 +1,121 @@
+package com.api.futmail.service.email;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Timer em roda (hashed wheel) para reenvios agendados. Agendar custa O(1)
+ * e uma única thread dispara todos os itens vencidos de cada tick, sem
+ * manter um heap com milhares de tarefas atrasadas.
+ */
+@Slf4j
+class RetryTimerWheel<T> implements AutoCloseable {
+    
+    private final long tickNanos;
+    private final int mask;
+    private final List<Queue<Timeout<T>>> buckets;
+    private final Queue<Timeout<T>> incoming = new ConcurrentLinkedQueue<>();
+    private final Consumer<List<T>> onExpired;
+    private final Thread worker;
+    private final long startedAt;
+    
+    private volatile boolean running = true;
+    private long tick;
+    
+    RetryTimerWheel(String name, long tickMillis, int wheelSize, Consumer<List<T>> onExpired) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Tamanho da roda deve ser potência de 2");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.onExpired = onExpired;
+        this.startedAt = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+    
+    void schedule(T item, long delayMillis) {
+        incoming.add(new Timeout<>(item, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis)));
+    }
+    
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+    
+    private void run() {
+        while (running) {
+            waitForNextTick();
+            transferIncoming();
+            List<T> expired = expireCurrentBucket();
+            tick++;
+            
+            if (!expired.isEmpty()) {
+                try {
+                    onExpired.accept(expired);
+                } catch (Exception e) {
+                    log.error("❌ Erro ao disparar {} reenvios agendados: {}", expired.size(), e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private void waitForNextTick() {
+        long deadline = startedAt + (tick + 1) * tickNanos;
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+    
+    private void transferIncoming() {
+        Timeout<T> timeout;
+        while ((timeout = incoming.poll()) != null) {
+            long targetTick = Math.max((timeout.deadlineNanos - startedAt) / tickNanos, tick);
+            timeout.remainingRounds = (targetTick - tick) / buckets.size();
+            buckets.get((int) (targetTick & mask)).add(timeout);
+        }
+    }
+    
+    private List<T> expireCurrentBucket() {
+        Queue<Timeout<T>> bucket = buckets.get((int) (tick & mask));
+        List<T> expired = new ArrayList<>();
+        Iterator<Timeout<T>> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout<T> timeout = iterator.next();
+            if (timeout.remainingRounds <= 0) {
+                expired.add(timeout.item);
+                iterator.remove();
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+        return expired;
+    }
+    
+    private static class Timeout<T> {
+        private final T item;
+        private final long deadlineNanos;
+        private long remainingRounds;
+        
+        Timeout(T item, long deadlineNanos) {
+            this.item = item;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
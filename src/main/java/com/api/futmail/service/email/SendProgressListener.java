@@ -0,0 +1,54 @@
+package com.api.futmail.service.email;
+
+import com.api.futmail.model.EmailRecipient;
+
+/**
+ * Recebe o resultado de cada envio e o avanço do checkpoint de um envio em massa.
+ * As chamadas vêm das threads de envio e podem ser concorrentes.
+ */
+public interface SendProgressListener {
+    
+    SendProgressListener NONE = new SendProgressListener() { };
+    
+    default void onDelivery(EmailRecipient recipient, boolean delivered, String error) {
+    }
+    
+    /**
+     * Falha definitiva: erro permanente ou tentativas esgotadas. Chamado
+     * logo após {@link #onDelivery} com {@code delivered = false}.
+     */
+    default void onDeadLetter(EmailRecipient recipient, String error, int attempts) {
+    }
+    
+    /**
+     * Todos os destinatários com id menor ou igual a {@code subscriberId} já foram processados.
+     */
+    default void onCheckpoint(long subscriberId) {
+    }
+    
+    default SendProgressListener andThen(SendProgressListener next) {
+        if (next == NONE) {
+            return this;
+        }
+        SendProgressListener first = this;
+        return new SendProgressListener() {
+            @Override
+            public void onDelivery(EmailRecipient recipient, boolean delivered, String error) {
+                first.onDelivery(recipient, delivered, error);
+                next.onDelivery(recipient, delivered, error);
+            }
+            
+            @Override
+            public void onDeadLetter(EmailRecipient recipient, String error, int attempts) {
+                first.onDeadLetter(recipient, error, attempts);
+                next.onDeadLetter(recipient, error, attempts);
+            }
+            
+            @Override
+            public void onCheckpoint(long subscriberId) {
+                first.onCheckpoint(subscriberId);
+                next.onCheckpoint(subscriberId);
+            }
+        };
+    }
+}
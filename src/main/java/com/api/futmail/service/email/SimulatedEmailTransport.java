@@ -0,0 +1,153 @@
+package com.api.futmail.service.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.api.futmail.model.EmailRecipient;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Transporte para desenvolvimento e benchmarks. Latência e falhas vêm de um
+ * gerador derivado da semente, do email e do número da tentativa dentro do
+ * envio, então duas execuções com a mesma configuração produzem os mesmos
+ * resultados, mesmo com envios simultâneos para o mesmo endereço.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "simulated", matchIfMissing = true)
+public class SimulatedEmailTransport implements EmailTransport {
+    
+    private static final int MAX_CONTENT_PREVIEW_LENGTH = 100;
+    
+    private final SimulatedTransportSettings settings;
+    
+    @Autowired
+    public SimulatedEmailTransport(@Value("${app.email.simulated.seed:42}") long seed,
+                                   @Value("${app.email.simulated.batch-size:1}") int batchSize,
+                                   @Value("${app.email.simulated.latency:fixed}") String latencyDistribution,
+                                   @Value("${app.email.simulated.latency-ms:100}") double latencyMillis,
+                                   @Value("${app.email.simulated.latency-sigma:0.5}") double latencySigma,
+                                   @Value("${app.email.simulated.spike-rate:0}") double spikeRate,
+                                   @Value("${app.email.simulated.spike-ms:2000}") double spikeMillis,
+                                   @Value("${app.email.simulated.transient-failure-rate:0.05}") double transientFailureRate,
+                                   @Value("${app.email.simulated.permanent-failure-rate:0}") double permanentFailureRate) {
+        this(SimulatedTransportSettings.builder()
+                .seed(seed)
+                .batchSize(batchSize)
+                .latencyDistribution(SimulatedTransportSettings.LatencyDistribution.valueOf(
+                        latencyDistribution.trim().toUpperCase(Locale.ROOT).replace('-', '_')))
+                .latencyMillis(latencyMillis)
+                .latencySigma(latencySigma)
+                .spikeRate(spikeRate)
+                .spikeMillis(spikeMillis)
+                .transientFailureRate(transientFailureRate)
+                .permanentFailureRate(permanentFailureRate)
+                .build());
+    }
+    
+    public SimulatedEmailTransport(SimulatedTransportSettings settings) {
+        if (settings.getBatchSize() <= 0) {
+            throw new IllegalArgumentException("app.email.simulated.batch-size deve ser positivo");
+        }
+        if (settings.getTransientFailureRate() + settings.getPermanentFailureRate() > 1.0) {
+            throw new IllegalArgumentException("Soma das taxas de falha simuladas não pode passar de 1");
+        }
+        this.settings = settings;
+    }
+    
+    @Override
+    public int maxBatchSize() {
+        return settings.getBatchSize();
+    }
+    
+    @Override
+    public List<DeliveryResult> send(EmailMessage message, List<EmailRecipient> recipients) {
+        return send(message, recipients, Collections.nCopies(recipients.size(), 0));
+    }
+    
+    // A tentativa vem do motor de envio: um reenvio sorteia outro resultado
+    @Override
+    public List<DeliveryResult> send(EmailMessage message, List<EmailRecipient> recipients,
+                                     List<Integer> previousAttempts) {
+        logEmailSending(recipients, message);
+        
+        // Uma chamada ao provedor por lote: a latência é sorteada pelo primeiro destinatário
+        SplittableRandom batchRandom = randomFor(recipients.get(0), previousAttempts.get(0));
+        if (!simulateDelay(batchRandom)) {
+            return recipients.stream()
+                    .map(recipient -> DeliveryResult.transientFailure(recipient, "Envio interrompido"))
+                    .toList();
+        }
+        
+        List<DeliveryResult> results = new ArrayList<>(recipients.size());
+        for (int i = 0; i < recipients.size(); i++) {
+            EmailRecipient recipient = recipients.get(i);
+            results.add(simulateOutcome(recipient, i == 0 ? batchRandom : randomFor(recipient, previousAttempts.get(i))));
+        }
+        return results;
+    }
+    
+    private DeliveryResult simulateOutcome(EmailRecipient recipient, SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (roll < settings.getPermanentFailureRate()) {
+            return DeliveryResult.failed(recipient, "Falha permanente simulada");
+        }
+        if (roll < settings.getPermanentFailureRate() + settings.getTransientFailureRate()) {
+            return DeliveryResult.transientFailure(recipient, "Falha temporária simulada");
+        }
+        return DeliveryResult.delivered(recipient);
+    }
+    
+    private SplittableRandom randomFor(EmailRecipient recipient, int attempt) {
+        long mixed = settings.getSeed() * 0x9E3779B97F4A7C15L
+                + recipient.getEmail().hashCode() * 0xC2B2AE3D27D4EB4FL
+                + attempt;
+        return new SplittableRandom(mixed);
+    }
+    
+    private boolean simulateDelay(SplittableRandom random) {
+        double millis = sampleLatencyMillis(random);
+        if (millis <= 0) {
+            return true;
+        }
+        LockSupport.parkNanos((long) (millis * TimeUnit.MILLISECONDS.toNanos(1)));
+        return !Thread.currentThread().isInterrupted();
+    }
+    
+    private double sampleLatencyMillis(SplittableRandom random) {
+        double latency = switch (settings.getLatencyDistribution()) {
+            case FIXED -> settings.getLatencyMillis();
+            case LOG_NORMAL -> settings.getLatencyMillis() * Math.exp(settings.getLatencySigma() * random.nextGaussian());
+        };
+        if (settings.getSpikeRate() > 0 && random.nextDouble() < settings.getSpikeRate()) {
+            latency += settings.getSpikeMillis();
+        }
+        return latency;
+    }
+    
+    private void logEmailSending(List<EmailRecipient> recipients, EmailMessage message) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        log.debug("📧 Simulando envio de email para: {}", recipients.get(0).getEmail());
+        log.debug("Assunto: {}", message.getSubject());
+        log.debug("Conteúdo: {}", truncateContent(message.getHtmlContent(), MAX_CONTENT_PREVIEW_LENGTH));
+    }
+    
+    private String truncateContent(String content, int maxLength) {
+        if (content == null || content.length() <= maxLength) {
+            return content;
+        }
+        return content.substring(0, maxLength) + "...";
+    }
+}
@@ -0,0 +1,31 @@
+package com.api.futmail.service.email;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Perfil do transporte simulado: distribuição de latência por chamada e
+ * taxas de falha. Com a mesma semente, cada destinatário tem sempre a
+ * mesma sequência de resultados, independente da ordem das threads.
+ */
+@Value
+@Builder
+public class SimulatedTransportSettings {
+    
+    public enum LatencyDistribution {
+        FIXED,
+        LOG_NORMAL
+    }
+    
+    long seed;
+    int batchSize;
+    LatencyDistribution latencyDistribution;
+    // Latência fixa ou mediana da log-normal
+    double latencyMillis;
+    double latencySigma;
+    // Fração das chamadas que sofre um pico de latência
+    double spikeRate;
+    double spikeMillis;
+    double transientFailureRate;
+    double permanentFailureRate;
+}
@@ -0,0 +1,366 @@
+package com.api.futmail.service.email;
+
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+import com.api.futmail.model.EmailRecipient;
+
+/**
+ * Conexão SMTP autenticada e reutilizável. Quando o servidor anuncia
+ * PIPELINING, o fim dos dados de uma mensagem é enviado junto com
+ * MAIL/RCPT/DATA da próxima, custando uma ida e volta por mensagem.
+ * <p>
+ * A conexão é cifrada com STARTTLS ou TLS implícito conforme
+ * {@link SmtpTlsMode}, com verificação do nome do servidor no certificado.
+ * AUTH nunca é enviado em texto puro, a menos que a configuração permita.
+ */
+public class SmtpConnection implements AutoCloseable {
+    
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END_OF_DATA = ".\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int DATA_READY = 354;
+    
+    private Socket socket;
+    private InputStream input;
+    private OutputStream output;
+    
+    @Getter
+    private boolean pipelining;
+    @Getter
+    private int messagesSent;
+    @Getter
+    private long lastUsedAt;
+    private boolean broken;
+    
+    @Getter
+    private boolean encrypted;
+    
+    private SmtpConnection(Socket socket) throws IOException {
+        attach(socket);
+        this.lastUsedAt = System.nanoTime();
+    }
+    
+    public static SmtpConnection open(SmtpSettings settings) throws IOException {
+        Socket socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(settings.getTimeoutMillis());
+        socket.connect(new InetSocketAddress(settings.getHost(), settings.getPort()), settings.getTimeoutMillis());
+        
+        SmtpConnection connection;
+        try {
+            connection = new SmtpConnection(settings.getTlsMode() == SmtpTlsMode.IMPLICIT
+                    ? startTls(socket, settings.getHost(), settings.getPort())
+                    : socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        try {
+            connection.handshake(settings);
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+    
+    /**
+     * Envia uma mensagem por destinatário. O conteúdo de cada mensagem é
+     * escrito a partir do template apenas após o servidor aceitar o DATA.
+     * Em caso de erro de I/O a conexão é marcada como inutilizável e os
+     * destinatários sem resposta são reportados como falha. Endereços
+     * recusados por {@link MimeMessageTemplate#asciiAddress} falham de forma
+     * permanente sem chegar ao servidor.
+     */
+    public List<DeliveryResult> sendAll(String from, List<EmailRecipient> recipients,
+                                        MimeMessageTemplate template) {
+        List<DeliveryResult> rejected = new ArrayList<>();
+        List<EmailRecipient> sendable = new ArrayList<>(recipients.size());
+        for (EmailRecipient recipient : recipients) {
+            try {
+                MimeMessageTemplate.asciiAddress(recipient.getEmail());
+                sendable.add(recipient);
+            } catch (IllegalArgumentException e) {
+                rejected.add(DeliveryResult.failed(recipient, e.getMessage()));
+            }
+        }
+        if (rejected.isEmpty()) {
+            return sendValid(from, recipients, template);
+        }
+        return inOriginalOrder(recipients, sendValid(from, sendable, template), rejected);
+    }
+    
+    private List<DeliveryResult> sendValid(String from, List<EmailRecipient> recipients,
+                                           MimeMessageTemplate template) {
+        List<DeliveryResult> results = new ArrayList<>(recipients.size());
+        try {
+            if (pipelining) {
+                sendPipelined(from, recipients, template, results);
+            } else {
+                for (EmailRecipient recipient : recipients) {
+                    results.add(sendSequential(from, recipient, template));
+                }
+            }
+        } catch (IOException e) {
+            broken = true;
+            String error = "Erro de conexão SMTP: " + e.getMessage();
+            recipients.subList(results.size(), recipients.size())
+                    .forEach(recipient -> results.add(DeliveryResult.transientFailure(recipient, error)));
+        } finally {
+            lastUsedAt = System.nanoTime();
+        }
+        return results;
+    }
+    
+    public boolean isUsable() {
+        return !broken && !socket.isClosed();
+    }
+    
+    public long idleNanos() {
+        return System.nanoTime() - lastUsedAt;
+    }
+    
+    @Override
+    public void close() {
+        try {
+            if (isUsable()) {
+                writeCommand("QUIT");
+                output.flush();
+            }
+        } catch (IOException ignored) {
+            // conexão será fechada de qualquer forma
+        } finally {
+            broken = true;
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // nada a fazer
+            }
+        }
+    }
+    
+    private void handshake(SmtpSettings settings) throws IOException {
+        expect(readReply(), "saudação");
+        
+        SmtpReply ehlo = ehlo(settings.getHeloName());
+        if (settings.getTlsMode() == SmtpTlsMode.STARTTLS) {
+            if (!ehlo.hasCapability("STARTTLS")) {
+                throw new IOException("Servidor SMTP não anuncia STARTTLS");
+            }
+            writeCommand("STARTTLS");
+            output.flush();
+            expect(readReply(), "STARTTLS");
+            attach(startTls(socket, settings.getHost(), settings.getPort()));
+            // RFC 3207: as capacidades anunciadas antes do TLS devem ser descartadas
+            ehlo = ehlo(settings.getHeloName());
+        }
+        pipelining = ehlo.hasCapability("PIPELINING");
+        
+        String username = settings.getUsername();
+        if (username != null && !username.isBlank()) {
+            if (!encrypted && !settings.isAllowPlaintextAuth()) {
+                throw new IOException("AUTH recusado em conexão SMTP sem TLS (app.email.smtp.allow-plaintext-auth)");
+            }
+            String token = "\0" + username + "\0" + settings.getPassword();
+            writeCommand("AUTH PLAIN " + Base64.getEncoder().encodeToString(token.getBytes(StandardCharsets.UTF_8)));
+            output.flush();
+            expect(readReply(), "AUTH");
+        }
+    }
+    
+    private SmtpReply ehlo(String heloName) throws IOException {
+        writeCommand("EHLO " + heloName);
+        output.flush();
+        return expect(readReply(), "EHLO");
+    }
+    
+    private void attach(Socket socket) throws IOException {
+        this.socket = socket;
+        this.input = new BufferedInputStream(socket.getInputStream());
+        this.output = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024);
+        this.encrypted = socket instanceof SSLSocket;
+    }
+    
+    private static SSLSocket startTls(Socket socket, String host, int port) throws IOException {
+        SSLSocketFactory factory = (SSLSocketFactory) SSLSocketFactory.getDefault();
+        SSLSocket tlsSocket = (SSLSocket) factory.createSocket(socket, host, port, true);
+        SSLParameters parameters = tlsSocket.getSSLParameters();
+        parameters.setEndpointIdentificationAlgorithm("HTTPS");
+        tlsSocket.setSSLParameters(parameters);
+        tlsSocket.startHandshake();
+        return tlsSocket;
+    }
+    
+    private void sendPipelined(String from, List<EmailRecipient> recipients,
+                               MimeMessageTemplate template,
+                               List<DeliveryResult> results) throws IOException {
+        EmailRecipient pendingRecipient = null;
+        boolean needsReset = false;
+        
+        for (int i = 0; i <= recipients.size(); i++) {
+            EmailRecipient next = i < recipients.size() ? recipients.get(i) : null;
+            
+            if (pendingRecipient != null) {
+                writeData(template, pendingRecipient);
+            }
+            if (needsReset) {
+                writeCommand("RSET");
+            }
+            if (next != null) {
+                writeEnvelope(from, next);
+            }
+            output.flush();
+            
+            if (pendingRecipient != null) {
+                SmtpReply dataReply = readReply();
+                results.add(toResult(pendingRecipient, dataReply));
+                messagesSent++;
+            }
+            if (needsReset) {
+                readReply();
+                needsReset = false;
+            }
+            pendingRecipient = null;
+            
+            if (next == null) {
+                break;
+            }
+            
+            SmtpReply mailReply = readReply();
+            SmtpReply rcptReply = readReply();
+            SmtpReply dataReply = readReply();
+            
+            if (dataReply.getCode() == DATA_READY) {
+                pendingRecipient = next;
+            } else {
+                results.add(toResult(next, firstFailure(mailReply, rcptReply, dataReply)));
+                needsReset = mailReply.isPositive();
+            }
+        }
+    }
+    
+    private DeliveryResult sendSequential(String from, EmailRecipient recipient,
+                                          MimeMessageTemplate template) throws IOException {
+        String to = MimeMessageTemplate.asciiAddress(recipient.getEmail());
+        for (String command : List.of("MAIL FROM:<" + from + ">", "RCPT TO:<" + to + ">", "DATA")) {
+            writeCommand(command);
+            output.flush();
+            SmtpReply reply = readReply();
+            if (!reply.isPositive()) {
+                writeCommand("RSET");
+                output.flush();
+                readReply();
+                return toResult(recipient, reply);
+            }
+        }
+        
+        writeData(template, recipient);
+        output.flush();
+        messagesSent++;
+        return toResult(recipient, readReply());
+    }
+    
+    private void writeEnvelope(String from, EmailRecipient recipient) throws IOException {
+        writeCommand("MAIL FROM:<" + from + ">");
+        writeCommand("RCPT TO:<" + MimeMessageTemplate.asciiAddress(recipient.getEmail()) + ">");
+        writeCommand("DATA");
+    }
+    
+    // O template já produz linhas CRLF sem ponto no início (dispensa dot-stuffing)
+    private void writeData(MimeMessageTemplate template, EmailRecipient recipient) throws IOException {
+        template.writeTo(recipient, output);
+        output.write(END_OF_DATA);
+    }
+    
+    private void writeCommand(String command) throws IOException {
+        output.write(command.getBytes(StandardCharsets.US_ASCII));
+        output.write(CRLF);
+    }
+    
+    private SmtpReply readReply() throws IOException {
+        List<String> lines = new ArrayList<>();
+        while (true) {
+            String line = readLine();
+            if (line.length() < 3) {
+                throw new IOException("Resposta SMTP inválida: " + line);
+            }
+            lines.add(line.length() > 4 ? line.substring(4) : "");
+            if (line.length() == 3 || line.charAt(3) != '-') {
+                return new SmtpReply(Integer.parseInt(line.substring(0, 3)), lines);
+            }
+        }
+    }
+    
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        int current;
+        while ((current = input.read()) != -1) {
+            if (current == '\n') {
+                break;
+            }
+            if (current != '\r') {
+                line.write(current);
+            }
+        }
+        if (current == -1 && line.size() == 0) {
+            throw new IOException("Conexão SMTP encerrada pelo servidor");
+        }
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+    
+    private SmtpReply expect(SmtpReply reply, String step) throws IOException {
+        if (!reply.isPositive()) {
+            throw new IOException("Falha no " + step + ": " + reply.describe());
+        }
+        return reply;
+    }
+    
+    private static SmtpReply firstFailure(SmtpReply... replies) {
+        for (SmtpReply reply : replies) {
+            if (!reply.isPositive()) {
+                return reply;
+            }
+        }
+        return replies[replies.length - 1];
+    }
+    
+    private static List<DeliveryResult> inOriginalOrder(List<EmailRecipient> recipients,
+                                                        List<DeliveryResult> sent, List<DeliveryResult> rejected) {
+        List<DeliveryResult> ordered = new ArrayList<>(recipients.size());
+        int sentIndex = 0;
+        int rejectedIndex = 0;
+        for (EmailRecipient recipient : recipients) {
+            if (rejectedIndex < rejected.size() && rejected.get(rejectedIndex).getRecipient() == recipient) {
+                ordered.add(rejected.get(rejectedIndex++));
+            } else {
+                ordered.add(sent.get(sentIndex++));
+            }
+        }
+        return ordered;
+    }
+    
+    private static DeliveryResult toResult(EmailRecipient recipient, SmtpReply reply) {
+        if (reply.isPositive() && reply.getCode() != DATA_READY) {
+            return DeliveryResult.delivered(recipient);
+        }
+        return reply.isPermanentFailure()
+                ? DeliveryResult.failed(recipient, reply.describe())
+                : DeliveryResult.transientFailure(recipient, reply.describe());
+    }
+}
@@ -0,0 +1,89 @@
+package com.api.futmail.service.email;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool de conexões SMTP de longa duração. Uma conexão é descartada ao
+ * atingir o limite de mensagens, ao falhar ou ao ficar ociosa além do
+ * tempo configurado.
+ */
+@Slf4j
+public class SmtpConnectionPool implements AutoCloseable {
+    
+    private final SmtpSettings settings;
+    private final Semaphore leases;
+    private final BlockingDeque<SmtpConnection> idle = new LinkedBlockingDeque<>();
+    private volatile boolean closed;
+    
+    public SmtpConnectionPool(SmtpSettings settings) {
+        this.settings = settings;
+        this.leases = new Semaphore(settings.getPoolSize(), true);
+    }
+    
+    public SmtpConnection borrow() throws IOException {
+        leases.acquireUninterruptibly();
+        try {
+            SmtpConnection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                if (isReusable(connection)) {
+                    return connection;
+                }
+                connection.close();
+            }
+            return SmtpConnection.open(settings);
+        } catch (IOException | RuntimeException e) {
+            leases.release();
+            throw e;
+        }
+    }
+    
+    public void release(SmtpConnection connection) {
+        try {
+            if (!closed && connection.isUsable()
+                    && connection.getMessagesSent() < settings.getMaxMessagesPerConnection()) {
+                idle.offerFirst(connection);
+            } else {
+                connection.close();
+            }
+        } finally {
+            leases.release();
+        }
+    }
+    
+    public void evictIdle() {
+        int evicted = 0;
+        for (SmtpConnection connection : idle) {
+            if (!isReusable(connection) && idle.remove(connection)) {
+                connection.close();
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.debug("🧹 {} conexões SMTP ociosas encerradas", evicted);
+        }
+    }
+    
+    public int idleCount() {
+        return idle.size();
+    }
+    
+    @Override
+    public void close() {
+        closed = true;
+        SmtpConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            connection.close();
+        }
+    }
+    
+    private boolean isReusable(SmtpConnection connection) {
+        return connection.isUsable()
+                && connection.idleNanos() < TimeUnit.MILLISECONDS.toNanos(settings.getIdleTimeoutMillis());
+    }
+}
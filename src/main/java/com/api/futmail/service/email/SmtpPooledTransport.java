@@ -0,0 +1,117 @@
+package com.api.futmail.service.email;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.api.futmail.model.EmailRecipient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transporte SMTP sobre um pool de conexões persistentes, cifradas e autenticadas.
+ * Cada lote do motor de envio usa uma conexão do pool para várias
+ * mensagens, com pipelining quando o servidor suporta.
+ * <p>
+ * O template MIME é codificado uma vez por newsletter e reaproveitado em
+ * todos os lotes dela; o cache usa a identidade da {@link EmailMessage} e
+ * solta o template quando o envio termina e a mensagem é coletada.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.email.transport", havingValue = "smtp")
+public class SmtpPooledTransport implements EmailTransport {
+    
+    // Envios simultâneos são poucos (app.newsletter.send-workers)
+    private static final int MAX_CACHED_TEMPLATES = 16;
+    
+    private final SmtpConnectionPool pool;
+    private final ScheduledExecutorService evictor;
+    private final String envelopeFrom;
+    private final int batchSize;
+    private final Cache<EmailMessage, MimeMessageTemplate> templates = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(MAX_CACHED_TEMPLATES)
+            .build();
+    
+    @Autowired
+    public SmtpPooledTransport(@Value("${app.email.smtp.host:localhost}") String host,
+                               @Value("${app.email.smtp.port:25}") int port,
+                               @Value("${app.email.smtp.username:}") String username,
+                               @Value("${app.email.smtp.password:}") String password,
+                               @Value("${app.email.smtp.tls:starttls}") SmtpTlsMode tlsMode,
+                               @Value("${app.email.smtp.allow-plaintext-auth:false}") boolean allowPlaintextAuth,
+                               @Value("${app.email.smtp.pool-size:8}") int poolSize,
+                               @Value("${app.email.smtp.max-messages-per-connection:1000}") int maxMessagesPerConnection,
+                               @Value("${app.email.smtp.idle-timeout-ms:30000}") long idleTimeoutMillis,
+                               @Value("${app.email.smtp.batch-size:100}") int batchSize,
+                               @Value("${app.email.from:newsletter@futmail.com}") String fromEmail) {
+        this(SmtpSettings.builder()
+                .host(host)
+                .port(port)
+                .heloName("futmail.local")
+                .username(username)
+                .password(password)
+                .tlsMode(tlsMode)
+                .allowPlaintextAuth(allowPlaintextAuth)
+                .poolSize(poolSize)
+                .maxMessagesPerConnection(maxMessagesPerConnection)
+                .idleTimeoutMillis(idleTimeoutMillis)
+                .timeoutMillis(30_000)
+                .build(), batchSize, fromEmail);
+    }
+    
+    public SmtpPooledTransport(SmtpSettings settings, int batchSize, String envelopeFrom) {
+        this.pool = new SmtpConnectionPool(settings);
+        this.envelopeFrom = envelopeFrom;
+        this.batchSize = Math.max(batchSize, 1);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "smtp-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long evictionPeriod = Math.max(settings.getIdleTimeoutMillis() / 2, 1_000);
+        this.evictor.scheduleWithFixedDelay(pool::evictIdle, evictionPeriod, evictionPeriod, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public int maxBatchSize() {
+        return batchSize;
+    }
+    
+    @Override
+    public List<DeliveryResult> send(EmailMessage message, List<EmailRecipient> recipients) {
+        MimeMessageTemplate template = templates.get(message, MimeMessageTemplate::new);
+        
+        SmtpConnection connection;
+        try {
+            connection = pool.borrow();
+        } catch (Exception e) {
+            log.error("❌ Não foi possível abrir conexão SMTP: {}", e.getMessage());
+            String error = "Conexão SMTP indisponível: " + e.getMessage();
+            return recipients.stream()
+                    .map(recipient -> DeliveryResult.transientFailure(recipient, error))
+                    .toList();
+        }
+        
+        try {
+            return connection.sendAll(envelopeFrom, recipients, template);
+        } finally {
+            pool.release(connection);
+        }
+    }
+    
+    @PreDestroy
+    public void close() {
+        evictor.shutdownNow();
+        pool.close();
+    }
+}
@@ -0,0 +1,28 @@
+package com.api.futmail.service.email;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SmtpReply {
+    
+    int code;
+    List<String> lines;
+    
+    public boolean isPositive() {
+        return code >= 200 && code < 400;
+    }
+    
+    public boolean isPermanentFailure() {
+        return code >= 500;
+    }
+    
+    public boolean hasCapability(String capability) {
+        return lines.stream().anyMatch(line -> line.toUpperCase().startsWith(capability));
+    }
+    
+    public String describe() {
+        return code + " " + String.join(" ", lines);
+    }
+}
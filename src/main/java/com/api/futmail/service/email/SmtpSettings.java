@@ -0,0 +1,23 @@
+package com.api.futmail.service.email;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SmtpSettings {
+    
+    String host;
+    int port;
+    String heloName;
+    String username;
+    String password;
+    int poolSize;
+    int maxMessagesPerConnection;
+    long idleTimeoutMillis;
+    int timeoutMillis;
+    @Builder.Default
+    SmtpTlsMode tlsMode = SmtpTlsMode.STARTTLS;
+    // Só para servidores de teste ou relays internos: expõe a senha na rede
+    boolean allowPlaintextAuth;
+}
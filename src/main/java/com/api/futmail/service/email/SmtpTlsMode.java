@@ -0,0 +1,14 @@
+package com.api.futmail.service.email;
+
+/**
+ * Como a conexão SMTP é cifrada, escolhido por {@code app.email.smtp.tls}.
+ */
+public enum SmtpTlsMode {
+    
+    // Porta 587: conexão em texto puro promovida com STARTTLS; falha se o servidor não anunciar
+    STARTTLS,
+    // Porta 465: TLS desde o primeiro byte
+    IMPLICIT,
+    // Relays locais sem TLS; AUTH só com app.email.smtp.allow-plaintext-auth=true
+    NONE
+}
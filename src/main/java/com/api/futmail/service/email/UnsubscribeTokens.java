@@ -0,0 +1,91 @@
+package com.api.futmail.service.email;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Tokens de descadastro no formato "id.assinatura", com HMAC-SHA256 do id do
+ * assinante truncado em 128 bits. Sem o segredo não é possível montar o token
+ * de outro assinante a partir do id ou do email.
+ * <p>
+ * Sem {@code app.unsubscribe.secret} configurado o segredo é gerado na
+ * inicialização, e os links dos envios anteriores deixam de valer ao reiniciar.
+ */
+@Slf4j
+@Component
+public class UnsubscribeTokens {
+    
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_BYTES = 16;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+    
+    @Autowired
+    public UnsubscribeTokens(@Value("${app.unsubscribe.secret:}") String secret) {
+        this(secret.isBlank() ? randomSecret() : secret.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public UnsubscribeTokens(byte[] secret) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+    
+    public String issue(long subscriberId) {
+        return subscriberId + "." + ENCODER.encodeToString(sign(subscriberId));
+    }
+    
+    public long verify(String token) {
+        int separator = token == null ? -1 : token.indexOf('.');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Token de descadastro inválido");
+        }
+        try {
+            long subscriberId = Long.parseLong(token.substring(0, separator));
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(signature, sign(subscriberId))) {
+                throw new IllegalArgumentException("Token de descadastro inválido");
+            }
+            return subscriberId;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Token de descadastro inválido", e);
+        }
+    }
+    
+    private byte[] sign(long subscriberId) {
+        byte[] digest = mac.get().doFinal(ByteBuffer.allocate(Long.BYTES).putLong(subscriberId).array());
+        return Arrays.copyOf(digest, SIGNATURE_BYTES);
+    }
+    
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 não disponível", e);
+        }
+    }
+    
+    private static byte[] randomSecret() {
+        log.warn("⚠️ app.unsubscribe.secret não configurado: links de descadastro valem só até reiniciar");
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+}
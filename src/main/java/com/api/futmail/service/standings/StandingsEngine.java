@@ -0,0 +1,202 @@
+package com.api.futmail.service.standings;
+
+import com.api.futmail.config.AppConstants;
+import com.api.futmail.model.ArchivedMatch;
+import com.api.futmail.model.CompetitionStandings;
+import com.api.futmail.model.MatchResult;
+import com.api.futmail.model.TeamStanding;
+import com.api.futmail.repository.ArchivedMatchRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Classificação de cada competição calculada localmente a partir dos jogos
+ * finalizados que passam pela coleta, sem chamadas à API. A temporada
+ * corrente é semeada com os jogos do backfill; um jogo muito depois do
+ * último aplicado indica temporada nova e recomeça a tabela.
+ * <p>
+ * Só ligas de pontos corridos têm tabela: na Champions os jogos de
+ * mata-mata não contam pontos e a coleta não distingue a fase do jogo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StandingsEngine {
+    
+    static final int TOP_POSITIONS = 4;
+    // Intervalo entre temporadas: nenhuma liga fica tanto tempo sem rodada no meio da temporada
+    static final Duration SEASON_GAP = Duration.ofDays(60);
+    static final Set<String> LEAGUE_COMPETITIONS = Set.of(
+            AppConstants.BRASILEIRAO_CODE, AppConstants.PREMIER_LEAGUE_CODE, AppConstants.LA_LIGA_CODE,
+            AppConstants.SERIE_A_CODE, AppConstants.BUNDESLIGA_CODE);
+    
+    private final ArchivedMatchRepository archivedMatchRepository;
+    private final Map<String, CompetitionTable> tables = new ConcurrentHashMap<>();
+    
+    /**
+     * Aplica os jogos finalizados; reaplicar um jogo já contado não muda a
+     * tabela. Retorna os códigos das competições cuja tabela mudou.
+     */
+    public Set<String> apply(Collection<MatchResult> matches) {
+        Map<String, List<MatchResult>> finishedByCompetition = matches.stream()
+                .filter(StandingsEngine::isApplicable)
+                .sorted(Comparator.comparing(MatchResult::getMatchDate))
+                .collect(Collectors.groupingBy(MatchResult::getCompetitionCode, TreeMap::new, Collectors.toList()));
+        
+        Set<String> changed = new TreeSet<>();
+        finishedByCompetition.forEach((code, finished) -> {
+            CompetitionTable competition = tableOf(code);
+            synchronized (competition) {
+                finished.forEach(match -> {
+                    if (competition.apply(match)) {
+                        changed.add(code);
+                    }
+                });
+            }
+        });
+        return changed;
+    }
+    
+    public Optional<List<TeamStanding>> standings(String competitionCode) {
+        CompetitionTable competition = tables.get(competitionCode);
+        if (competition == null) {
+            return Optional.empty();
+        }
+        synchronized (competition) {
+            return Optional.of(competition.table.toStandings());
+        }
+    }
+    
+    /**
+     * Classificação da competição se as primeiras posições mudaram desde a
+     * última publicada. Tabelas montadas no meio da temporada sem o histórico
+     * do backfill ficam de fora, pois não refletem a classificação real.
+     */
+    public Optional<CompetitionStandings> changedTopPositions(String competitionCode) {
+        CompetitionTable competition = tables.get(competitionCode);
+        if (competition == null) {
+            return Optional.empty();
+        }
+        synchronized (competition) {
+            if (!competition.complete || competition.table.leaders(TOP_POSITIONS).equals(competition.publishedLeaders)) {
+                return Optional.empty();
+            }
+            return Optional.of(new CompetitionStandings(competition.name, competition.table.toStandings()));
+        }
+    }
+    
+    // Chamado depois que a notícia da classificação foi gravada
+    public void markPublished(String competitionCode, CompetitionStandings standings) {
+        CompetitionTable competition = tables.get(competitionCode);
+        if (competition == null) {
+            return;
+        }
+        synchronized (competition) {
+            competition.publishedLeaders = standings.getStandings().stream()
+                    .limit(TOP_POSITIONS)
+                    .map(TeamStanding::getTeamName)
+                    .toList();
+        }
+    }
+    
+    private CompetitionTable tableOf(String competitionCode) {
+        CompetitionTable competition = tables.get(competitionCode);
+        if (competition != null) {
+            return competition;
+        }
+        // A semeadura consulta o banco fora do ConcurrentHashMap.computeIfAbsent
+        CompetitionTable seeded = seed(competitionCode);
+        CompetitionTable existing = tables.putIfAbsent(competitionCode, seeded);
+        return existing != null ? existing : seeded;
+    }
+    
+    private CompetitionTable seed(String competitionCode) {
+        CompetitionTable competition = new CompetitionTable(competitionCode);
+        Optional<Integer> season = archivedMatchRepository.findLatestSeason(competitionCode);
+        if (season.isEmpty()) {
+            log.info("📊 Sem temporada arquivada de {}: tabela montada só com os jogos coletados", competitionCode);
+            return competition;
+        }
+        
+        List<ArchivedMatch> archived = archivedMatchRepository.findByCompetitionCodeAndSeasonAndStatusOrderByMatchDate(
+                competitionCode, season.get(), "Finalizado");
+        for (ArchivedMatch match : archived) {
+            if (match.getHomeScore() != null && match.getAwayScore() != null) {
+                competition.record(match.getMatchId(), match.getHomeTeam(), match.getAwayTeam(),
+                        match.getHomeScore(), match.getAwayScore(), match.getMatchDate());
+            }
+        }
+        competition.complete = true;
+        competition.seasonStart = archived.isEmpty() ? null : archived.get(0).getMatchDate();
+        log.info("📊 Tabela de {} semeada com {} jogos da temporada {}",
+                competitionCode, competition.table.matchCount(), season.get());
+        return competition;
+    }
+    
+    private static boolean isApplicable(MatchResult match) {
+        return match.isFinished() && match.getId() != null && match.getCompetitionCode() != null
+                && LEAGUE_COMPETITIONS.contains(match.getCompetitionCode())
+                && match.getHomeScore() != null && match.getAwayScore() != null && match.getMatchDate() != null;
+    }
+    
+    // Estado de uma competição; acesso sincronizado na própria instância
+    private static final class CompetitionTable {
+        
+        private final String code;
+        private StandingsTable table;
+        private String name;
+        private boolean complete;
+        private LocalDateTime seasonStart;
+        private LocalDateTime latestMatch;
+        private List<String> publishedLeaders = List.of();
+        
+        private CompetitionTable(String code) {
+            this.code = code;
+            this.name = code;
+            this.table = new StandingsTable(TieBreakRule.forCompetition(code));
+        }
+        
+        private boolean apply(MatchResult match) {
+            if (match.getCompetition() != null) {
+                name = match.getCompetition();
+            }
+            if (latestMatch != null && match.getMatchDate().isAfter(latestMatch.plus(SEASON_GAP))) {
+                // Temporada nova vista desde a primeira rodada: a tabela é completa
+                log.info("📊 Nova temporada de {} a partir de {}", code, match.getMatchDate().toLocalDate());
+                table = new StandingsTable(TieBreakRule.forCompetition(code));
+                complete = true;
+                seasonStart = match.getMatchDate();
+            }
+            // Só tabelas completas sabem onde a temporada começa
+            if (seasonStart != null && match.getMatchDate().isBefore(seasonStart)) {
+                return false;
+            }
+            return record(match.getId(), match.getHomeTeam(), match.getAwayTeam(),
+                    match.getHomeScore(), match.getAwayScore(), match.getMatchDate());
+        }
+        
+        private boolean record(long matchId, String homeTeam, String awayTeam,
+                               int homeGoals, int awayGoals, LocalDateTime matchDate) {
+            if (latestMatch == null || matchDate.isAfter(latestMatch)) {
+                latestMatch = matchDate;
+            }
+            return table.apply(matchId, homeTeam, awayTeam, homeGoals, awayGoals);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.api.futmail.service.standings;
+
+import com.api.futmail.model.TeamStanding;
+import com.api.futmail.service.standings.TieBreakRule.Criterion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabela de uma competição em arrays de {@code int} indexados pelo ordinal
+ * do time (ordem em que apareceu). Cada jogo é aplicado de forma
+ * incremental; reaplicar o mesmo jogo não muda nada e um placar corrigido
+ * desfaz o anterior antes de contar o novo. Não é thread-safe.
+ */
+final class StandingsTable {
+    
+    private static final int INITIAL_CAPACITY = 32;
+    private static final int MAX_GOALS = 0xFFFF;
+    
+    private final TieBreakRule rule;
+    private final Map<String, Integer> teamOrdinals = new HashMap<>();
+    // Jogo aplicado -> mandante, visitante e placar empacotados
+    private final Map<Long, Long> applied = new HashMap<>();
+    
+    private int capacity;
+    private int teams;
+    private String[] names;
+    private int[] played;
+    private int[] won;
+    private int[] drawn;
+    private int[] lost;
+    private int[] goalsFor;
+    private int[] goalsAgainst;
+    private int[] points;
+    // Matrizes capacity x capacity: pontos e saldo de "linha" contra "coluna"
+    private int[] headToHeadPoints;
+    private int[] headToHeadGoalDifference;
+    
+    StandingsTable(TieBreakRule rule) {
+        this.rule = rule;
+        allocate(INITIAL_CAPACITY);
+    }
+    
+    /**
+     * Aplica o resultado final de um jogo. Retorna {@code false} se o jogo já
+     * estava aplicado com o mesmo placar.
+     */
+    boolean apply(long matchId, String homeTeam, String awayTeam, int homeGoals, int awayGoals) {
+        if (homeGoals < 0 || awayGoals < 0 || homeGoals > MAX_GOALS || awayGoals > MAX_GOALS) {
+            throw new IllegalArgumentException("Placar inválido: " + homeGoals + " x " + awayGoals);
+        }
+        long result = pack(ordinal(homeTeam), ordinal(awayTeam), homeGoals, awayGoals);
+        Long previous = applied.put(matchId, result);
+        if (previous != null && previous == result) {
+            return false;
+        }
+        if (previous != null) {
+            record(previous, -1);
+        }
+        record(result, 1);
+        return true;
+    }
+    
+    int teamCount() {
+        return teams;
+    }
+    
+    int matchCount() {
+        return applied.size();
+    }
+    
+    /** Ordinais dos times do primeiro ao último colocado. */
+    int[] ranking() {
+        int[] order = new int[teams];
+        for (int i = 0; i < teams; i++) {
+            order[i] = i;
+        }
+        sort(order, 0, teams, rule.beforeHeadToHead(), null);
+        
+        // Grupos ainda empatados são desempatados pela mini tabela dos jogos entre eles
+        int start = 0;
+        while (start < teams) {
+            int end = start + 1;
+            while (end < teams && compare(order[start], order[end], rule.beforeHeadToHead()) == 0) {
+                end++;
+            }
+            if (end - start > 1) {
+                sort(order, start, end, rule.afterHeadToHead(), miniTable(order, start, end));
+            }
+            start = end;
+        }
+        return order;
+    }
+    
+    // Times das primeiras posições, em ordem
+    List<String> leaders(int positions) {
+        int[] order = ranking();
+        List<String> leaders = new ArrayList<>(Math.min(positions, order.length));
+        for (int position = 0; position < order.length && position < positions; position++) {
+            leaders.add(names[order[position]]);
+        }
+        return leaders;
+    }
+    
+    List<TeamStanding> toStandings() {
+        int[] order = ranking();
+        List<TeamStanding> standings = new ArrayList<>(order.length);
+        for (int position = 0; position < order.length; position++) {
+            int team = order[position];
+            standings.add(new TeamStanding(position + 1, names[team], points[team], played[team],
+                    won[team], drawn[team], lost[team], goalsFor[team], goalsAgainst[team],
+                    goalsFor[team] - goalsAgainst[team]));
+        }
+        return standings;
+    }
+    
+    private void record(long result, int sign) {
+        int home = (int) (result >>> 48);
+        int away = (int) (result >>> 32) & 0xFFFF;
+        int homeGoals = (int) (result >>> 16) & 0xFFFF;
+        int awayGoals = (int) result & 0xFFFF;
+        int homePoints = homeGoals > awayGoals ? 3 : homeGoals == awayGoals ? 1 : 0;
+        int awayPoints = awayGoals > homeGoals ? 3 : homeGoals == awayGoals ? 1 : 0;
+        
+        played[home] += sign;
+        played[away] += sign;
+        goalsFor[home] += sign * homeGoals;
+        goalsAgainst[home] += sign * awayGoals;
+        goalsFor[away] += sign * awayGoals;
+        goalsAgainst[away] += sign * homeGoals;
+        points[home] += sign * homePoints;
+        points[away] += sign * awayPoints;
+        if (homeGoals > awayGoals) {
+            won[home] += sign;
+            lost[away] += sign;
+        } else if (homeGoals < awayGoals) {
+            won[away] += sign;
+            lost[home] += sign;
+        } else {
+            drawn[home] += sign;
+            drawn[away] += sign;
+        }
+        
+        headToHeadPoints[home * capacity + away] += sign * homePoints;
+        headToHeadPoints[away * capacity + home] += sign * awayPoints;
+        headToHeadGoalDifference[home * capacity + away] += sign * (homeGoals - awayGoals);
+        headToHeadGoalDifference[away * capacity + home] += sign * (awayGoals - homeGoals);
+    }
+    
+    // Pontos e saldo de cada time do grupo só nos jogos contra os outros do grupo,
+    // indexados pela posição em "order"
+    private int[][] miniTable(int[] order, int start, int end) {
+        int[] miniPoints = new int[teams];
+        int[] miniGoalDifference = new int[teams];
+        for (int i = start; i < end; i++) {
+            for (int j = start; j < end; j++) {
+                if (i != j) {
+                    miniPoints[order[i]] += headToHeadPoints[order[i] * capacity + order[j]];
+                    miniGoalDifference[order[i]] += headToHeadGoalDifference[order[i] * capacity + order[j]];
+                }
+            }
+        }
+        return new int[][] {miniPoints, miniGoalDifference};
+    }
+    
+    // Insertion sort: tabelas têm poucas dezenas de times e assim não há boxing
+    private void sort(int[] order, int from, int to, Criterion[] criteria, int[][] miniTable) {
+        for (int i = from + 1; i < to; i++) {
+            int team = order[i];
+            int j = i - 1;
+            while (j >= from && ranksAbove(team, order[j], criteria, miniTable)) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = team;
+        }
+    }
+    
+    private boolean ranksAbove(int team, int other, Criterion[] criteria, int[][] miniTable) {
+        if (miniTable != null) {
+            for (int[] column : miniTable) {
+                if (column[team] != column[other]) {
+                    return column[team] > column[other];
+                }
+            }
+        }
+        int byCriteria = compare(team, other, criteria);
+        if (byCriteria != 0) {
+            return byCriteria > 0;
+        }
+        return miniTable != null && names[team].compareTo(names[other]) < 0;
+    }
+    
+    private int compare(int team, int other, Criterion[] criteria) {
+        for (Criterion criterion : criteria) {
+            int difference = Integer.compare(value(criterion, team), value(criterion, other));
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+    
+    private int value(Criterion criterion, int team) {
+        switch (criterion) {
+            case POINTS: return points[team];
+            case WINS: return won[team];
+            case GOAL_DIFFERENCE: return goalsFor[team] - goalsAgainst[team];
+            case GOALS_FOR: return goalsFor[team];
+            default: throw new IllegalStateException("Critério desconhecido: " + criterion);
+        }
+    }
+    
+    private int ordinal(String team) {
+        Integer ordinal = teamOrdinals.get(team);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        if (teams == capacity) {
+            allocate(capacity * 2);
+        }
+        names[teams] = team;
+        teamOrdinals.put(team, teams);
+        return teams++;
+    }
+    
+    private void allocate(int newCapacity) {
+        int[] newHeadToHeadPoints = new int[newCapacity * newCapacity];
+        int[] newHeadToHeadGoalDifference = new int[newCapacity * newCapacity];
+        for (int row = 0; row < teams; row++) {
+            System.arraycopy(headToHeadPoints, row * capacity, newHeadToHeadPoints, row * newCapacity, teams);
+            System.arraycopy(headToHeadGoalDifference, row * capacity, newHeadToHeadGoalDifference, row * newCapacity, teams);
+        }
+        headToHeadPoints = newHeadToHeadPoints;
+        headToHeadGoalDifference = newHeadToHeadGoalDifference;
+        
+        names = names == null ? new String[newCapacity] : Arrays.copyOf(names, newCapacity);
+        played = grow(played, newCapacity);
+        won = grow(won, newCapacity);
+        drawn = grow(drawn, newCapacity);
+        lost = grow(lost, newCapacity);
+        goalsFor = grow(goalsFor, newCapacity);
+        goalsAgainst = grow(goalsAgainst, newCapacity);
+        points = grow(points, newCapacity);
+        capacity = newCapacity;
+    }
+    
+    private static int[] grow(int[] values, int newCapacity) {
+        return values == null ? new int[newCapacity] : Arrays.copyOf(values, newCapacity);
+    }
+    
+    private static long pack(int home, int away, int homeGoals, int awayGoals) {
+        return (long) home << 48 | (long) away << 32 | (long) homeGoals << 16 | awayGoals;
+    }
+}
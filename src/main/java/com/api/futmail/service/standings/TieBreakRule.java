@@ -0,0 +1,49 @@
+package com.api.futmail.service.standings;
+
+/**
+ * Critérios de desempate de cada liga. Os critérios "antes" valem para a
+ * tabela toda; entre times ainda empatados entra o confronto direto (mini
+ * tabela só com os jogos entre eles) e, por fim, os critérios "depois".
+ */
+public enum TieBreakRule {
+    
+    // Premier League e Bundesliga: saldo e gols pró antes do confronto direto
+    OVERALL_FIRST(new Criterion[] {Criterion.POINTS, Criterion.GOAL_DIFFERENCE, Criterion.GOALS_FOR},
+            new Criterion[] {}),
+    // La Liga e Serie A: confronto direto logo depois dos pontos
+    HEAD_TO_HEAD_FIRST(new Criterion[] {Criterion.POINTS},
+            new Criterion[] {Criterion.GOAL_DIFFERENCE, Criterion.GOALS_FOR}),
+    // Brasileirão: vitórias, saldo e gols pró, depois confronto direto
+    WINS_FIRST(new Criterion[] {Criterion.POINTS, Criterion.WINS, Criterion.GOAL_DIFFERENCE, Criterion.GOALS_FOR},
+            new Criterion[] {});
+    
+    enum Criterion { POINTS, WINS, GOAL_DIFFERENCE, GOALS_FOR }
+    
+    private final Criterion[] beforeHeadToHead;
+    private final Criterion[] afterHeadToHead;
+    
+    TieBreakRule(Criterion[] beforeHeadToHead, Criterion[] afterHeadToHead) {
+        this.beforeHeadToHead = beforeHeadToHead;
+        this.afterHeadToHead = afterHeadToHead;
+    }
+    
+    Criterion[] beforeHeadToHead() {
+        return beforeHeadToHead;
+    }
+    
+    Criterion[] afterHeadToHead() {
+        return afterHeadToHead;
+    }
+    
+    public static TieBreakRule forCompetition(String competitionCode) {
+        if (competitionCode == null) {
+            return OVERALL_FIRST;
+        }
+        switch (competitionCode) {
+            case "PD":
+            case "SA": return HEAD_TO_HEAD_FIRST;
+            case "BSA": return WINS_FIRST;
+            default: return OVERALL_FIRST;
+        }
+    }
+}
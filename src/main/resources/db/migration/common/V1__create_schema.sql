@@ -0,0 +1,107 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava com ddl-auto=create-drop.
+-- Enums são gravados como texto (EnumType.STRING)
+
+CREATE SEQUENCE news_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE newsletter_deliveries_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE email_dead_letters_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE backfill_checkpoints_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE news (
+    id           BIGINT        NOT NULL,
+    title        VARCHAR(500)  NOT NULL,
+    content      TEXT,
+    summary      VARCHAR(1000),
+    category     VARCHAR(20)   NOT NULL,
+    source_url   VARCHAR(255),
+    source_name  VARCHAR(255),
+    published_at TIMESTAMP(6)  NOT NULL,
+    created_at   TIMESTAMP(6)  NOT NULL,
+    active       BOOLEAN       NOT NULL,
+    content_hash VARCHAR(32),
+    CONSTRAINT pk_news PRIMARY KEY (id),
+    CONSTRAINT uk_news_content_hash UNIQUE (content_hash)
+);
+
+CREATE TABLE subscribers (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email      VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    active     BOOLEAN      NOT NULL,
+    status     VARCHAR(20),
+    CONSTRAINT pk_subscribers PRIMARY KEY (id),
+    CONSTRAINT uk_subscribers_email UNIQUE (email)
+);
+
+CREATE TABLE newsletters (
+    id                       BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    subject                  VARCHAR(255) NOT NULL,
+    content                  TEXT         NOT NULL,
+    html_content             TEXT,
+    sent_at                  TIMESTAMP(6),
+    created_at               TIMESTAMP(6) NOT NULL,
+    status                   VARCHAR(20)  NOT NULL,
+    total_subscribers        INTEGER,
+    emails_sent              INTEGER,
+    emails_failed            INTEGER,
+    checkpoint_subscriber_id BIGINT,
+    CONSTRAINT pk_newsletters PRIMARY KEY (id)
+);
+
+CREATE TABLE newsletter_deliveries (
+    id            BIGINT       NOT NULL,
+    newsletter_id BIGINT       NOT NULL,
+    subscriber_id BIGINT       NOT NULL,
+    state         VARCHAR(20)  NOT NULL,
+    attempts      INTEGER      NOT NULL,
+    last_error    VARCHAR(500),
+    updated_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_newsletter_deliveries PRIMARY KEY (id),
+    CONSTRAINT uk_newsletter_deliveries_newsletter_subscriber UNIQUE (newsletter_id, subscriber_id)
+);
+
+CREATE TABLE email_dead_letters (
+    id            BIGINT       NOT NULL,
+    newsletter_id BIGINT,
+    subscriber_id BIGINT,
+    email         VARCHAR(255) NOT NULL,
+    last_error    VARCHAR(500),
+    attempts      INTEGER      NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_email_dead_letters PRIMARY KEY (id)
+);
+
+CREATE TABLE match_states (
+    match_id   BIGINT       NOT NULL,
+    status     VARCHAR(20)  NOT NULL,
+    home_score INTEGER,
+    away_score INTEGER,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_match_states PRIMARY KEY (match_id)
+);
+
+CREATE TABLE archived_matches (
+    match_id         BIGINT       NOT NULL,
+    competition_code VARCHAR(10)  NOT NULL,
+    season           INTEGER      NOT NULL,
+    match_date       TIMESTAMP(6) NOT NULL,
+    status           VARCHAR(20)  NOT NULL,
+    home_team        VARCHAR(255) NOT NULL,
+    away_team        VARCHAR(255) NOT NULL,
+    home_score       INTEGER,
+    away_score       INTEGER,
+    CONSTRAINT pk_archived_matches PRIMARY KEY (match_id)
+);
+
+CREATE INDEX idx_archived_matches_competition_season ON archived_matches (competition_code, season);
+
+CREATE TABLE backfill_checkpoints (
+    id               BIGINT       NOT NULL,
+    competition_code VARCHAR(10)  NOT NULL,
+    season           INTEGER      NOT NULL,
+    state            VARCHAR(20)  NOT NULL,
+    matches_imported INTEGER      NOT NULL,
+    last_error       VARCHAR(500),
+    updated_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_backfill_checkpoints PRIMARY KEY (id),
+    CONSTRAINT uk_backfill_checkpoints_competition_season UNIQUE (competition_code, season)
+);
@@ -0,0 +1,9 @@
+-- Listagens de notícias ativas mais recentes primeiro (findActiveNews,
+-- findActiveNewsAfterDate, findTodaysNews) e por categoria (findByCategory)
+CREATE INDEX idx_news_active_published_at ON news (active, published_at DESC);
+CREATE INDEX idx_news_category_active_published_at ON news (category, active, published_at DESC);
+
+-- Ledger de entregas: contagem por estado de cada newsletter
+CREATE INDEX idx_newsletter_deliveries_newsletter_state ON newsletter_deliveries (newsletter_id, state);
+CREATE INDEX idx_email_dead_letters_newsletter ON email_dead_letters (newsletter_id);
+CREATE INDEX idx_match_states_updated_at ON match_states (updated_at);
@@ -0,0 +1,7 @@
+-- Listagens por cursor ordenam por (published_at, id): o id entra no fim das
+-- chaves para que o desempate também venha do índice
+DROP INDEX idx_news_active_published_at;
+DROP INDEX idx_news_category_active_published_at;
+
+CREATE INDEX idx_news_active_published_at ON news (active, published_at DESC, id DESC);
+CREATE INDEX idx_news_category_active_published_at ON news (category, active, published_at DESC, id DESC);
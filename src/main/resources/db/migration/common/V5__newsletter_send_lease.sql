@@ -0,0 +1,2 @@
+-- Prazo da reserva de envio: impede que duas instâncias enviem a mesma newsletter
+ALTER TABLE newsletters ADD COLUMN send_lease_until TIMESTAMP(6);
@@ -0,0 +1,2 @@
+-- Dono da reserva de envio: só quem fez a reserva renova o prazo e conclui o envio
+ALTER TABLE newsletters ADD COLUMN send_claim_token VARCHAR(36);
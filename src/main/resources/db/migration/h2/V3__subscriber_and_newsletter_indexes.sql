@@ -0,0 +1,5 @@
+-- O H2 não tem índice parcial nem INCLUDE: mesmas chaves de acesso da
+-- versão PostgreSQL, com o status na frente no lugar do filtro
+CREATE INDEX idx_subscribers_active_id ON subscribers (status, id);
+
+CREATE INDEX idx_newsletters_created_at ON newsletters (created_at DESC, id DESC);
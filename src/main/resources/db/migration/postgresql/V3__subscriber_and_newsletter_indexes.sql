@@ -0,0 +1,8 @@
+-- Só assinantes ativos recebem newsletter: índice parcial em ordem de id,
+-- que é a ordem de paginação do envio (findPendingRecipientsAfter)
+CREATE INDEX idx_subscribers_active_id ON subscribers (id) INCLUDE (email) WHERE status = 'ACTIVE';
+
+-- Listagem de newsletters mais recentes primeiro; as colunas de resumo
+-- ficam no próprio índice
+CREATE INDEX idx_newsletters_created_at ON newsletters (created_at DESC, id DESC)
+    INCLUDE (subject, status, sent_at, total_subscribers, emails_sent, emails_failed);
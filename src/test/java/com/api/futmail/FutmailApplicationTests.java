@@ -3,7 +3,7 @@ package com.api.futmail;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "football.polling.enabled=false")
 class FutmailApplicationTests {
 
 	@Test
@@ -0,0 +1,53 @@
+package com.api.futmail.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.futmail.model.News;
+import com.api.futmail.model.NewsCategory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "football.polling.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:news-bulk-insert"
+})
+class NewsRepositoryBulkInsertTests {
+    
+    @Autowired
+    private NewsRepository newsRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Test
+    void insertsInOneBatchSkippingExistingAndRepeatedHashes() {
+        News existing = newsRepository.save(news("Flamengo 2 x 0 Vasco"));
+        
+        List<News> collected = List.of(news("Flamengo 2 x 0 Vasco"), news("Palmeiras 1 x 1 Santos"),
+                news("Grêmio 3 x 2 Inter"), news("Palmeiras 1 x 1 Santos"));
+        Integer inserted = transactionTemplate.execute(status -> newsRepository.insertIgnoringDuplicates(collected));
+        
+        assertThat(inserted).isEqualTo(2);
+        assertThat(newsRepository.count()).isEqualTo(3);
+        
+        // Ids do lote e do gerador do Hibernate saem de blocos distintos da sequence
+        News afterBatch = newsRepository.save(news("Bahia 1 x 0 Vitória"));
+        assertThat(newsRepository.findAll()).extracting(News::getId).doesNotHaveDuplicates().hasSize(4);
+        assertThat(afterBatch.getId()).isNotEqualTo(existing.getId());
+    }
+    
+    private static News news(String title) {
+        return News.builder()
+                .title(title)
+                .content(title + " pelo campeonato")
+                .category(NewsCategory.BRAZILIAN_LEAGUE)
+                .publishedAt(LocalDateTime.of(2025, 3, 15, 18, 0))
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.api.futmail.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.futmail.model.NewsCategory;
+import com.api.futmail.model.SubscriptionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Confere pelo EXPLAIN do H2 que as consultas geradas pelos repositórios
+ * usam os índices das migrações em vez de varrer a tabela.
+ */
+@SpringBootTest(properties = {
+        "football.polling.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:query-plans",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.api.futmail.repository.QueryPlanTests$RecordingInspector"
+})
+class QueryPlanTests {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 15, 12, 0);
+    
+    @Autowired
+    private NewsRepository newsRepository;
+    
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+    
+    @Autowired
+    private NewsletterRepository newsletterRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void clearRecordedStatements() {
+        RecordingInspector.STATEMENTS.clear();
+    }
+    
+    @Test
+    void newsListingsUseTheActivePublishedIndexes() {
+        newsRepository.findActiveNewsAfterDate(NOW);
+        assertThat(plan(lastSelect("news"), NOW)).contains("IDX_NEWS_ACTIVE_PUBLISHED_AT");
+        
+        newsRepository.findTodaysNews(NOW, NOW.plusDays(1));
+        assertThat(plan(lastSelect("news"), NOW, NOW.plusDays(1))).contains("IDX_NEWS_ACTIVE_PUBLISHED_AT");
+        
+        newsRepository.findByCategory(NewsCategory.RESULTS);
+        assertThat(plan(lastSelect("news"), NewsCategory.RESULTS.name())).contains("IDX_NEWS_CATEGORY_ACTIVE_PUBLISHED_AT");
+        
+        newsRepository.findActiveNewsBefore(NOW, 42L, PageRequest.of(0, 11));
+        assertThat(plan(lastSelect("news"), NOW, NOW, 42L, 11)).contains("IDX_NEWS_ACTIVE_PUBLISHED_AT");
+        
+        newsRepository.findActiveNewsByCategoryBefore(NewsCategory.RESULTS, NOW, 42L, PageRequest.of(0, 11));
+        assertThat(plan(lastSelect("news"), NewsCategory.RESULTS.name(), NOW, NOW, 42L, 11))
+                .contains("IDX_NEWS_CATEGORY_ACTIVE_PUBLISHED_AT");
+    }
+    
+    @Test
+    void subscriberAndNewsletterQueriesUseTheirIndexes() {
+        subscriberRepository.findByStatus(SubscriptionStatus.ACTIVE);
+        assertThat(plan(lastSelect("subscribers"), SubscriptionStatus.ACTIVE.name())).contains("IDX_SUBSCRIBERS_ACTIVE_ID");
+        
+        newsletterRepository.findCreatedBefore(NOW, 42L, PageRequest.of(0, 21));
+        assertThat(plan(lastSelect("newsletters"), NOW, NOW, 42L, 21)).contains("IDX_NEWSLETTERS_CREATED_AT");
+    }
+    
+    private String plan(String sql, Object... args) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+        return rows.get(0).values().iterator().next().toString();
+    }
+    
+    // Última consulta de listagem na tabela (ignora o count da paginação)
+    private static String lastSelect(String table) {
+        List<String> selects = RecordingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " ") && !sql.contains("count("))
+                .toList();
+        return selects.get(selects.size() - 1);
+    }
+    
+    public static class RecordingInspector implements StatementInspector {
+        
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.api.futmail.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.MatchResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class LivePollingPolicyTests {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 15, 15, 0);
+    
+    private final LivePollingPolicy policy = new LivePollingPolicy(
+            Duration.ofSeconds(30), Duration.ofSeconds(60), Duration.ofHours(1));
+    
+    @Test
+    void pollsEveryThirtySecondsWhileLiveMatchKeepsChanging() {
+        List<MatchResult> matches = List.of(match("Em Andamento", NOW.minusMinutes(40)), match("Agendado", NOW.plusHours(2)));
+        
+        assertThat(policy.nextPoll(matches, true, NOW)).contains(NOW.plusSeconds(30));
+        assertThat(policy.nextPoll(List.of(match("Pausado", NOW.minusMinutes(50))), false, NOW)).contains(NOW.plusSeconds(60));
+    }
+    
+    @Test
+    void wakesUpAtKickoffAndWaitsForTheMatchToGoLive() {
+        assertThat(policy.nextPoll(List.of(match("Agendado", NOW.plusMinutes(20))), false, NOW))
+                .contains(NOW.plusMinutes(20));
+        assertThat(policy.nextPoll(List.of(match("Agendado", NOW.minusMinutes(2))), false, NOW))
+                .contains(NOW.plusSeconds(60));
+    }
+    
+    @Test
+    void backsOffToHourlyAndStopsWhenNothingIsAhead() {
+        assertThat(policy.nextPoll(List.of(match("Agendado", NOW.plusHours(5))), false, NOW))
+                .contains(NOW.plusHours(1));
+        assertThat(policy.nextPoll(List.of(match("Finalizado", NOW.minusHours(2)),
+                match("Agendado", NOW.minusHours(4))), false, NOW)).isEmpty();
+        assertThatThrownBy(() -> new LivePollingPolicy(Duration.ofMinutes(5), Duration.ofSeconds(60), Duration.ofHours(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private static MatchResult match(String status, LocalDateTime kickoff) {
+        return MatchResult.builder()
+                .id(1L)
+                .homeTeam("Arsenal")
+                .awayTeam("Chelsea")
+                .status(status)
+                .matchDate(kickoff)
+                .competition("Premier League")
+                .competitionCode("PL")
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.api.futmail.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.api.futmail.service.FootballApiScheduler.ApiResponse;
+import com.api.futmail.service.FootballApiScheduler.BodyReader;
+import com.api.futmail.service.FootballApiScheduler.Priority;
+import com.api.futmail.support.FootballDataStubServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+class FootballApiSchedulerTests {
+
+    private static final BodyReader<String> BODY = (body, notModified) -> new String(body.readAllBytes(), StandardCharsets.UTF_8);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FootballDataStubServer stub;
+    private FootballApiScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    void waitsForResetInsteadOfSpendingCallsOnRateLimit() throws Exception {
+        start(2);
+
+        List<CompletableFuture<ApiResponse<String>>> calls = IntStream.range(0, 5)
+                .mapToObj(i -> scheduler.submit(request("/matches/" + i), Priority.MATCHES, BODY))
+                .toList();
+
+        assertThat(calls).allSatisfy(call -> assertThat(call.join()).isNotNull());
+        assertThat(stub.servedPaths()).hasSize(5);
+        assertThat(stub.rateLimitedCount()).isZero();
+        assertThat(meterRegistry.counter("football.api.requests", "outcome", "success").count()).isEqualTo(5);
+    }
+
+    @Test
+    void dispatchesHigherPriorityFirstWhenBudgetIsExhausted() throws Exception {
+        start(1);
+        scheduler.submit(request("/warmup"), Priority.MATCHES, BODY).join();
+
+        CompletableFuture<ApiResponse<String>> standings = scheduler.submit(request("/standings"), Priority.STANDINGS, BODY);
+        CompletableFuture<ApiResponse<String>> competition = scheduler.submit(request("/competition"), Priority.MATCHES, BODY);
+        CompletableFuture<ApiResponse<String>> live = scheduler.submit(request("/live"), Priority.LIVE, BODY);
+        CompletableFuture.allOf(standings, competition, live).join();
+
+        assertThat(stub.servedPaths()).containsExactly("/warmup", "/live", "/competition", "/standings");
+        assertThat(stub.rateLimitedCount()).isZero();
+        assertThat(meterRegistry.timer("football.api.queue.wait", "priority", "live").count()).isEqualTo(1);
+    }
+
+    @Test
+    void revalidatesCachedResponsesWithEtag(@TempDir File cacheDirectory) throws Exception {
+        stub = new FootballDataStubServer(10, 1000).respondingWith("{\"matches\":[{\"id\":1}]}");
+        scheduler = new FootballApiScheduler(FootballDataService.buildHttpClient(cacheDirectory, 1024 * 1024),
+                10, Duration.ofSeconds(30), meterRegistry);
+
+        ApiResponse<String> first = scheduler.submit(request("/matches"), Priority.LIVE, BODY).join();
+        ApiResponse<String> second = scheduler.submit(request("/matches"), Priority.LIVE, BODY).join();
+        stub.respondingWith("{\"matches\":[{\"id\":2}]}");
+        ApiResponse<String> changed = scheduler.submit(request("/matches"), Priority.LIVE, BODY).join();
+
+        assertThat(first.isNotModified()).isFalse();
+        assertThat(second.isNotModified()).isTrue();
+        assertThat(second.getValue()).isEqualTo(first.getValue());
+        assertThat(changed.isNotModified()).isFalse();
+        assertThat(changed.getValue()).contains("\"id\":2");
+        assertThat(stub.notModifiedCount()).isEqualTo(1);
+    }
+
+    private void start(int requestsPerSecond) throws Exception {
+        stub = new FootballDataStubServer(requestsPerSecond, 1000);
+        scheduler = new FootballApiScheduler(new OkHttpClient(), 10, Duration.ofSeconds(30), meterRegistry);
+    }
+
+    private Request request(String path) {
+        return new Request.Builder().url(stub.baseUrl() + path).build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.api.futmail.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.MatchResult;
+import com.api.futmail.model.TeamStanding;
+import com.api.futmail.support.FootballPayloads;
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+class FootballJsonParserTests {
+
+    private final FootballJsonParser parser = new FootballJsonParser(new JsonFactory());
+
+    @Test
+    void keepsOnlyTheLatestMatchesNewestFirst() throws IOException {
+        byte[] payload = FootballPayloads.matches(380, 7L);
+
+        List<MatchResult> latest = parser.latestMatches(new ByteArrayInputStream(payload), 5);
+        List<MatchResult> all = parser.firstMatches(new ByteArrayInputStream(payload), Integer.MAX_VALUE);
+
+        List<MatchResult> expected = new ArrayList<>(all.subList(375, 380));
+        Collections.reverse(expected);
+
+        assertThat(all).hasSize(380);
+        assertThat(latest).hasSize(5)
+                .isSortedAccordingTo(Comparator.comparing(MatchResult::getMatchDate).reversed())
+                .containsExactlyElementsOf(expected);
+        assertThat(latest.get(0).getStatus()).isEqualTo("Finalizado");
+        assertThat(latest.get(0).getCompetition()).isEqualTo("Premier League");
+        assertThat(latest.get(0).getHomeScore()).isNotNull();
+    }
+
+    @Test
+    void stopsReadingOnceTheLimitIsReached() throws IOException {
+        byte[] payload = FootballPayloads.matches(2000, 7L);
+        CountingInputStream body = new CountingInputStream(new ByteArrayInputStream(payload));
+
+        List<MatchResult> first = parser.firstMatches(body, 10);
+
+        assertThat(first).hasSize(10);
+        assertThat(body.bytesRead).isLessThan(payload.length / 20);
+    }
+
+    @Test
+    void readsOnlyTheOverallTable() throws IOException {
+        List<TeamStanding> table = parser.firstTable(new ByteArrayInputStream(FootballPayloads.standings()));
+
+        assertThat(table).hasSize(20);
+        assertThat(table.get(0).getPosition()).isEqualTo(1);
+        assertThat(table.get(0).getTeamName()).isEqualTo("Arsenal FC");
+        assertThat(table.get(0).getPoints()).isEqualTo(50);
+    }
+
+    @Test
+    void skipsMatchesWithMissingFields() throws IOException {
+        String json = """
+                {"matches":[
+                  {"homeTeam":null,"awayTeam":{"name":"Santos"},"status":"FINISHED",
+                   "utcDate":"2024-05-01T19:00:00Z","competition":{"name":"Brasileirão"}},
+                  {"homeTeam":{"name":"Flamengo"},"awayTeam":{"name":"Santos"},"status":"IN_PLAY",
+                   "utcDate":"2024-05-02T19:00:00Z","competition":{"name":"Brasileirão"},
+                   "score":{"fullTime":{"home":2,"away":null}}}
+                ]}""";
+
+        List<MatchResult> matches = parser.firstMatches(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Integer.MAX_VALUE);
+
+        assertThat(matches).singleElement().satisfies(match -> {
+            assertThat(match.getHomeTeam()).isEqualTo("Flamengo");
+            assertThat(match.getStatus()).isEqualTo("Em Andamento");
+            assertThat(match.getHomeScore()).isEqualTo(2);
+            assertThat(match.getAwayScore()).isNull();
+        });
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long bytesRead;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                bytesRead++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                bytesRead += count;
+            }
+            return count;
+        }
+    }
+}
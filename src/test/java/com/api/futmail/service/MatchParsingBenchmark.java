@@ -0,0 +1,99 @@
+package com.api.futmail.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.api.futmail.model.MatchResult;
+import com.api.futmail.support.FootballPayloads;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara o parser por árvore usado antes (corpo em String, {@code readTree}
+ * e percurso dos nós) com o parser por tokens direto do stream.
+ * Executado por {@link MatchParsingBenchmarkTests} no perfil load-test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchParsingBenchmark {
+
+    @Param({"380", "2000"})
+    public int matches;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FootballJsonParser streamingParser = new FootballJsonParser(new JsonFactory());
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        payload = FootballPayloads.matches(matches, 42L);
+    }
+
+    @Benchmark
+    public List<MatchResult> treeLatestFive() throws IOException {
+        String body = new String(payload, StandardCharsets.UTF_8);
+        return treeParse(body).stream()
+                .sorted((m1, m2) -> m2.getMatchDate().compareTo(m1.getMatchDate()))
+                .limit(5)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<MatchResult> streamingLatestFive() throws IOException {
+        return streamingParser.latestMatches(new ByteArrayInputStream(payload), 5);
+    }
+
+    @Benchmark
+    public List<MatchResult> treeFirstTen() throws IOException {
+        String body = new String(payload, StandardCharsets.UTF_8);
+        return treeParse(body).stream().limit(10).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<MatchResult> streamingFirstTen() throws IOException {
+        return streamingParser.firstMatches(new ByteArrayInputStream(payload), 10);
+    }
+
+    // Mesma lógica do parser anterior do FootballDataService
+    private List<MatchResult> treeParse(String body) throws IOException {
+        List<MatchResult> result = new ArrayList<>();
+        JsonNode matchesNode = objectMapper.readTree(body).get("matches");
+        for (JsonNode matchNode : matchesNode) {
+            JsonNode fullTime = matchNode.get("score").get("fullTime");
+            result.add(new MatchResult(
+                    matchNode.get("id").asLong(),
+                    matchNode.get("homeTeam").get("name").asText(),
+                    matchNode.get("awayTeam").get("name").asText(),
+                    fullTime.get("home").isNull() ? null : fullTime.get("home").asInt(),
+                    fullTime.get("away").isNull() ? null : fullTime.get("away").asInt(),
+                    FootballJsonParser.translateStatus(matchNode.get("status").asText()),
+                    LocalDateTime.parse(matchNode.get("utcDate").asText().substring(0, 19)),
+                    matchNode.get("competition").get("name").asText(),
+                    matchNode.get("competition").get("code").asText()));
+        }
+        return result;
+    }
+}
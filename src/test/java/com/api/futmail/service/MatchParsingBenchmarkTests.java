@@ -0,0 +1,40 @@
+package com.api.futmail.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Roda o {@link MatchParsingBenchmark}. Executar com:
+ * {@code mvn test -Pload-test -Dtest=MatchParsingBenchmarkTests}
+ */
+@Tag("load")
+class MatchParsingBenchmarkTests {
+
+    @Test
+    void streamingParserBeatsTreeParser() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(MatchParsingBenchmark.class.getName())
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> scores = results.stream().collect(Collectors.toMap(
+                result -> result.getParams().getBenchmark().replaceAll(".*\\.", "")
+                        + ":" + result.getParams().getParam("matches"),
+                result -> result.getPrimaryResult().getScore()));
+        scores.forEach((benchmark, score) -> System.out.printf("%-28s %12.1f us/op%n", benchmark, score));
+
+        assertThat(scores.get("streamingLatestFive:2000")).isLessThan(scores.get("treeLatestFive:2000"));
+        assertThat(scores.get("streamingFirstTen:2000")).isLessThan(scores.get("treeFirstTen:2000") / 10);
+    }
+}
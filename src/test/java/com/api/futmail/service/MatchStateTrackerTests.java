@@ -0,0 +1,86 @@
+package com.api.futmail.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.futmail.model.MatchResult;
+import com.api.futmail.repository.MatchStateRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest(properties = "football.polling.enabled=false")
+class MatchStateTrackerTests {
+    
+    private static final LocalDateTime KICKOFF = LocalDateTime.of(2025, 3, 15, 16, 0);
+    
+    @Autowired
+    private MatchStateRepository repository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void emitsOnlyNewAndChangedMatchesAndSurvivesRestart() {
+        MatchStateTracker tracker = new MatchStateTracker(repository, 30);
+        
+        MatchDelta first = collect(tracker, List.of(
+                match(9001L, "Em Andamento", 0, 0), match(9002L, "Agendado", null, null)));
+        assertThat(first.getNewCount()).isEqualTo(2);
+        
+        MatchDelta second = collect(tracker, List.of(
+                match(9001L, "Em Andamento", 1, 0), match(9002L, "Agendado", null, null), match(null, "Agendado", null, null)));
+        assertThat(second.getEmitted()).extracting(MatchResult::getId).containsExactly(9001L, null);
+        assertThat(second.getChangedCount()).isEqualTo(1);
+        assertThat(second.getNewCount()).isEqualTo(1);
+        assertThat(second.getUnchanged()).isEqualTo(1);
+        
+        MatchStateTracker restarted = new MatchStateTracker(repository, 30);
+        MatchDelta afterRestart = restarted.diff(List.of(
+                match(9001L, "Em Andamento", 1, 0), match(9002L, "Finalizado", null, null)));
+        assertThat(afterRestart.getEmitted()).extracting(MatchResult::getId).containsExactly(9002L);
+        assertThat(afterRestart.getUnchanged()).isEqualTo(1);
+    }
+    
+    @Test
+    void prunesExpiredStatesFromMemoryToo() {
+        collect(new MatchStateTracker(repository, 30), List.of(match(9101L, "Finalizado", 2, 1)));
+        jdbcTemplate.update("UPDATE match_states SET updated_at = ? WHERE match_id = ?",
+                LocalDateTime.now().minusDays(31), 9101L);
+        
+        MatchStateTracker tracker = new MatchStateTracker(repository, 30);
+        collect(tracker, List.of(match(9102L, "Agendado", null, null)));
+        
+        assertThat(repository.existsById(9101L)).isFalse();
+        assertThat(tracker.diff(List.of(match(9101L, "Finalizado", 2, 1))).getNewCount()).isEqualTo(1);
+    }
+    
+    private MatchDelta collect(MatchStateTracker tracker, List<MatchResult> matches) {
+        MatchDelta delta = tracker.diff(matches);
+        transactionTemplate.executeWithoutResult(status -> tracker.save(delta));
+        tracker.remember(delta);
+        return delta;
+    }
+    
+    private static MatchResult match(Long id, String status, Integer homeScore, Integer awayScore) {
+        return MatchResult.builder()
+                .id(id)
+                .homeTeam("Arsenal")
+                .awayTeam("Chelsea")
+                .homeScore(homeScore)
+                .awayScore(awayScore)
+                .status(status)
+                .matchDate(KICKOFF)
+                .competition("Premier League")
+                .competitionCode("PL")
+                .build();
+    }
+}
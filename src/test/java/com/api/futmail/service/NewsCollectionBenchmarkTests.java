@@ -0,0 +1,196 @@
+package com.api.futmail.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.api.futmail.config.CacheConfig;
+import com.api.futmail.model.CollectionResult;
+import com.api.futmail.support.FootballDataFixtureServer;
+import com.api.futmail.support.FootballPayloads;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@code collectTodaysNews} ponta a ponta contra o servidor de fixtures:
+ * tempo, alocação (soma aproximada de todas as threads) e round-trips ao
+ * banco (statements preparados pelo Hibernate). Executar com:
+ * {@code mvn test -Pload-test -Dtest=NewsCollectionBenchmarkTests}; use
+ * {@code -Dbenchmark.fixtures=<diretório>} para repetir respostas gravadas
+ * da API real em vez das sintéticas.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "football.polling.enabled=false",
+        "football.api.requests-per-minute=1000",
+        "football.api.max-queue-wait-seconds=30"
+})
+class NewsCollectionBenchmarkTests {
+
+    private static final FootballDataFixtureServer FIXTURES = startFixtureServer();
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void fixtureServer(DynamicPropertyRegistry registry) throws IOException {
+        registry.add("football.api.base-url", FIXTURES::baseUrl);
+        registry.add("football.api.cache.directory",
+                () -> createTempDirectory().toString());
+    }
+
+    @AfterAll
+    static void stopFixtureServer() {
+        FIXTURES.close();
+    }
+
+    @Test
+    void measuresCollectionAgainstFixtures() {
+        int iterations = Integer.getInteger("benchmark.collections", 20);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Sample cold = measure(statistics, cache -> cache.clear());
+        // As visões de hoje/recentes consultam o repositório de jogos enquanto as
+        // competições ainda carregam; a segunda coleta completa o que faltou na primeira
+        measure(statistics, cache -> { });
+        List<Sample> steady = repeat(iterations, statistics, cache -> cache.clear());
+        List<Sample> warm = repeat(iterations, statistics, cache -> { });
+        FIXTURES.withLatency(Duration.ofMillis(20), Duration.ofMillis(30)).withFailures(0.05, 0.05, 2024);
+        List<Sample> faulty = repeat(iterations, statistics, cache -> cache.clear());
+
+        report("fria", List.of(cold));
+        report("sem cache de domínio", steady);
+        report("cache de domínio quente", warm);
+        report("latência + 429/5xx", faulty);
+        System.out.printf("📊 Fixtures: %d respostas, %d 429, %d 5xx%n",
+                FIXTURES.servedCount(), FIXTURES.rateLimitedCount(), FIXTURES.serverErrorCount());
+
+        assertThat(cold.result.getCreated()).isPositive();
+        assertThat(steady).allSatisfy(sample -> {
+            assertThat(sample.result.getCreated()).isZero();
+            assertThat(sample.result.getChangedMatches()).isZero();
+            assertThat(sample.statements).isLessThan(cold.statements);
+        });
+        assertThat(warm).allSatisfy(sample -> assertThat(sample.statements).isLessThanOrEqualTo(steady.get(0).statements));
+    }
+
+    private List<Sample> repeat(int iterations, Statistics statistics,
+                                Consumer<org.springframework.cache.Cache> prepare) {
+        List<Sample> samples = new ArrayList<>(iterations);
+        for (int i = 0; i < iterations; i++) {
+            samples.add(measure(statistics, prepare));
+        }
+        return samples;
+    }
+
+    private Sample measure(Statistics statistics, Consumer<org.springframework.cache.Cache> prepare) {
+        prepare.accept(cacheManager.getCache(CacheConfig.FOOTBALL_MATCHES_CACHE));
+        statistics.clear();
+        long allocatedBefore = allocatedBytes();
+        long startedAt = System.nanoTime();
+
+        CollectionResult result = newsService.collectTodaysNews();
+
+        long elapsed = System.nanoTime() - startedAt;
+        return new Sample(result, elapsed, allocatedBytes() - allocatedBefore, statistics.getPrepareStatementCount());
+    }
+
+    private static void report(String scenario, List<Sample> samples) {
+        long[] times = samples.stream().mapToLong(sample -> sample.elapsedNanos).sorted().toArray();
+        double allocatedMb = samples.stream().mapToLong(sample -> sample.allocatedBytes).average().orElse(0) / (1024 * 1024);
+        double statements = samples.stream().mapToLong(sample -> sample.statements).average().orElse(0);
+        System.out.printf("📊 %-24s n=%-3d p50 %6.1f ms  p95 %6.1f ms  %7.2f MB alocados  %6.1f statements  (%s)%n",
+                scenario, samples.size(), percentile(times, 0.50) / 1e6, percentile(times, 0.95) / 1e6,
+                allocatedMb, statements, samples.get(samples.size() - 1).result.getSummary());
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    // Threads encerradas durante a medição ficam de fora; os pools usados na coleta são fixos
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, allocated);
+        }
+        return total;
+    }
+
+    private static FootballDataFixtureServer startFixtureServer() {
+        try {
+            String recorded = System.getProperty("benchmark.fixtures");
+            if (recorded != null) {
+                return FootballDataFixtureServer.replaying(Path.of(recorded));
+            }
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS);
+            byte[] premierLeague = FootballPayloads.competitionMatches("PL", "Premier League", 500_000,
+                    now.minusDays(30), Duration.ofHours(6), 150, now);
+            return FootballDataFixtureServer.inMemory()
+                    .withFixture("/matches", premierLeague)
+                    .withFixture("/competitions/PL/matches", premierLeague)
+                    .withFixture("/competitions/PD/matches", FootballPayloads.competitionMatches("PD", "Primera Division",
+                            600_000, now.minusDays(30), Duration.ofHours(8), 110, now))
+                    .withFixture("/competitions/CL/matches", FootballPayloads.competitionMatches("CL", "UEFA Champions League",
+                            700_000, now.minusDays(30), Duration.ofHours(12), 60, now))
+                    .withFixture("/competitions/BSA/matches", FootballPayloads.competitionMatches("BSA", "Campeonato Brasileiro Série A",
+                            800_000, LocalDateTime.of(2024, 4, 13, 19, 0), Duration.ofHours(14), 380, now))
+                    .withFixture("/competitions/PL/standings", FootballPayloads.standings());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("futmail-benchmark-cache");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Sample {
+
+        private final CollectionResult result;
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+        private final long statements;
+
+        private Sample(CollectionResult result, long elapsedNanos, long allocatedBytes, long statements) {
+            this.result = result;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.statements = statements;
+        }
+    }
+}
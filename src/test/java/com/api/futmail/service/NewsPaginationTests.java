@@ -0,0 +1,64 @@
+package com.api.futmail.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.api.futmail.dto.CursorPage;
+import com.api.futmail.dto.NewsResponse;
+import com.api.futmail.model.News;
+import com.api.futmail.model.NewsCategory;
+import com.api.futmail.repository.NewsRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "football.polling.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:news-pagination"
+})
+class NewsPaginationTests {
+    
+    private static final LocalDateTime PUBLISHED = LocalDateTime.of(2025, 3, 15, 18, 0);
+    
+    @Autowired
+    private NewsService newsService;
+    
+    @Autowired
+    private NewsRepository newsRepository;
+    
+    @Test
+    void walksAllPagesByCursorWithoutRepeatingTiedTimestamps() {
+        List<News> news = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Grupos de cinco notícias com o mesmo horário forçam o desempate pelo id
+            news.add(News.builder()
+                    .title("Notícia " + i)
+                    .content("Conteúdo " + i)
+                    .category(NewsCategory.RESULTS)
+                    .publishedAt(PUBLISHED.minusHours(i / 5))
+                    .build());
+        }
+        newsRepository.saveAll(news);
+        
+        List<NewsResponse> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<NewsResponse> page = newsService.getNewsByCategoryPage(NewsCategory.RESULTS, cursor, 10);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).extracting(NewsResponse::getId).doesNotHaveDuplicates().hasSize(25);
+        assertThat(seen).extracting(NewsResponse::getPublishedAt).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThatThrownBy(() -> newsService.getNewsPage("não-é-um-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.api.futmail.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.futmail.model.Newsletter;
+import com.api.futmail.model.NewsletterStatus;
+import com.api.futmail.repository.NewsletterRepository;
+import com.api.futmail.service.email.SendProgressListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SpringBootTest(properties = {
+        "football.polling.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:newsletter-send-claim"
+})
+class NewsletterSendClaimTests {
+    
+    @Autowired
+    private NewsletterService newsletterService;
+    
+    @Autowired
+    private NewsletterRepository newsletterRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Test
+    void onlyOneConcurrentClaimWins() throws Exception {
+        Long id = saveDraft();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Optional<SendClaim>>> claims = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                claims.add(() -> newsletterService.claimSending(id));
+            }
+            long winners = 0;
+            for (Future<Optional<SendClaim>> claim : executor.invokeAll(claims)) {
+                winners += claim.get().isPresent() ? 1 : 0;
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(newsletterRepository.findById(id).orElseThrow().getStatus()).isEqualTo(NewsletterStatus.SENDING);
+    }
+    
+    @Test
+    void resumesInterruptedSendOnlyAfterLeaseExpires() {
+        Long id = saveDraft();
+        assertThat(newsletterService.claimSending(id)).isPresent();
+        
+        assertThat(newsletterService.findInterruptedNewsletterIds()).doesNotContain(id);
+        assertThat(newsletterService.claimSending(id)).isEmpty();
+        
+        expireLease(id);
+        
+        assertThat(newsletterService.findInterruptedNewsletterIds()).contains(id);
+        assertThat(newsletterService.claimSending(id)).isPresent();
+    }
+    
+    @Test
+    void previousOwnerCannotRenewOrCompleteAfterReclaim() {
+        Long id = saveDraft();
+        SendClaim previous = newsletterService.claimSending(id).orElseThrow();
+        expireLease(id);
+        SendClaim current = newsletterService.claimSending(id).orElseThrow();
+        
+        Integer renewed = transactionTemplate.execute(status -> newsletterRepository.renewSendLease(
+                id, previous.getToken(), LocalDateTime.now().plusMinutes(2)));
+        assertThat(renewed).isZero();
+        
+        assertThatThrownBy(() -> newsletterService.deliverNewsletter(previous, SendProgressListener.NONE))
+                .isInstanceOf(IllegalStateException.class);
+        
+        Newsletter newsletter = newsletterRepository.findById(id).orElseThrow();
+        assertThat(newsletter.getStatus()).isEqualTo(NewsletterStatus.SENDING);
+        assertThat(newsletter.getSendClaimToken()).isEqualTo(current.getToken());
+    }
+    
+    private void expireLease(Long id) {
+        jdbcTemplate.update("UPDATE newsletters SET send_lease_until = DATEADD('MINUTE', -1, CURRENT_TIMESTAMP) WHERE id = ?", id);
+    }
+    
+    private Long saveDraft() {
+        return newsletterRepository.save(Newsletter.builder()
+                .subject("⚽ Futmail - Teste")
+                .content("Teste")
+                .htmlContent("<p>Teste</p>")
+                .status(NewsletterStatus.DRAFT)
+                .build()).getId();
+    }
+}
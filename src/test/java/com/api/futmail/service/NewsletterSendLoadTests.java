@@ -0,0 +1,138 @@
+package com.api.futmail.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.api.futmail.dto.NewsletterResponse;
+import com.api.futmail.model.Newsletter;
+import com.api.futmail.model.NewsletterStatus;
+import com.api.futmail.repository.NewsletterRepository;
+import com.api.futmail.service.email.EmailMessage;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envio ponta a ponta de uma newsletter para uma base sintética no H2, com
+ * o transporte simulado determinístico. Executar com:
+ * {@code mvn test -Pload-test -Dloadtest.subscribers=1000000}
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "football.polling.enabled=false",
+        "app.email.transport=simulated",
+        "app.email.simulated.seed=2024",
+        "app.email.simulated.latency=log-normal",
+        "app.email.simulated.latency-ms=20",
+        "app.email.simulated.latency-sigma=0.6",
+        "app.email.simulated.spike-rate=0.001",
+        "app.email.simulated.spike-ms=1000",
+        "app.email.simulated.transient-failure-rate=0.02",
+        "app.email.simulated.permanent-failure-rate=0.001",
+        "app.email.retry.initial-backoff-ms=100",
+        "app.email.retry.max-backoff-ms=2000",
+        "app.email.bulk.max-concurrency=200"
+})
+class NewsletterSendLoadTests {
+    
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final String[] DOMAINS = {
+            "torcida.com.br", "futmail.test", "clube.org", "arquibancada.net", "torcedores.com"
+    };
+    
+    @Autowired
+    private NewsletterService newsletterService;
+    
+    @Autowired
+    private NewsletterRepository newsletterRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void sendsNewsletterToSyntheticAudience() throws Exception {
+        int subscribers = Integer.getInteger("loadtest.subscribers", 100_000);
+        insertSubscribers(subscribers);
+        Newsletter newsletter = newsletterRepository.save(Newsletter.builder()
+                .subject("⚽ Futmail - Teste de carga")
+                .content("Teste de carga")
+                .htmlContent("<p>Rodada completa</p><a href=\"" + EmailMessage.UNSUBSCRIBE_PLACEHOLDER + "\">Descadastrar</a>")
+                .status(NewsletterStatus.DRAFT)
+                .build());
+        
+        HeapSampler heap = new HeapSampler();
+        heap.start();
+        long startedAt = System.nanoTime();
+        
+        NewsletterResponse response = newsletterService.sendNewsletter(newsletter.getId());
+        
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        heap.finish();
+        
+        assertThat(response.getEmailsSent() + response.getEmailsFailed()).isEqualTo(subscribers);
+        assertThat(response.getEmailsSent()).isGreaterThan((int) (subscribers * 0.99));
+        
+        double perSecond = subscribers / Math.max(elapsed.toMillis() / 1000.0, 0.001);
+        System.out.printf("📊 Carga: %d assinantes em %d ms (%.1f emails/s), enviados %d, falhas %d, heap máximo %d MB%n",
+                subscribers, elapsed.toMillis(), perSecond, response.getEmailsSent(), response.getEmailsFailed(),
+                heap.peakBytes() / (1024 * 1024));
+    }
+    
+    private void insertSubscribers(int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int start = 0; start < count; start += INSERT_BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH_SIZE);
+            for (int i = start; i < Math.min(start + INSERT_BATCH_SIZE, count); i++) {
+                rows.add(new Object[] {"torcedor" + i + "@" + DOMAINS[i % DOMAINS.length], now});
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO subscribers (email, created_at, active, status) VALUES (?, ?, TRUE, 'ACTIVE')", rows);
+        }
+    }
+    
+    // Amostra o heap usado a cada 50ms durante o envio
+    private static class HeapSampler extends Thread {
+        
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final AtomicLong peak = new AtomicLong();
+        private volatile boolean running = true;
+        
+        HeapSampler() {
+            super("heap-sampler");
+            setDaemon(true);
+        }
+        
+        @Override
+        public void run() {
+            while (running) {
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+        
+        void finish() throws InterruptedException {
+            running = false;
+            join();
+        }
+        
+        long peakBytes() {
+            return peak.get();
+        }
+    }
+}
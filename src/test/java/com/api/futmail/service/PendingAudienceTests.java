@@ -0,0 +1,119 @@
+package com.api.futmail.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.api.futmail.model.DeliveryState;
+import com.api.futmail.model.EmailRecipient;
+import com.api.futmail.model.NewsletterDelivery;
+import com.api.futmail.model.Subscriber;
+import com.api.futmail.model.SubscriptionStatus;
+import com.api.futmail.repository.NewsletterDeliveryRepository;
+import com.api.futmail.repository.SubscriberRepository;
+import com.api.futmail.service.email.AudienceCursor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "football.polling.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:pending-audience"
+})
+class PendingAudienceTests {
+    
+    private static final long NEWSLETTER_ID = 42L;
+    private static final int CHUNK_SIZE = 10;
+    
+    @Autowired
+    private SubscriberService subscriberService;
+    
+    @Autowired
+    private SubscriberRepository subscriberRepository;
+    
+    @Autowired
+    private NewsletterDeliveryRepository deliveryRepository;
+    
+    private List<Long> activeIds;
+    
+    @BeforeEach
+    void setUp() {
+        deliveryRepository.deleteAll();
+        subscriberRepository.deleteAll();
+        
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Descadastrados no meio da sequência não podem abrir buraco nos blocos
+            subscribers.add(Subscriber.builder()
+                    .email("torcedor" + i + "@futmail.com")
+                    .status(i % 8 == 7 ? SubscriptionStatus.UNSUBSCRIBED : SubscriptionStatus.ACTIVE)
+                    .build());
+        }
+        activeIds = subscriberRepository.saveAll(subscribers).stream()
+                .filter(subscriber -> subscriber.getStatus() == SubscriptionStatus.ACTIVE)
+                .map(Subscriber::getId)
+                .sorted()
+                .toList();
+    }
+    
+    @Test
+    void readsTheWholeAudienceInOrderedChunksAcrossPageBoundaries() {
+        List<List<EmailRecipient>> chunks = readAll(subscriberService.openPendingAudience(NEWSLETTER_ID, 0L, CHUNK_SIZE));
+        
+        assertThat(chunks).extracting(List::size).containsExactly(10, 10, 2);
+        assertThat(idsOf(chunks)).containsExactlyElementsOf(activeIds);
+    }
+    
+    @Test
+    void resumesAfterTheGivenSubscriber() {
+        long checkpoint = activeIds.get(11);
+        
+        List<List<EmailRecipient>> chunks = readAll(subscriberService.openPendingAudience(NEWSLETTER_ID, checkpoint, CHUNK_SIZE));
+        
+        assertThat(idsOf(chunks)).containsExactlyElementsOf(activeIds.subList(12, activeIds.size()));
+    }
+    
+    @Test
+    void skipsRecipientsAlreadySentInTheLedger() {
+        Long sent = activeIds.get(3);
+        Long failed = activeIds.get(4);
+        Long sentToOtherNewsletter = activeIds.get(15);
+        deliveryRepository.saveAll(List.of(
+                delivery(NEWSLETTER_ID, sent, DeliveryState.SENT),
+                delivery(NEWSLETTER_ID, failed, DeliveryState.FAILED),
+                delivery(NEWSLETTER_ID + 1, sentToOtherNewsletter, DeliveryState.SENT)));
+        
+        List<List<EmailRecipient>> chunks = readAll(subscriberService.openPendingAudience(NEWSLETTER_ID, 0L, CHUNK_SIZE));
+        
+        List<Long> expected = new ArrayList<>(activeIds);
+        expected.remove(sent);
+        assertThat(idsOf(chunks)).containsExactlyElementsOf(expected).contains(failed, sentToOtherNewsletter);
+        assertThat(chunks).extracting(List::size).containsExactly(10, 10, 1);
+    }
+    
+    private static List<List<EmailRecipient>> readAll(AudienceCursor cursor) {
+        List<List<EmailRecipient>> chunks = new ArrayList<>();
+        cursor.forEachRemaining(chunks::add);
+        return chunks;
+    }
+    
+    private static List<Long> idsOf(List<List<EmailRecipient>> chunks) {
+        return chunks.stream()
+                .flatMap(List::stream)
+                .map(EmailRecipient::getSubscriberId)
+                .toList();
+    }
+    
+    private static NewsletterDelivery delivery(Long newsletterId, Long subscriberId, DeliveryState state) {
+        return NewsletterDelivery.builder()
+                .newsletterId(newsletterId)
+                .subscriberId(subscriberId)
+                .state(state)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
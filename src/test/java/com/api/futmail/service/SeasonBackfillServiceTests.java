@@ -0,0 +1,103 @@
+package com.api.futmail.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.api.futmail.model.BackfillState;
+import com.api.futmail.model.SendJobStatus;
+import com.api.futmail.repository.ArchivedMatchRepository;
+import com.api.futmail.repository.BackfillCheckpointRepository;
+import com.api.futmail.support.FootballDataFixtureServer;
+import com.api.futmail.support.FootballPayloads;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:season-backfill",
+        "spring.jpa.show-sql=false",
+        "football.polling.enabled=false",
+        "football.backfill.resume-on-startup=false",
+        "football.backfill.job-retention=PT0S"
+})
+class SeasonBackfillServiceTests {
+    
+    private static final int MATCHES_PER_SEASON = 380;
+    private static final FootballDataFixtureServer FIXTURES = startFixtureServer();
+    
+    @Autowired
+    private SeasonBackfillService backfillService;
+    
+    @Autowired
+    private ArchivedMatchRepository archivedMatchRepository;
+    
+    @Autowired
+    private BackfillCheckpointRepository checkpointRepository;
+    
+    @DynamicPropertySource
+    static void fixtureServer(DynamicPropertyRegistry registry) {
+        registry.add("football.api.base-url", FIXTURES::baseUrl);
+    }
+    
+    @AfterAll
+    static void stopFixtureServer() {
+        FIXTURES.close();
+    }
+    
+    @Test
+    void resumesFromCheckpointsAfterFailedSeasons() throws InterruptedException {
+        SeasonBackfillJob first = awaitFinished(backfillService.start(List.of("PL", "PD"), 2022, 2023));
+        
+        assertThat(first.getStatus()).isEqualTo(SendJobStatus.FAILED);
+        assertThat(first.getSeasonsImportedCount()).isEqualTo(2);
+        assertThat(first.getSeasonsFailedCount()).isEqualTo(2);
+        assertThat(archivedMatchRepository.countByCompetitionCodeAndSeason("PL", 2022)).isEqualTo(MATCHES_PER_SEASON);
+        assertThat(checkpointRepository.findByCompetitionCodeAndSeason("PD", 2023))
+                .hasValueSatisfying(checkpoint -> assertThat(checkpoint.getState()).isEqualTo(BackfillState.FAILED));
+        
+        FIXTURES.withFixture("/competitions/PD/matches?season=2022", season("PD", 2022, 620_000))
+                .withFixture("/competitions/PD/matches?season=2023", season("PD", 2023, 630_000));
+        SeasonBackfillJob resumed = awaitFinished(backfillService.start(List.of("PL", "PD"), 2022, 2023));
+        
+        assertThat(resumed.getStatus()).isEqualTo(SendJobStatus.COMPLETED);
+        assertThat(resumed.getSeasonsSkippedCount()).isEqualTo(2);
+        assertThat(resumed.getMatchesImportedCount()).isEqualTo(2 * MATCHES_PER_SEASON);
+        assertThat(archivedMatchRepository.count()).isEqualTo(4L * MATCHES_PER_SEASON);
+        // Retenção zero: o job anterior, já encerrado, sai ao iniciar o seguinte
+        assertThat(backfillService.findJob(first.getId())).isEmpty();
+        assertThat(backfillService.findJob(resumed.getId())).contains(resumed);
+    }
+    
+    private static SeasonBackfillJob awaitFinished(SeasonBackfillJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (job.isActive() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        return job;
+    }
+    
+    private static byte[] season(String code, int season, int firstId) {
+        LocalDateTime start = LocalDateTime.of(season, 8, 10, 16, 0);
+        return FootballPayloads.competitionMatches(code, code, firstId, start, Duration.ofHours(19),
+                MATCHES_PER_SEASON, start.plusYears(1));
+    }
+    
+    private static FootballDataFixtureServer startFixtureServer() {
+        try {
+            return FootballDataFixtureServer.inMemory()
+                    .withFixture("/competitions/PL/matches?season=2022", season("PL", 2022, 520_000))
+                    .withFixture("/competitions/PL/matches?season=2023", season("PL", 2023, 530_000));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.api.futmail.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.MatchResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+class MatchCacheExpiryTests {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 15, 14, 0);
+    private static final LocalDate TODAY = NOW.toLocalDate();
+    private static final Duration LIVE_TTL = Duration.ofSeconds(30);
+    private static final Duration SCHEDULED_TTL = Duration.ofHours(2);
+    private static final Duration STORE_RETENTION = Duration.ofHours(48);
+    private static final MatchWindow BRASILEIRAO_2024 =
+            MatchWindow.of("BSA", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), "FINISHED");
+    
+    private final MatchCacheExpiry expiry = new MatchCacheExpiry(LIVE_TTL, SCHEDULED_TTL, STORE_RETENTION,
+            Clock.fixed(Instant.from(NOW.atOffset(ZoneOffset.UTC)), ZoneOffset.UTC));
+    
+    @Test
+    void finishedMatchesOfClosedWindowLastAsLongAsTheStoreKeepsThem() {
+        long ttl = expiry.ttlNanos(BRASILEIRAO_2024, List.of(match("Finalizado", NOW.minusMonths(4))));
+        
+        assertThat(ttl).isEqualTo(STORE_RETENTION.toNanos());
+    }
+    
+    @Test
+    void closedWindowIsFetchedAgainOnceTheStoreDropsItsMatches() {
+        MutableClock clock = new MutableClock(Instant.from(NOW.atOffset(ZoneOffset.UTC)));
+        MatchStore store = new MatchStore(STORE_RETENTION, clock);
+        Cache<Object, Object> cache = Caffeine.newBuilder()
+                .expireAfter(new MatchCacheExpiry(LIVE_TTL, SCHEDULED_TTL, STORE_RETENTION, clock))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+        AtomicInteger fetches = new AtomicInteger(0);
+        MatchResult finished = match("Finalizado", LocalDateTime.of(2024, 12, 8, 16, 0));
+        finished.setId(1L);
+        Function<Object, Object> loader = window -> {
+            fetches.incrementAndGet();
+            List<MatchResult> matches = List.of(finished);
+            store.mergeAll(matches);
+            return matches;
+        };
+        
+        cache.get(BRASILEIRAO_2024, loader);
+        clock.advance(STORE_RETENTION.plusHours(1));
+        store.mergeAll(List.of());
+        assertThat(store.size()).isZero();
+        
+        cache.get(BRASILEIRAO_2024, loader);
+        
+        assertThat(fetches.get()).isEqualTo(2);
+        assertThat(store.query(MatchResult::isFinished, MatchStore.BY_DATE, 5)).containsExactly(finished);
+    }
+    
+    @Test
+    void liveMatchExpiresInSeconds() {
+        MatchWindow window = MatchWindow.of(null, TODAY, TODAY, null);
+        
+        long ttl = expiry.ttlNanos(window, List.of(
+                match("Finalizado", NOW.minusHours(3)),
+                match("Em Andamento", NOW.minusMinutes(30))));
+        
+        assertThat(ttl).isEqualTo(LIVE_TTL.toNanos());
+    }
+    
+    @Test
+    void scheduledMatchesExpireAtNextKickoff() {
+        MatchWindow window = MatchWindow.of(null, TODAY, TODAY.plusDays(7), "SCHEDULED");
+        
+        long soon = expiry.ttlNanos(window, List.of(match("Agendado", NOW.plusMinutes(40))));
+        long later = expiry.ttlNanos(window, List.of(match("Agendado", NOW.plusDays(2))));
+        
+        assertThat(soon).isEqualTo(Duration.ofMinutes(40).toNanos());
+        assertThat(later).isEqualTo(SCHEDULED_TTL.toNanos());
+    }
+    
+    @Test
+    void openWindowWithFinishedMatchesStillExpires() {
+        MatchWindow window = MatchWindow.of("PL", TODAY.minusDays(30), TODAY, "FINISHED");
+        
+        long ttl = expiry.ttlNanos(window, List.of(match("Finalizado", NOW.minusDays(1))));
+        
+        assertThat(ttl).isEqualTo(SCHEDULED_TTL.toNanos());
+    }
+    
+    private static MatchResult match(String status, LocalDateTime date) {
+        return MatchResult.builder()
+                .homeTeam("Flamengo")
+                .awayTeam("Palmeiras")
+                .homeScore(1)
+                .awayScore(0)
+                .status(status)
+                .matchDate(date)
+                .competition("Brasileirão")
+                .build();
+    }
+}
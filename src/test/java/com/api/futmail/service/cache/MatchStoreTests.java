@@ -0,0 +1,57 @@
+package com.api.futmail.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.MatchResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class MatchStoreTests {
+    
+    private static final LocalDateTime KICKOFF = LocalDateTime.of(2025, 3, 15, 16, 0);
+    
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-15T18:00:00Z"));
+    private final MatchStore store = new MatchStore(Duration.ofHours(48), clock);
+    
+    @Test
+    void overlappingFetchesKeepOneCopyPerMatch() {
+        store.mergeAll(List.of(match(1L, "PL", "Em Andamento", KICKOFF), match(2L, "PL", "Agendado", KICKOFF.plusDays(1))));
+        store.mergeAll(List.of(match(1L, "PL", "Finalizado", KICKOFF), match(3L, "PD", "Finalizado", KICKOFF)));
+        
+        List<MatchResult> finishedToday = store.query(
+                MatchStore.between(KICKOFF.toLocalDate(), KICKOFF.toLocalDate()).and(MatchResult::isFinished),
+                MatchStore.BY_DATE, Integer.MAX_VALUE);
+        
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(finishedToday).extracting(MatchResult::getId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(store.query(MatchStore.inCompetition("PL"), MatchStore.BY_DATE, 1))
+                .singleElement().extracting(MatchResult::getStatus).isEqualTo("Finalizado");
+    }
+    
+    @Test
+    void evictsMatchesNoFetchReturnedWithinRetention() {
+        store.mergeAll(List.of(match(1L, "PL", "Finalizado", KICKOFF)));
+        clock.advance(Duration.ofHours(49));
+        store.mergeAll(List.of(match(2L, "PL", "Agendado", KICKOFF.plusDays(3))));
+        
+        assertThat(store.query(match -> true, MatchStore.BY_DATE, Integer.MAX_VALUE))
+                .extracting(MatchResult::getId).containsExactly(2L);
+    }
+    
+    private static MatchResult match(Long id, String competitionCode, String status, LocalDateTime date) {
+        return MatchResult.builder()
+                .id(id)
+                .homeTeam("Casa " + id)
+                .awayTeam("Fora " + id)
+                .status(status)
+                .matchDate(date)
+                .competition(competitionCode)
+                .competitionCode(competitionCode)
+                .build();
+    }
+}
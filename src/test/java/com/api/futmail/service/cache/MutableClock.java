@@ -0,0 +1,35 @@
+package com.api.futmail.service.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+final class MutableClock extends Clock {
+    
+    private Instant now;
+    
+    MutableClock(Instant now) {
+        this.now = now;
+    }
+    
+    void advance(Duration duration) {
+        now = now.plus(duration);
+    }
+    
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+    
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+    
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
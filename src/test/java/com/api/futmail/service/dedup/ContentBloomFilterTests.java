@@ -0,0 +1,49 @@
+package com.api.futmail.service.dedup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.ContentFingerprint;
+
+class ContentBloomFilterTests {
+    
+    @Test
+    void neverMissesAddedContentAndStaysNearTheTargetFalsePositiveRate() {
+        ContentBloomFilter filter = new ContentBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(ContentFingerprint.of("Jogo " + i, "Resumo do jogo " + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain(ContentFingerprint.of("Jogo " + i, "Resumo do jogo " + i))).isTrue();
+        }
+        
+        int falsePositives = 0;
+        for (int i = 10_000; i < 30_000; i++) {
+            if (filter.mightContain(ContentFingerprint.of("Jogo " + i, "Resumo do jogo " + i))) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 20_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+        assertThat(filter.memoryBytes()).isLessThan(16 * 1024);
+    }
+    
+    @Test
+    void fingerprintsSeparateFieldsAndKeepAStableFormat() {
+        String fingerprint = ContentFingerprint.of("Flamengo 2 x 0 Vasco", "Gols de Pedro e Arrascaeta");
+        
+        assertThat(fingerprint).hasSize(ContentFingerprint.HEX_LENGTH).matches("[0-9a-f]+");
+        assertThat(ContentFingerprint.of("Flamengo 2 x 0 Vasco", "Gols de Pedro e Arrascaeta")).isEqualTo(fingerprint);
+        assertThat(ContentFingerprint.of("ab", "c")).isNotEqualTo(ContentFingerprint.of("a", "bc"));
+        assertThat(ContentFingerprint.of("São Paulo", null)).isNotEqualTo(ContentFingerprint.of("São Paulo", ""));
+    }
+    
+    @Test
+    void loneSurrogateDoesNotCutTheRestOfTheField() {
+        String pedro = ContentFingerprint.of("Gol \uD83D de Pedro", "Resumo");
+        
+        assertThat(pedro).isNotEqualTo(ContentFingerprint.of("Gol \uD83D de Arrascaeta", "Resumo"));
+        assertThat(pedro).isEqualTo(ContentFingerprint.of("Gol ? de Pedro", "Resumo"));
+    }
+}
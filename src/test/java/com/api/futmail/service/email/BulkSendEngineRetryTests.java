@@ -0,0 +1,190 @@
+package com.api.futmail.service.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.EmailRecipient;
+import com.api.futmail.model.EmailSendResult;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+class BulkSendEngineRetryTests {
+    
+    private static final EmailMessage MESSAGE = EmailMessage.builder()
+            .fromEmail("newsletter@futmail.com")
+            .fromName("Futmail")
+            .subject("Teste")
+            .htmlContent("<p>Olá</p>")
+            .build();
+    
+    private BulkSendEngine engine;
+    
+    @BeforeEach
+    void setUp() {
+        engine = new BulkSendEngine(8, RetryPolicy.builder()
+                .maxAttempts(3)
+                .initialBackoffMillis(20)
+                .maxBackoffMillis(200)
+                .build());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+    
+    @Test
+    void retriesTransientFailuresUntilDelivered() {
+        ScriptedTransport transport = new ScriptedTransport((recipient, attempt) ->
+                recipient.getSubscriberId() % 20 == 0 && attempt == 1
+                        ? DeliveryResult.transientFailure(recipient, "421 Tente mais tarde")
+                        : DeliveryResult.delivered(recipient));
+        RecordingListener listener = new RecordingListener();
+        
+        EmailSendResult result = engine.send(chunks(2000, 500), transport, MESSAGE, listener);
+        
+        assertThat(result.isFullSuccess()).isTrue();
+        assertThat(result.getSent()).isEqualTo(2000);
+        assertThat(transport.calls.get()).isEqualTo(2000 + 100);
+        assertThat(listener.deliveries.get()).isEqualTo(2000);
+        assertThat(listener.deadLetters).isEmpty();
+        assertThat(listener.lastCheckpoint.get()).isEqualTo(2000);
+        // Latência por destinatário: os 5% reenviados esperaram o backoff de 20ms
+        assertThat(result.getP99LatencyMs()).isGreaterThanOrEqualTo(20);
+    }
+    
+    @Test
+    void deadLettersPermanentAndExhaustedFailures() {
+        ScriptedTransport transport = new ScriptedTransport((recipient, attempt) -> {
+            if (recipient.getSubscriberId() == 7) {
+                return DeliveryResult.failed(recipient, "550 Caixa inexistente");
+            }
+            if (recipient.getSubscriberId() == 8) {
+                return DeliveryResult.transientFailure(recipient, "451 Erro temporário");
+            }
+            return DeliveryResult.delivered(recipient);
+        });
+        RecordingListener listener = new RecordingListener();
+        
+        EmailSendResult result = engine.send(chunks(100, 50), transport, MESSAGE, listener);
+        
+        assertThat(result.getSent()).isEqualTo(98);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(listener.deadLetters).containsEntry("user7@futmail.com", 1).containsEntry("user8@futmail.com", 3);
+        assertThat(listener.lastCheckpoint.get()).isEqualTo(100);
+    }
+    
+    @Test
+    void stopsReadingAndDispatchingWhenStopIsRequested() {
+        AtomicBoolean stop = new AtomicBoolean(false);
+        ScriptedTransport transport = new ScriptedTransport((recipient, attempt) -> {
+            stop.set(true);
+            return DeliveryResult.delivered(recipient);
+        });
+        RecordingListener listener = new RecordingListener();
+        
+        EmailSendResult result = engine.send(chunks(2000, 500), transport, MESSAGE, listener, stop::get);
+        
+        assertThat(result.getSent()).isLessThan(2000);
+        assertThat(listener.deliveries.get()).isEqualTo(result.getSent());
+        assertThat(transport.calls.get()).isEqualTo(result.getSent());
+    }
+    
+    @Test
+    void transientFailuresDoNotDoubleSendTime() {
+        EmailSendResult baseline = engine.send(chunks(4000, 1000), new ScriptedTransport(
+                (recipient, attempt) -> DeliveryResult.delivered(recipient)), MESSAGE, SendProgressListener.NONE);
+        
+        EmailSendResult withFailures = engine.send(chunks(4000, 1000), new ScriptedTransport(
+                (recipient, attempt) -> recipient.getSubscriberId() % 20 == 0 && attempt == 1
+                        ? DeliveryResult.transientFailure(recipient, "503 Indisponível")
+                        : DeliveryResult.delivered(recipient)), MESSAGE, SendProgressListener.NONE);
+        
+        assertThat(withFailures.isFullSuccess()).isTrue();
+        assertThat(withFailures.getElapsedMillis()).isLessThan(2 * baseline.getElapsedMillis());
+        System.out.println("Sem falhas: " + baseline.getThroughputSummary());
+        System.out.println("5% de falhas temporárias: " + withFailures.getThroughputSummary());
+    }
+    
+    private static Iterator<List<EmailRecipient>> chunks(int count, int chunkSize) {
+        List<EmailRecipient> recipients = LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new EmailRecipient(id, "user" + id + "@futmail.com"))
+                .toList();
+        List<List<EmailRecipient>> chunks = new ArrayList<>();
+        for (int start = 0; start < count; start += chunkSize) {
+            chunks.add(recipients.subList(start, Math.min(start + chunkSize, count)));
+        }
+        return chunks.iterator();
+    }
+    
+    // Transporte com lotes de 10 e 2ms por chamada; o resultado depende da tentativa
+    private static class ScriptedTransport implements EmailTransport {
+        
+        private final Map<Long, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final Script script;
+        
+        ScriptedTransport(Script script) {
+            this.script = script;
+        }
+        
+        @Override
+        public int maxBatchSize() {
+            return 10;
+        }
+        
+        @Override
+        public List<DeliveryResult> send(EmailMessage message, List<EmailRecipient> recipients) {
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return recipients.stream()
+                    .map(recipient -> {
+                        calls.incrementAndGet();
+                        int attempt = attempts.computeIfAbsent(recipient.getSubscriberId(), id -> new AtomicInteger())
+                                .incrementAndGet();
+                        return script.result(recipient, attempt);
+                    })
+                    .toList();
+        }
+    }
+    
+    private interface Script {
+        DeliveryResult result(EmailRecipient recipient, int attempt);
+    }
+    
+    private static class RecordingListener implements SendProgressListener {
+        
+        private final AtomicInteger deliveries = new AtomicInteger();
+        private final AtomicLong lastCheckpoint = new AtomicLong();
+        private final Map<String, Integer> deadLetters = new ConcurrentHashMap<>();
+        
+        @Override
+        public void onDelivery(EmailRecipient recipient, boolean delivered, String error) {
+            deliveries.incrementAndGet();
+        }
+        
+        @Override
+        public void onDeadLetter(EmailRecipient recipient, String error, int attempts) {
+            deadLetters.put(recipient.getEmail(), attempts);
+        }
+        
+        @Override
+        public void onCheckpoint(long subscriberId) {
+            lastCheckpoint.accumulateAndGet(subscriberId, Math::max);
+        }
+    }
+}
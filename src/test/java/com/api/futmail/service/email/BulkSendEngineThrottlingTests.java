@@ -0,0 +1,141 @@
+package com.api.futmail.service.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.EmailRecipient;
+import com.api.futmail.model.EmailSendResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class BulkSendEngineThrottlingTests {
+    
+    private static final EmailMessage MESSAGE = EmailMessage.builder()
+            .fromEmail("newsletter@futmail.com")
+            .fromName("Futmail")
+            .subject("Teste")
+            .htmlContent("<p>Olá</p>")
+            .build();
+    
+    private BulkSendEngine engine;
+    
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+    
+    @Test
+    void pacesThrottledDomainWhileOthersFlowFreely() {
+        // 1200/min: rajada de 200 e depois 20 por segundo
+        engine = new BulkSendEngine(16, RetryPolicy.defaults(), DomainThrottle.parse("gmail.com:2:1200"));
+        DomainRecordingTransport transport = new DomainRecordingTransport();
+        
+        List<EmailRecipient> recipients = new ArrayList<>();
+        for (long id = 1; id <= 1230; id++) {
+            String domain = id % 5 == 0 ? "gmail.com" : "clube" + (id % 7) + ".com.br";
+            recipients.add(new EmailRecipient(id, "user" + id + "@" + domain));
+        }
+        
+        EmailSendResult result = engine.send(List.of(recipients).iterator(), transport, MESSAGE,
+                SendProgressListener.NONE);
+        
+        assertThat(result.isFullSuccess()).isTrue();
+        assertThat(transport.maxConcurrent("gmail.com")).isLessThanOrEqualTo(2);
+        assertThat(transport.largestBatch("gmail.com")).isLessThanOrEqualTo(10);
+        assertThat(transport.lastDeliveryMillis("gmail.com")).isGreaterThanOrEqualTo(1_000);
+        assertThat(transport.lastOtherDeliveryMillis()).isLessThan(500);
+        System.out.println("Domínios com limite: " + result.getThroughputSummary());
+    }
+    
+    @Test
+    void groupsUnlistedDomainsIntoFullBatches() {
+        engine = new BulkSendEngine(4, RetryPolicy.defaults(), DomainThrottle.parse("gmail.com:2:0"));
+        DomainRecordingTransport transport = new DomainRecordingTransport();
+        
+        List<EmailRecipient> recipients = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            recipients.add(new EmailRecipient(id, "user" + id + "@dominio" + id + ".com"));
+        }
+        
+        engine.send(List.of(recipients).iterator(), transport, MESSAGE, SendProgressListener.NONE);
+        
+        assertThat(transport.calls.get()).isEqualTo(10);
+    }
+    
+    @Test
+    void rejectsMalformedDomainLimits() {
+        assertThatThrownBy(() -> DomainThrottle.parse("gmail.com:10"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DomainThrottle.parse("gmail.com:0:100"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private static class DomainRecordingTransport implements EmailTransport {
+        
+        private final long startedAt = System.nanoTime();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> peak = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> largestBatch = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> lastDelivery = new ConcurrentHashMap<>();
+        
+        @Override
+        public int maxBatchSize() {
+            return 10;
+        }
+        
+        @Override
+        public List<DeliveryResult> send(EmailMessage message, List<EmailRecipient> recipients) {
+            calls.incrementAndGet();
+            String domain = domainOf(recipients.get(0));
+            int current = inFlight.computeIfAbsent(domain, key -> new AtomicInteger()).incrementAndGet();
+            peak.computeIfAbsent(domain, key -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+            largestBatch.computeIfAbsent(domain, key -> new AtomicInteger()).accumulateAndGet(recipients.size(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.get(domain).decrementAndGet();
+            }
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+            lastDelivery.computeIfAbsent(domain, key -> new AtomicLong()).accumulateAndGet(elapsedMillis, Math::max);
+            return recipients.stream().map(DeliveryResult::delivered).toList();
+        }
+        
+        int maxConcurrent(String domain) {
+            return peak.get(domain).get();
+        }
+        
+        int largestBatch(String domain) {
+            return largestBatch.get(domain).get();
+        }
+        
+        long lastDeliveryMillis(String domain) {
+            return lastDelivery.get(domain).get();
+        }
+        
+        long lastOtherDeliveryMillis() {
+            return lastDelivery.entrySet().stream()
+                    .filter(entry -> !entry.getKey().equals("gmail.com"))
+                    .mapToLong(entry -> entry.getValue().get())
+                    .max()
+                    .orElse(0);
+        }
+        
+        private static String domainOf(EmailRecipient recipient) {
+            String email = recipient.getEmail();
+            return email.substring(email.indexOf('@') + 1);
+        }
+    }
+}
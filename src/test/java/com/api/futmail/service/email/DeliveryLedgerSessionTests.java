@@ -0,0 +1,61 @@
+package com.api.futmail.service.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.EmailRecipient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class DeliveryLedgerSessionTests {
+    
+    @Test
+    void holdsCheckpointUntilFailedBatchIsWritten() {
+        FlakyLedger ledger = new FlakyLedger();
+        DeliveryLedgerSession session = new DeliveryLedgerSession(ledger, 1L, 500);
+        
+        ledger.failing = true;
+        session.onDelivery(new EmailRecipient(1L, "ana@futmail.com"), true, null);
+        session.onCheckpoint(1L);
+        assertThat(ledger.checkpoints).isEmpty();
+        
+        ledger.failing = false;
+        session.onDelivery(new EmailRecipient(2L, "bia@futmail.com"), true, null);
+        session.onCheckpoint(2L);
+        
+        assertThat(ledger.recorded).containsExactly(1L, 2L);
+        assertThat(ledger.checkpoints).containsExactly(2L);
+    }
+    
+    // Ledger em memória que pode falhar as gravações de entregas
+    private static final class FlakyLedger extends DeliveryLedger {
+        
+        private final List<Long> recorded = new ArrayList<>();
+        private final List<Long> checkpoints = new ArrayList<>();
+        private boolean failing;
+        
+        private FlakyLedger() {
+            super(null, null, null);
+        }
+        
+        @Override
+        public void recordBatch(Long newsletterId, List<DeliveryAttempt> attempts, long highestRecordedSubscriberId) {
+            if (failing) {
+                throw new IllegalStateException("banco indisponível");
+            }
+            attempts.forEach(attempt -> recorded.add(attempt.getSubscriberId()));
+        }
+        
+        @Override
+        public void saveCheckpoint(Long newsletterId, long subscriberId) {
+            checkpoints.add(subscriberId);
+        }
+        
+        @Override
+        public long findHighestRecordedSubscriberId(Long newsletterId) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.api.futmail.service.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.EmailRecipient;
+import com.api.futmail.model.EmailSendResult;
+import com.api.futmail.support.MailgunStubServer;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+class MailgunBatchTransportTests {
+    
+    private static final EmailMessage MESSAGE = EmailMessage.builder()
+            .fromEmail("newsletter@futmail.com")
+            .fromName("Futmail")
+            .subject("Teste")
+            .htmlContent("<p>Olá</p>")
+            .build();
+    
+    private MailgunStubServer stub;
+    private BulkSendEngine engine;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new MailgunStubServer(42L);
+        engine = new BulkSendEngine(16);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        stub.close();
+    }
+    
+    @Test
+    void sendsInBatchesAndIsolatesRejectedAddress() {
+        stub.rejecting("user1234@futmail.com");
+        MailgunBatchTransport transport = transport(1000);
+        
+        EmailSendResult result = engine.send(List.of(recipients(2500)).iterator(), transport, MESSAGE,
+                SendProgressListener.NONE);
+        
+        assertThat(result.getSent()).isEqualTo(2499);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(stub.largestBatch()).isEqualTo(1000);
+        assertThat(stub.acceptedRecipients()).hasSize(2499).doesNotContain("user1234@futmail.com");
+    }
+    
+    @Test
+    void retriesWholeBatchesOnServerErrorsWithoutSplitting() {
+        stub.withServerErrorRate(0.2);
+        MailgunBatchTransport transport = transport(500);
+        
+        EmailSendResult result = engine.send(List.of(recipients(5000)).iterator(), transport, MESSAGE,
+                SendProgressListener.NONE);
+        
+        assertThat(result.getTotal()).isEqualTo(5000);
+        assertThat(stub.smallestBatch()).isEqualTo(500);
+        assertThat(stub.acceptedRecipients()).hasSize(result.getSent());
+        assertThat(result.getSuccessRate()).isGreaterThan(95.0);
+    }
+    
+    @Test
+    void deliversLargeAudienceWithFewRequests() {
+        stub.withLatency(20);
+        MailgunBatchTransport transport = transport(1000);
+        
+        EmailSendResult result = engine.send(List.of(recipients(100_000)).iterator(), transport, MESSAGE,
+                SendProgressListener.NONE);
+        
+        assertThat(result.isFullSuccess()).isTrue();
+        assertThat(stub.requestCount()).isEqualTo(100);
+        System.out.println("Mailgun stub: " + result.getThroughputSummary());
+    }
+    
+    private MailgunBatchTransport transport(int batchSize) {
+        return new MailgunBatchTransport("mg.futmail.com", "key-test", stub.apiUrl(), batchSize, 16,
+                "newsletter@futmail.com", "Futmail");
+    }
+    
+    private static List<EmailRecipient> recipients(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new EmailRecipient(id, "user" + id + "@futmail.com"))
+                .toList();
+    }
+}
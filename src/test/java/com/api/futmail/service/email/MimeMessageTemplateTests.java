@@ -0,0 +1,109 @@
+package com.api.futmail.service.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.EmailRecipient;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class MimeMessageTemplateTests {
+    
+    private static final String HTML = "<html>\n<body>\n"
+            + "<p>Olá, torcedor! ⚽ Confira a rodada com " + "x".repeat(200) + " e muito mais.</p>\n"
+            + ".linha começando com ponto\n"
+            + "<a href=\"" + EmailMessage.UNSUBSCRIBE_PLACEHOLDER + "\">Descadastrar</a>\n"
+            + "<small>" + EmailMessage.UNSUBSCRIBE_PLACEHOLDER + "</small>\n"
+            + "</body>\n</html>\n";
+    
+    private static final UnsubscribeTokens TOKENS = new UnsubscribeTokens("segredo".getBytes(StandardCharsets.UTF_8));
+    
+    private final EmailMessage message = EmailMessage.builder()
+            .fromEmail("newsletter@futmail.com")
+            .fromName("Futmail Newsletter")
+            .subject("⚽ Futmail")
+            .htmlContent(HTML)
+            .unsubscribeBaseUrl("https://futmail.com/api/subscribers/unsubscribe?token=")
+            .unsubscribeTokens(TOKENS)
+            .build();
+    
+    @Test
+    void splicesRecipientLinkIntoSharedBody() {
+        MimeMessageTemplate template = new MimeMessageTemplate(message);
+        
+        String first = decodedBody(template.render(new EmailRecipient(1L, "ana@futmail.com")));
+        String second = decodedBody(template.render(new EmailRecipient(2L, "joao+news@futmail.com")));
+        
+        String firstUrl = "https://futmail.com/api/subscribers/unsubscribe?token=" + TOKENS.issue(1L);
+        String secondUrl = "https://futmail.com/api/subscribers/unsubscribe?token=" + TOKENS.issue(2L);
+        assertThat(first).isEqualTo(HTML.replace(EmailMessage.UNSUBSCRIBE_PLACEHOLDER, firstUrl).replace("\n", "\r\n"));
+        assertThat(second).isEqualTo(HTML.replace(EmailMessage.UNSUBSCRIBE_PLACEHOLDER, secondUrl).replace("\n", "\r\n"));
+    }
+    
+    @Test
+    void producesSmtpSafeLines() {
+        MimeMessageTemplate template = new MimeMessageTemplate(message);
+        
+        String rendered = new String(template.render(new EmailRecipient(1L, "ana@futmail.com")), StandardCharsets.US_ASCII);
+        
+        assertThat(rendered).startsWith("To: <ana@futmail.com>\r\n");
+        assertThat(rendered).contains("Content-Transfer-Encoding: quoted-printable\r\n");
+        for (String line : rendered.split("\r\n")) {
+            assertThat(line.length()).isLessThanOrEqualTo(998);
+        }
+        for (String line : rendered.substring(rendered.indexOf("\r\n\r\n") + 4).split("\r\n")) {
+            assertThat(line.length()).isLessThanOrEqualTo(76);
+            assertThat(line).doesNotStartWith(".");
+        }
+    }
+    
+    @Test
+    void addsOneClickUnsubscribeHeadersOnlyForSubscribers() {
+        MimeMessageTemplate template = new MimeMessageTemplate(message);
+        
+        String subscriber = new String(template.render(new EmailRecipient(7L, "ana@futmail.com")), StandardCharsets.US_ASCII);
+        String adHoc = new String(template.render(EmailRecipient.of("ana@futmail.com")), StandardCharsets.US_ASCII);
+        
+        assertThat(subscriber).contains("List-Unsubscribe:\r\n <https://futmail.com/api/subscribers/unsubscribe?token="
+                + TOKENS.issue(7L) + ">\r\n");
+        assertThat(subscriber).contains("List-Unsubscribe-Post: List-Unsubscribe=One-Click\r\n");
+        assertThat(adHoc).doesNotContain("List-Unsubscribe");
+    }
+    
+    @Test
+    void encodesOrRejectsUnsafeAddresses() {
+        MimeMessageTemplate template = new MimeMessageTemplate(message);
+        
+        String idn = new String(template.render(new EmailRecipient(1L, "ana@são.com.br")), StandardCharsets.US_ASCII);
+        
+        assertThat(idn).startsWith("To: <ana@xn--so-sia.com.br>\r\n");
+        for (String address : List.of("ana@futmail.com\r\nBcc: todos@futmail.com", "ana\t@futmail.com",
+                "joão@futmail.com", "ana>@futmail.com", "futmail.com")) {
+            assertThatThrownBy(() -> template.render(new EmailRecipient(1L, address)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+    
+    private static String decodedBody(byte[] rendered) {
+        String message = new String(rendered, StandardCharsets.US_ASCII);
+        String body = message.substring(message.indexOf("\r\n\r\n") + 4);
+        
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        for (int i = 0; i < body.length(); i++) {
+            char current = body.charAt(i);
+            if (current == '=' && body.startsWith("\r\n", i + 1)) {
+                i += 2;
+            } else if (current == '=') {
+                decoded.write(Integer.parseInt(body.substring(i + 1, i + 3), 16));
+                i += 2;
+            } else {
+                decoded.write(current);
+            }
+        }
+        return decoded.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,87 @@
+package com.api.futmail.service.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.EmailRecipient;
+import com.api.futmail.model.EmailSendResult;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+class SimulatedEmailTransportTests {
+    
+    private static final EmailMessage MESSAGE = EmailMessage.builder()
+            .fromEmail("newsletter@futmail.com")
+            .fromName("Futmail")
+            .subject("Teste")
+            .htmlContent("<p>Olá</p>")
+            .build();
+    
+    @Test
+    void sameSeedProducesSameOutcomes() {
+        List<DeliveryResult> first = sendAll(new SimulatedEmailTransport(settings(7L)));
+        List<DeliveryResult> second = sendAll(new SimulatedEmailTransport(settings(7L)));
+        List<DeliveryResult> otherSeed = sendAll(new SimulatedEmailTransport(settings(8L)));
+        
+        assertThat(second).isEqualTo(first);
+        assertThat(otherSeed).isNotEqualTo(first);
+        long transientFailures = first.stream().filter(DeliveryResult::isRetryable).count();
+        assertThat(transientFailures).isBetween(350L, 650L);
+    }
+    
+    @Test
+    void retriedRecipientsEventuallySucceedThroughEngine() {
+        BulkSendEngine engine = new BulkSendEngine(32, RetryPolicy.builder()
+                .maxAttempts(5)
+                .initialBackoffMillis(5)
+                .maxBackoffMillis(20)
+                .build());
+        try {
+            EmailSendResult result = engine.send(List.of(recipients()).iterator(),
+                    new SimulatedEmailTransport(settings(7L)), MESSAGE, SendProgressListener.NONE);
+            
+            assertThat(result.getTotal()).isEqualTo(10_000);
+            assertThat(result.getFailed()).isLessThan(10);
+        } finally {
+            engine.shutdown();
+        }
+    }
+    
+    @Test
+    void attemptsAreCountedPerSendNotPerAddress() {
+        SimulatedEmailTransport transport = new SimulatedEmailTransport(settings(7L));
+        EmailRecipient flaky = recipients().stream()
+                .filter(recipient -> transport.send(MESSAGE, List.of(recipient)).get(0).isRetryable())
+                .findFirst()
+                .orElseThrow();
+        
+        // Outro envio para o mesmo endereço começa da primeira tentativa
+        assertThat(transport.send(MESSAGE, List.of(flaky)).get(0).isRetryable()).isTrue();
+        assertThat(transport.send(MESSAGE, List.of(flaky), List.of(0)).get(0).isRetryable()).isTrue();
+    }
+    
+    private static SimulatedTransportSettings settings(long seed) {
+        return SimulatedTransportSettings.builder()
+                .seed(seed)
+                .batchSize(1)
+                .latencyDistribution(SimulatedTransportSettings.LatencyDistribution.LOG_NORMAL)
+                .latencyMillis(0.01)
+                .latencySigma(0.5)
+                .transientFailureRate(0.05)
+                .build();
+    }
+    
+    private static List<DeliveryResult> sendAll(SimulatedEmailTransport transport) {
+        return recipients().stream()
+                .map(recipient -> transport.send(MESSAGE, List.of(recipient)).get(0))
+                .toList();
+    }
+    
+    private static List<EmailRecipient> recipients() {
+        return LongStream.rangeClosed(1, 10_000)
+                .mapToObj(id -> new EmailRecipient(id, "user" + id + "@futmail.com"))
+                .toList();
+    }
+}
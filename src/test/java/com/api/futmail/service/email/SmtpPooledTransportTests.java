@@ -0,0 +1,147 @@
+package com.api.futmail.service.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.EmailRecipient;
+import com.api.futmail.model.EmailSendResult;
+import com.api.futmail.support.SmtpStubServer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.LongStream;
+
+class SmtpPooledTransportTests {
+    
+    private static final EmailMessage MESSAGE = EmailMessage.builder()
+            .fromEmail("newsletter@futmail.com")
+            .fromName("Futmail Newsletter")
+            .subject("⚽ Futmail - Teste")
+            .htmlContent("<p>Olá, torcedor!</p>")
+            .build();
+    
+    private SmtpStubServer server;
+    private SmtpPooledTransport transport;
+    private BulkSendEngine engine;
+    
+    @AfterEach
+    void tearDown() throws Exception {
+        if (engine != null) {
+            engine.shutdown();
+        }
+        if (transport != null) {
+            transport.close();
+        }
+        server.close();
+    }
+    
+    @Test
+    void reusesPooledConnectionsWithPipelining() throws Exception {
+        start(true, 4, 1000);
+        
+        EmailSendResult result = send(10_000);
+        
+        assertThat(result.isFullSuccess()).isTrue();
+        assertThat(server.messageCount()).isEqualTo(10_000);
+        assertThat(server.connectionCount()).isLessThanOrEqualTo(4 + 10_000 / 1000);
+        System.out.println("SMTP pipelining: " + result.getThroughputSummary());
+    }
+    
+    @Test
+    void fallsBackToSequentialCommandsWithoutPipelining() throws Exception {
+        start(false, 4, 1000);
+        
+        EmailSendResult result = send(2_000);
+        
+        assertThat(result.isFullSuccess()).isTrue();
+        assertThat(server.messageCount()).isEqualTo(2_000);
+        System.out.println("SMTP sequencial: " + result.getThroughputSummary());
+    }
+    
+    @Test
+    void reportsRejectedRecipientAndKeepsConnectionUsable() throws Exception {
+        start(true, 1, 1000);
+        server.rejecting("user7@futmail.com");
+        
+        EmailSendResult result = send(50);
+        
+        assertThat(result.getSent()).isEqualTo(49);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(server.deliveredRecipients()).doesNotContain("user7@futmail.com");
+        assertThat(server.connectionCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void rotatesConnectionsAfterMessageLimit() throws Exception {
+        start(true, 1, 100);
+        
+        EmailSendResult result = send(1_000);
+        
+        assertThat(result.isFullSuccess()).isTrue();
+        assertThat(server.connectionCount()).isEqualTo(10);
+    }
+    
+    @Test
+    void failsUnsafeAddressesWithoutSendingThem() throws Exception {
+        start(true, 1, 1000);
+        List<EmailRecipient> recipients = List.of(
+                new EmailRecipient(1L, "ana@futmail.com"),
+                new EmailRecipient(2L, "bia@futmail.com\r\nRCPT TO:<todos@futmail.com>"),
+                new EmailRecipient(3L, "caio@futmail.com"));
+        
+        List<DeliveryResult> results = transport.send(MESSAGE, recipients);
+        
+        assertThat(results).extracting(DeliveryResult::getRecipient).containsExactlyElementsOf(recipients);
+        assertThat(results).extracting(DeliveryResult::isDelivered).containsExactly(true, false, true);
+        assertThat(results.get(1).isRetryable()).isFalse();
+        assertThat(server.deliveredRecipients()).containsExactlyInAnyOrder("ana@futmail.com", "caio@futmail.com");
+    }
+    
+    @Test
+    void refusesPlaintextAuthUnlessAllowed() throws Exception {
+        server = new SmtpStubServer(true);
+        
+        SmtpSettings.SmtpSettingsBuilder settings = settings(1, 1000).tlsMode(SmtpTlsMode.NONE);
+        
+        assertThatThrownBy(() -> SmtpConnection.open(settings.build()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("AUTH recusado");
+        assertThatThrownBy(() -> SmtpConnection.open(settings.tlsMode(SmtpTlsMode.STARTTLS).build()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("STARTTLS");
+        assertThat(server.authenticationCount()).isZero();
+    }
+    
+    // O stub não fala TLS: os testes de envio autenticam em texto puro explicitamente
+    private void start(boolean pipelining, int poolSize, int maxMessagesPerConnection) throws Exception {
+        server = new SmtpStubServer(pipelining);
+        transport = new SmtpPooledTransport(settings(poolSize, maxMessagesPerConnection)
+                .tlsMode(SmtpTlsMode.NONE)
+                .allowPlaintextAuth(true)
+                .build(), 100, "newsletter@futmail.com");
+        engine = new BulkSendEngine(poolSize);
+    }
+    
+    private SmtpSettings.SmtpSettingsBuilder settings(int poolSize, int maxMessagesPerConnection) {
+        return SmtpSettings.builder()
+                .host("127.0.0.1")
+                .port(server.port())
+                .heloName("futmail.test")
+                .username("futmail")
+                .password("secret")
+                .poolSize(poolSize)
+                .maxMessagesPerConnection(maxMessagesPerConnection)
+                .idleTimeoutMillis(30_000)
+                .timeoutMillis(5_000);
+    }
+    
+    private EmailSendResult send(int count) {
+        List<EmailRecipient> recipients = LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new EmailRecipient(id, "user" + id + "@futmail.com"))
+                .toList();
+        return engine.send(List.of(recipients).iterator(), transport, MESSAGE, SendProgressListener.NONE);
+    }
+}
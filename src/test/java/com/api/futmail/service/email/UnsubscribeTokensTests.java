@@ -0,0 +1,30 @@
+package com.api.futmail.service.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+class UnsubscribeTokensTests {
+    
+    private final UnsubscribeTokens tokens = new UnsubscribeTokens("segredo".getBytes(StandardCharsets.UTF_8));
+    
+    @Test
+    void verifiesIssuedTokens() {
+        assertThat(tokens.verify(tokens.issue(42L))).isEqualTo(42L);
+    }
+    
+    @Test
+    void rejectsForgedOrMalformedTokens() {
+        String signature = tokens.issue(42L).substring("42.".length());
+        UnsubscribeTokens otherSecret = new UnsubscribeTokens("outro".getBytes(StandardCharsets.UTF_8));
+        
+        assertThatThrownBy(() -> tokens.verify("43." + signature)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tokens.verify(otherSecret.issue(42L))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tokens.verify("42")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tokens.verify("abc." + signature)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tokens.verify("42.%%%")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.api.futmail.service.standings;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.MatchResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class StandingsEngineTests {
+    
+    // Sem repositório: jogos de copa são descartados antes de qualquer semeadura
+    private final StandingsEngine engine = new StandingsEngine(null);
+    
+    @Test
+    void ignoresCupCompetitions() {
+        MatchResult knockout = MatchResult.builder()
+                .id(1L)
+                .homeTeam("Real Madrid")
+                .awayTeam("Arsenal")
+                .homeScore(1)
+                .awayScore(2)
+                .status("Finalizado")
+                .matchDate(LocalDateTime.of(2025, 4, 16, 16, 0))
+                .competition("UEFA Champions League")
+                .competitionCode("CL")
+                .build();
+        
+        assertThat(engine.apply(List.of(knockout))).isEmpty();
+        assertThat(engine.standings("CL")).isEmpty();
+    }
+}
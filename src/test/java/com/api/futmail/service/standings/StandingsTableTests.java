@@ -0,0 +1,64 @@
+package com.api.futmail.service.standings;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.api.futmail.model.TeamStanding;
+
+import java.util.List;
+
+class StandingsTableTests {
+    
+    @Test
+    void appliesEachResultOnceAndRevertsCorrectedScores() {
+        StandingsTable table = new StandingsTable(TieBreakRule.OVERALL_FIRST);
+        
+        assertThat(table.apply(1, "Arsenal", "Chelsea", 2, 1)).isTrue();
+        assertThat(table.apply(1, "Arsenal", "Chelsea", 2, 1)).isFalse();
+        assertThat(table.toStandings().get(0).getPoints()).isEqualTo(3);
+        
+        // Placar corrigido: o 2 x 1 é desfeito antes de contar o empate
+        assertThat(table.apply(1, "Arsenal", "Chelsea", 2, 2)).isTrue();
+        TeamStanding arsenal = table.toStandings().stream()
+                .filter(standing -> standing.getTeamName().equals("Arsenal"))
+                .findFirst().orElseThrow();
+        assertThat(arsenal.getPoints()).isEqualTo(1);
+        assertThat(arsenal.getPlayedGames()).isEqualTo(1);
+        assertThat(arsenal.getWon()).isZero();
+        assertThat(arsenal.getDraw()).isEqualTo(1);
+        assertThat(arsenal.getGoalsFor()).isEqualTo(2);
+        assertThat(arsenal.getGoalsAgainst()).isEqualTo(2);
+    }
+    
+    @Test
+    void growsBeyondInitialCapacityKeepingResults() {
+        StandingsTable table = new StandingsTable(TieBreakRule.OVERALL_FIRST);
+        for (int team = 0; team < 40; team += 2) {
+            table.apply(team, "Time " + team, "Time " + (team + 1), 1, 0);
+        }
+        table.apply(100, "Time 0", "Time 39", 3, 0);
+        
+        List<TeamStanding> standings = table.toStandings();
+        assertThat(standings).hasSize(40);
+        assertThat(standings.get(0).getTeamName()).isEqualTo("Time 0");
+        assertThat(standings.get(0).getPoints()).isEqualTo(6);
+        assertThat(standings.get(39).getTeamName()).isEqualTo("Time 39");
+    }
+    
+    @Test
+    void breaksTiesByHeadToHeadOnlyWhereTheRuleSaysSo() {
+        // Três times com 3 pontos: saldo favorece Betis, confronto direto favorece Deportivo e Alavés
+        StandingsTable overall = new StandingsTable(TieBreakRule.OVERALL_FIRST);
+        StandingsTable headToHead = new StandingsTable(TieBreakRule.forCompetition("PD"));
+        for (StandingsTable table : List.of(overall, headToHead)) {
+            table.apply(1, "Alavés", "Betis", 1, 0);
+            table.apply(2, "Betis", "Celta", 5, 0);
+            table.apply(3, "Deportivo", "Alavés", 1, 0);
+        }
+        
+        assertThat(overall.leaders(3)).containsExactly("Betis", "Deportivo", "Alavés");
+        assertThat(headToHead.leaders(3)).containsExactly("Deportivo", "Alavés", "Betis");
+        assertThat(headToHead.toStandings().get(3).getTeamName()).isEqualTo("Celta");
+    }
+}
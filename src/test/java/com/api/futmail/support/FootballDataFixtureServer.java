@@ -0,0 +1,234 @@
+package com.api.futmail.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor de fixtures da football-data.org para testes e benchmarks offline.
+ * Em replay, cada caminho é respondido com o corpo gravado em
+ * {@code <caminho com "_">.json}; uma fixture com a query no nome (ex.:
+ * {@code ?season=2022}) tem precedência, senão a query é ignorada, já que as
+ * datas mudam a cada dia. Em gravação, o que ainda não existe em disco é
+ * buscado na API real e salvo com e sem a query. Latência e falhas (429/5xx) são injetadas de forma
+ * determinística a partir da semente.
+ */
+public class FootballDataFixtureServer implements AutoCloseable {
+
+    private static final int AVAILABLE_PER_MINUTE = 1000;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, byte[]> fixtures = new ConcurrentHashMap<>();
+    private final Path directory;
+    private final String upstreamBaseUrl;
+    private final String apiKey;
+    private final HttpClient upstream;
+    private final AtomicInteger served = new AtomicInteger();
+    private final AtomicInteger rateLimited = new AtomicInteger();
+    private final AtomicInteger serverErrors = new AtomicInteger();
+
+    private volatile long latencyMillis;
+    private volatile long jitterMillis;
+    private volatile double rateLimitRate;
+    private volatile double serverErrorRate;
+    private Random random = new Random(0);
+
+    private FootballDataFixtureServer(Path directory, String upstreamBaseUrl, String apiKey) throws IOException {
+        this.directory = directory;
+        this.upstreamBaseUrl = upstreamBaseUrl;
+        this.apiKey = apiKey;
+        this.upstream = upstreamBaseUrl == null ? null : HttpClient.newHttpClient();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(16);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /** Só com as fixtures registradas por {@link #withFixture(String, byte[])}. */
+    public static FootballDataFixtureServer inMemory() throws IOException {
+        return new FootballDataFixtureServer(null, null, null);
+    }
+
+    public static FootballDataFixtureServer replaying(Path directory) throws IOException {
+        return new FootballDataFixtureServer(directory, null, null);
+    }
+
+    public static FootballDataFixtureServer recording(Path directory, String upstreamBaseUrl, String apiKey)
+            throws IOException {
+        Files.createDirectories(directory);
+        return new FootballDataFixtureServer(directory, upstreamBaseUrl, apiKey);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public FootballDataFixtureServer withFixture(String path, byte[] body) {
+        fixtures.put(fixtureName(path), body);
+        return this;
+    }
+
+    public FootballDataFixtureServer withLatency(Duration latency, Duration jitter) {
+        this.latencyMillis = latency.toMillis();
+        this.jitterMillis = jitter.toMillis();
+        return this;
+    }
+
+    public synchronized FootballDataFixtureServer withFailures(double rateLimitRate, double serverErrorRate, long seed) {
+        this.rateLimitRate = rateLimitRate;
+        this.serverErrorRate = serverErrorRate;
+        this.random = new Random(seed);
+        return this;
+    }
+
+    public int servedCount() {
+        return served.get();
+    }
+
+    public int rateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    public int serverErrorCount() {
+        return serverErrors.get();
+    }
+
+    // "/competitions/PL/matches?season=2022" -> "competitions_PL_matches_season=2022.json"
+    static String fixtureName(String pathAndQuery) {
+        String trimmed = pathAndQuery.replaceAll("^/+|/+$", "");
+        return (trimmed.isEmpty() ? "root" : trimmed.replaceAll("[/?&]", "_")) + ".json";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long delay;
+        double roll;
+        synchronized (this) {
+            delay = latencyMillis + (jitterMillis > 0 ? (long) (random.nextDouble() * jitterMillis) : 0);
+            roll = random.nextDouble();
+        }
+        sleep(delay);
+
+        if (roll < rateLimitRate) {
+            rateLimited.incrementAndGet();
+            exchange.getResponseHeaders().add("X-Requests-Available-Minute", "0");
+            exchange.getResponseHeaders().add("X-RequestCounter-Reset", "1");
+            respond(exchange, 429, "{\"message\":\"You reached your request limit.\",\"errorCode\":429}");
+            return;
+        }
+        exchange.getResponseHeaders().add("X-Requests-Available-Minute", String.valueOf(AVAILABLE_PER_MINUTE));
+        exchange.getResponseHeaders().add("X-RequestCounter-Reset", "60");
+        if (roll < rateLimitRate + serverErrorRate) {
+            serverErrors.incrementAndGet();
+            respond(exchange, 503, "{\"message\":\"Service unavailable\"}");
+            return;
+        }
+
+        byte[] body = lookup(exchange.getRequestURI());
+        if (body == null) {
+            respond(exchange, 404, "{\"message\":\"Sem fixture para " + exchange.getRequestURI().getPath() + "\"}");
+            return;
+        }
+        served.incrementAndGet();
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private byte[] lookup(URI uri) throws IOException {
+        if (uri.getRawQuery() != null) {
+            byte[] exact = load(fixtureName(uri.getPath() + "?" + uri.getRawQuery()));
+            if (exact != null) {
+                return exact;
+            }
+        }
+        byte[] body = load(fixtureName(uri.getPath()));
+        if (body == null && upstream != null) {
+            body = record(uri);
+        }
+        return body;
+    }
+
+    private byte[] load(String name) {
+        return fixtures.computeIfAbsent(name, key -> {
+            Path file = directory == null ? null : directory.resolve(key);
+            try {
+                return file != null && Files.exists(file) ? Files.readAllBytes(file) : null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private synchronized byte[] record(URI uri) throws IOException {
+        String target = upstreamBaseUrl + uri.getPath() + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(target))
+                .header("X-Auth-Token", apiKey)
+                .header("Accept", "application/json")
+                .build();
+        try {
+            HttpResponse<byte[]> response = upstream.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            List<String> names = uri.getRawQuery() == null ? List.of(fixtureName(uri.getPath()))
+                    : List.of(fixtureName(uri.getPath() + "?" + uri.getRawQuery()), fixtureName(uri.getPath()));
+            for (String name : names) {
+                Files.write(directory.resolve(name), response.body());
+                fixtures.put(name, response.body());
+            }
+            return response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
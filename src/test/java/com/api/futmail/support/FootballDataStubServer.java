@@ -0,0 +1,120 @@
+package com.api.futmail.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor HTTP em processo que imita o limite por minuto da football-data.org:
+ * responde com os headers de orçamento, devolve 429 quando a janela se esgota
+ * e 304 quando o If-None-Match confere com o ETag do corpo atual.
+ */
+public class FootballDataStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<String> servedPaths = new CopyOnWriteArrayList<>();
+    private final AtomicInteger rateLimited = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private final int requestsPerWindow;
+    private final long windowNanos;
+
+    private volatile byte[] body = "{\"matches\":[]}".getBytes(StandardCharsets.UTF_8);
+    private long windowStart;
+    private int used;
+
+    public FootballDataStubServer(int requestsPerWindow, long windowMillis) throws IOException {
+        this.requestsPerWindow = requestsPerWindow;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(4);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public FootballDataStubServer respondingWith(String json) {
+        this.body = json.getBytes(StandardCharsets.UTF_8);
+        return this;
+    }
+
+    public int notModifiedCount() {
+        return notModified.get();
+    }
+
+    public List<String> servedPaths() {
+        return servedPaths;
+    }
+
+    public int rateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int available;
+        long resetNanos;
+        boolean allowed;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (used == 0 || now - windowStart >= windowNanos) {
+                windowStart = now;
+                used = 0;
+            }
+            allowed = used < requestsPerWindow;
+            if (allowed) {
+                used++;
+            }
+            available = requestsPerWindow - used;
+            resetNanos = windowStart + windowNanos - now;
+        }
+
+        long resetSeconds = (resetNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        exchange.getResponseHeaders().add("X-Requests-Available-Minute", String.valueOf(available));
+        exchange.getResponseHeaders().add("X-RequestCounter-Reset", String.valueOf(resetSeconds));
+
+        if (!allowed) {
+            rateLimited.incrementAndGet();
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+            return;
+        }
+
+        servedPaths.add(exchange.getRequestURI().getPath());
+        byte[] content = body;
+        String etag = "\"" + Integer.toHexString(Arrays.hashCode(content)) + "\"";
+        exchange.getResponseHeaders().add("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, content.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(content);
+        }
+    }
+}
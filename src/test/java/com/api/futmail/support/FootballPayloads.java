@@ -0,0 +1,151 @@
+package com.api.futmail.support;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Corpos sintéticos no formato da football-data.org v4, com os campos que
+ * a API realmente devolve (odds, árbitros, escudos...), para testes e benchmarks.
+ */
+public final class FootballPayloads {
+    
+    private static final String[] TEAMS = {
+            "Arsenal FC", "Aston Villa FC", "Chelsea FC", "Everton FC", "Fulham FC", "Liverpool FC",
+            "Manchester City FC", "Manchester United FC", "Newcastle United FC", "Tottenham Hotspur FC",
+            "Brighton & Hove Albion FC", "Brentford FC", "Crystal Palace FC", "West Ham United FC",
+            "Wolverhampton Wanderers FC", "Nottingham Forest FC", "AFC Bournemouth", "Leicester City FC",
+            "Ipswich Town FC", "Southampton FC"
+    };
+    private static final LocalDateTime SEASON_START = LocalDateTime.of(2024, 8, 16, 19, 0);
+    private static final String PREMIER_LEAGUE = "{\"id\":2021,\"name\":\"Premier League\",\"code\":\"PL\",\"type\":\"LEAGUE\","
+            + "\"emblem\":\"https://crests.football-data.org/PL.png\"}";
+    
+    private FootballPayloads() {
+    }
+    
+    /** Jogos finalizados em ordem crescente de data, como a API devolve. */
+    public static byte[] matches(int count, long seed) {
+        Random random = new Random(seed);
+        StringBuilder json = new StringBuilder(count * 1600);
+        json.append("{\"filters\":{\"season\":\"2024\",\"status\":[\"FINISHED\"]},")
+                .append("\"resultSet\":{\"count\":").append(count).append(",\"played\":").append(count).append("},")
+                .append("\"competition\":{\"id\":2021,\"name\":\"Premier League\",\"code\":\"PL\",\"type\":\"LEAGUE\"},")
+                .append("\"matches\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int home = random.nextInt(TEAMS.length);
+            int away = (home + 1 + random.nextInt(TEAMS.length - 1)) % TEAMS.length;
+            LocalDateTime date = SEASON_START.plusHours(i * 7L);
+            appendMatch(json, PREMIER_LEAGUE, 400_000 + i, date, "FINISHED", home, away,
+                    random.nextInt(5), random.nextInt(4), random);
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Jogos de uma competição a partir de {@code firstKickoff} (UTC), um a cada
+     * {@code spacing}. Em relação a {@code now}: iniciados há mais de duas horas
+     * saem FINISHED, há menos IN_PLAY e os demais TIMED, sem placar.
+     */
+    public static byte[] competitionMatches(String code, String name, int firstId, LocalDateTime firstKickoff,
+                                            Duration spacing, int count, LocalDateTime now) {
+        Random random = new Random(firstId);
+        String competition = "{\"id\":" + (2000 + Math.abs(code.hashCode() % 100)) + ",\"name\":\"" + name
+                + "\",\"code\":\"" + code + "\",\"type\":\"LEAGUE\",\"emblem\":\"https://crests.football-data.org/"
+                + code + ".png\"}";
+        StringBuilder json = new StringBuilder(count * 1600);
+        json.append("{\"filters\":{},\"resultSet\":{\"count\":").append(count).append("},")
+                .append("\"competition\":").append(competition).append(",\"matches\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            LocalDateTime kickoff = firstKickoff.plus(spacing.multipliedBy(i));
+            String status = kickoff.isAfter(now) ? "TIMED"
+                    : kickoff.isAfter(now.minusHours(2)) ? "IN_PLAY" : "FINISHED";
+            int home = random.nextInt(TEAMS.length);
+            int away = (home + 1 + random.nextInt(TEAMS.length - 1)) % TEAMS.length;
+            Integer homeGoals = "TIMED".equals(status) ? null : random.nextInt(5);
+            Integer awayGoals = "TIMED".equals(status) ? null : random.nextInt(4);
+            appendMatch(json, competition, firstId + i, kickoff, status, home, away, homeGoals, awayGoals, random);
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /** Classificação com as tabelas TOTAL, HOME e AWAY. */
+    public static byte[] standings() {
+        StringBuilder json = new StringBuilder(64 * 1024);
+        json.append("{\"filters\":{\"season\":\"2024\"},")
+                .append("\"competition\":{\"id\":2021,\"name\":\"Premier League\",\"code\":\"PL\"},")
+                .append("\"season\":{\"id\":2287,\"startDate\":\"2024-08-16\",\"currentMatchday\":20},")
+                .append("\"standings\":[");
+        String[] types = {"TOTAL", "HOME", "AWAY"};
+        for (int t = 0; t < types.length; t++) {
+            if (t > 0) {
+                json.append(',');
+            }
+            json.append("{\"stage\":\"REGULAR_SEASON\",\"type\":\"").append(types[t]).append("\",\"group\":null,\"table\":[");
+            for (int i = 0; i < TEAMS.length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                int points = 50 - i * 2;
+                json.append("{\"position\":").append(i + 1)
+                        .append(",\"team\":{\"id\":").append(57 + i).append(",\"name\":\"").append(TEAMS[i])
+                        .append("\",\"shortName\":\"").append(TEAMS[i], 0, 6).append("\",\"tla\":\"T").append(i)
+                        .append("\",\"crest\":\"https://crests.football-data.org/").append(57 + i).append(".png\"}")
+                        .append(",\"playedGames\":20,\"form\":\"W,D,L,W,W\",\"won\":").append(15 - i / 2)
+                        .append(",\"draw\":5,\"lost\":").append(i / 2)
+                        .append(",\"points\":").append(points)
+                        .append(",\"goalsFor\":").append(40 - i).append(",\"goalsAgainst\":").append(15 + i)
+                        .append(",\"goalDifference\":").append(25 - 2 * i).append('}');
+            }
+            json.append("]}");
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static void appendMatch(StringBuilder json, String competition, int id, LocalDateTime date, String status,
+                                    int home, int away, Integer homeGoals, Integer awayGoals, Random random) {
+        json.append("{\"area\":{\"id\":2072,\"name\":\"England\",\"code\":\"ENG\",\"flag\":\"https://crests.football-data.org/770.svg\"},")
+                .append("\"competition\":").append(competition).append(',')
+                .append("\"season\":{\"id\":2287,\"startDate\":\"2024-08-16\",\"endDate\":\"2025-05-25\",\"currentMatchday\":20,\"winner\":null},")
+                .append("\"id\":").append(id)
+                .append(",\"utcDate\":\"").append(date).append(":00Z\"")
+                .append(",\"status\":\"").append(status).append("\",\"matchday\":").append(1 + id % 38)
+                .append(",\"stage\":\"REGULAR_SEASON\",\"group\":null,\"lastUpdated\":\"2025-01-10T00:20:50Z\",");
+        appendTeam(json, "homeTeam", home);
+        json.append(',');
+        appendTeam(json, "awayTeam", away);
+        json.append(",\"score\":{\"winner\":").append(winner(homeGoals, awayGoals))
+                .append(",\"duration\":\"REGULAR\",\"fullTime\":{\"home\":").append(homeGoals)
+                .append(",\"away\":").append(awayGoals).append("},\"halfTime\":{\"home\":")
+                .append(homeGoals == null ? null : homeGoals / 2)
+                .append(",\"away\":").append(awayGoals == null ? null : awayGoals / 2).append("}},")
+                .append("\"odds\":{\"msg\":\"Activate Odds-Package in User-Panel to retrieve odds.\"},")
+                .append("\"referees\":[{\"id\":").append(11_000 + random.nextInt(500))
+                .append(",\"name\":\"Michael Oliver\",\"type\":\"REFEREE\",\"nationality\":\"England\"}]}");
+    }
+    
+    private static String winner(Integer homeGoals, Integer awayGoals) {
+        if (homeGoals == null || awayGoals == null) {
+            return "null";
+        }
+        return homeGoals > awayGoals ? "\"HOME_TEAM\"" : homeGoals < awayGoals ? "\"AWAY_TEAM\"" : "\"DRAW\"";
+    }
+    
+    private static void appendTeam(StringBuilder json, String field, int team) {
+        json.append('"').append(field).append("\":{\"id\":").append(57 + team)
+                .append(",\"name\":\"").append(TEAMS[team])
+                .append("\",\"shortName\":\"").append(TEAMS[team], 0, 6)
+                .append("\",\"tla\":\"T").append(team)
+                .append("\",\"crest\":\"https://crests.football-data.org/").append(57 + team).append(".png\"}");
+    }
+}
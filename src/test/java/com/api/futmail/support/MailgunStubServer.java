@@ -0,0 +1,148 @@
+package com.api.futmail.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor HTTP em processo que imita o endpoint de envio do Mailgun
+ * ({@code POST /{domain}/messages}), com latência e falhas configuráveis.
+ */
+public class MailgunStubServer implements AutoCloseable {
+    
+    private static final int MAX_RECIPIENTS_PER_REQUEST = 1000;
+    
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Set<String> rejectedAddresses = ConcurrentHashMap.newKeySet();
+    private final Set<String> acceptedRecipients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+    private final AtomicInteger smallestBatch = new AtomicInteger(Integer.MAX_VALUE);
+    private final Random random;
+    
+    private volatile long latencyMillis;
+    private volatile double serverErrorRate;
+    
+    public MailgunStubServer(long seed) throws IOException {
+        this.random = new Random(seed);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(64);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+    
+    public String apiUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    public MailgunStubServer withLatency(long millis) {
+        this.latencyMillis = millis;
+        return this;
+    }
+    
+    public MailgunStubServer withServerErrorRate(double rate) {
+        this.serverErrorRate = rate;
+        return this;
+    }
+    
+    public MailgunStubServer rejecting(String address) {
+        rejectedAddresses.add(address);
+        return this;
+    }
+    
+    public int requestCount() {
+        return requests.get();
+    }
+    
+    public int largestBatch() {
+        return largestBatch.get();
+    }
+    
+    public int smallestBatch() {
+        return smallestBatch.get();
+    }
+    
+    public Set<String> acceptedRecipients() {
+        return acceptedRecipients;
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        List<String> recipients = parseRecipients(exchange.getRequestBody());
+        largestBatch.accumulateAndGet(recipients.size(), Math::max);
+        smallestBatch.accumulateAndGet(recipients.size(), Math::min);
+        
+        sleep(latencyMillis);
+        
+        if (!"POST".equals(exchange.getRequestMethod()) || !exchange.getRequestURI().getPath().endsWith("/messages")) {
+            respond(exchange, 404, "{\"message\":\"Not found\"}");
+        } else if (recipients.isEmpty() || recipients.size() > MAX_RECIPIENTS_PER_REQUEST) {
+            respond(exchange, 400, "{\"message\":\"Invalid number of recipients\"}");
+        } else if (recipients.stream().anyMatch(rejectedAddresses::contains)) {
+            respond(exchange, 400, "{\"message\":\"'to' parameter is not a valid address\"}");
+        } else if (nextDouble() < serverErrorRate) {
+            respond(exchange, 503, "{\"message\":\"Service unavailable\"}");
+        } else {
+            acceptedRecipients.addAll(recipients);
+            respond(exchange, 200, "{\"id\":\"<stub@futmail>\",\"message\":\"Queued. Thank you.\"}");
+        }
+    }
+    
+    private List<String> parseRecipients(InputStream body) throws IOException {
+        String form = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        List<String> recipients = new ArrayList<>();
+        for (String pair : form.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && "to".equals(pair.substring(0, separator))) {
+                recipients.add(URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return recipients;
+    }
+    
+    private synchronized double nextDouble() {
+        return random.nextDouble();
+    }
+    
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+    
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
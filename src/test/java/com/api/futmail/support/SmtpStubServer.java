@@ -0,0 +1,154 @@
+package com.api.futmail.support;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP mínimo em processo, com suporte a PIPELINING e AUTH PLAIN,
+ * para testes e medições do transporte SMTP sem rede externa.
+ */
+public class SmtpStubServer implements AutoCloseable {
+    
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+    private final Set<String> deliveredRecipients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger messages = new AtomicInteger();
+    private final AtomicInteger authentications = new AtomicInteger();
+    private final boolean pipelining;
+    
+    public SmtpStubServer(boolean pipelining) throws IOException {
+        this.pipelining = pipelining;
+        this.serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        executor.execute(this::acceptLoop);
+    }
+    
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+    
+    public SmtpStubServer rejecting(String recipient) {
+        rejectedRecipients.add(recipient);
+        return this;
+    }
+    
+    public int connectionCount() {
+        return connections.get();
+    }
+    
+    public int authenticationCount() {
+        return authentications.get();
+    }
+    
+    public int messageCount() {
+        return messages.get();
+    }
+    
+    public Set<String> deliveredRecipients() {
+        return deliveredRecipients;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+    
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+    
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream output = new BufferedOutputStream(socket.getOutputStream())) {
+            
+            socket.setTcpNoDelay(true);
+            reply(output, "220 futmail-stub ESMTP");
+            output.flush();
+            String recipient = null;
+            boolean mailStarted = false;
+            String line;
+            
+            while ((line = reader.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO")) {
+                    reply(output, pipelining
+                            ? "250-futmail-stub\r\n250-PIPELINING\r\n250 AUTH PLAIN"
+                            : "250-futmail-stub\r\n250 AUTH PLAIN");
+                } else if (command.startsWith("AUTH PLAIN")) {
+                    authentications.incrementAndGet();
+                    reply(output, "235 2.7.0 Authentication successful");
+                } else if (command.startsWith("MAIL FROM")) {
+                    mailStarted = true;
+                    reply(output, "250 2.1.0 Ok");
+                } else if (command.startsWith("RCPT TO")) {
+                    String address = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                    if (rejectedRecipients.contains(address)) {
+                        reply(output, "550 5.1.1 Mailbox unavailable");
+                    } else {
+                        recipient = address;
+                        reply(output, "250 2.1.5 Ok");
+                    }
+                } else if (command.equals("DATA")) {
+                    if (!mailStarted || recipient == null) {
+                        reply(output, "554 5.5.1 No valid recipients");
+                    } else {
+                        reply(output, "354 End data with <CR><LF>.<CR><LF>");
+                        output.flush();
+                        while (!".".equals(reader.readLine())) {
+                            // descarta o conteúdo da mensagem
+                        }
+                        messages.incrementAndGet();
+                        deliveredRecipients.add(recipient);
+                        recipient = null;
+                        mailStarted = false;
+                        reply(output, "250 2.0.0 Ok: queued");
+                    }
+                } else if (command.equals("RSET")) {
+                    recipient = null;
+                    mailStarted = false;
+                    reply(output, "250 2.0.0 Ok");
+                } else if (command.equals("QUIT")) {
+                    reply(output, "221 2.0.0 Bye");
+                    output.flush();
+                    return;
+                } else {
+                    reply(output, "502 5.5.2 Command not recognized");
+                }
+                
+                // Como um servidor com PIPELINING, agrupa as respostas de comandos já recebidos
+                if (!reader.ready()) {
+                    output.flush();
+                }
+            }
+        } catch (IOException ignored) {
+            // cliente encerrou a conexão
+        }
+    }
+    
+    private void reply(OutputStream output, String response) throws IOException {
+        output.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+}